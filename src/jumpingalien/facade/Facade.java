@@ -1,6 +1,7 @@
 package jumpingalien.facade;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import jumpingalien.model.*;
@@ -197,7 +198,7 @@ public class Facade implements IFacade {
 
     @Override
     public boolean hasAsGameObject(Object object, World world) throws ModelException {
-        return world.getGameObjectSet().contains(object);
+        return object instanceof GameObject && world.hasAsGameObject((GameObject) object) && !((GameObject) object).isTerminated();
     }
 
     @Override
@@ -381,8 +382,7 @@ public class Facade implements IFacade {
 
     @Override
     public void cleanAllSlimeIds() {
-        SlimeInfo.allIds.clear();
-        SlimeInfo.getSlimes().clear();
+        SlimeInfo.clearUsedIds();
     }
 
     @Override
@@ -411,7 +411,7 @@ public class Facade implements IFacade {
 
     @Override
     public Collection<? extends Slime> getAllSlimes(School school) {
-        return SlimeInfo.getSlimes().stream().filter(x -> x.getSchool() == school).collect(Collectors.toSet());
+        return new HashSet<>(school.getSlimes());
     }
 
     @Override
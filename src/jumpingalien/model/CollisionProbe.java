@@ -0,0 +1,139 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of precomputed collision strips for the sprites of one size in a world with tiles of one size. For every
+ *   offset of the left border of a sprite within its tile, a probe holds the tile columns covered by the column right
+ *   next to the sprite and by the columns between its left and right border, counted from the tile of its left
+ *   border. The same goes for the rows and the bottom border. These are the strips World.checkHorizontalCollision and
+ *   World.checkVerticalCollision look at, so that they are found with an addition instead of a division per pixel.
+ *
+ * @invar | getWidth() > 0 && getHeight() > 0 && getTileSize() > 0
+ */
+public class CollisionProbe {
+
+    /**
+     * Initialize this new CollisionProbe for sprites of the given size in a world with tiles of the given size.
+     *
+     * @param width
+     *        The width of the sprites in pixels.
+     * @param height
+     *        The height of the sprites in pixels.
+     * @param tileSize
+     *        The size of the tiles in pixels.
+     * @post | new.getWidth() == width && new.getHeight() == height && new.getTileSize() == tileSize
+     * @post | for each offset in 0..tileSize-1:
+     *       |    new.getFirstColumn(offset) == (offset + 1) / tileSize
+     *       |    && new.getLastColumn(offset) == (offset + width - 2) / tileSize
+     *       |    && new.getRightColumn(offset) == (offset + width) / tileSize
+     * @post | for each offset in 0..tileSize-1:
+     *       |    new.getFirstRow(offset) == (offset + 1) / tileSize
+     *       |    && new.getLastRow(offset) == (offset + height - 2) / tileSize
+     *       |    && new.getTopRow(offset) == (offset + height) / tileSize
+     */
+    CollisionProbe(int width, int height, int tileSize) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.columns = spansOf(width, tileSize);
+        this.rows = spansOf(height, tileSize);
+    }
+
+    /**
+     * Return the tiles covered by the strips of a sprite of the given size, for every offset within its tile: the
+     *   first and the last tile between its borders, the tile right after it and the number of the span.
+     */
+    private static int[][] spansOf(int size, int tileSize) {
+        int[][] spans = new int[4][tileSize];
+        for (int offset = 0; offset < tileSize; offset++) {
+            spans[0][offset] = (offset + 1) / tileSize;
+            spans[1][offset] = (offset + size - 2) / tileSize;
+            spans[2][offset] = (offset + size) / tileSize;
+            if (offset > 0)
+                spans[3][offset] = spans[3][offset - 1] + ((spans[0][offset] != spans[0][offset - 1]
+                        || spans[1][offset] != spans[1][offset - 1] || spans[2][offset] != spans[2][offset - 1]) ? 1 : 0);
+        }
+        return spans;
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the width in pixels of the sprites of this probe.
+     */
+    @Basic @Immutable
+    public int getWidth() { return width; }
+
+    /**
+     * Return the height in pixels of the sprites of this probe.
+     */
+    @Basic @Immutable
+    public int getHeight() { return height; }
+
+    /**
+     * Return the size in pixels of the tiles of this probe.
+     */
+    @Basic @Immutable
+    public int getTileSize() { return tileSize; }
+
+    /**
+     * Variables registering the size of the sprites and the tiles of this probe.
+     */
+    private final int width, height, tileSize;
+
+// #####################################################################################################################
+
+    /**
+     * Return the first tile column between the borders of a sprite whose left border lies at the given offset within
+     *   its tile, counted from that tile.
+     */
+    public int getFirstColumn(int offset) { return columns[0][offset]; }
+
+    /**
+     * Return the last tile column between the borders of a sprite whose left border lies at the given offset within
+     *   its tile, counted from that tile.
+     */
+    public int getLastColumn(int offset) { return columns[1][offset]; }
+
+    /**
+     * Return the tile column right next to a sprite whose left border lies at the given offset within its tile,
+     *   counted from that tile.
+     */
+    public int getRightColumn(int offset) { return columns[2][offset]; }
+
+    /**
+     * Return a number that is the same for two offsets of the left border within its tile if and only if the strips
+     *   of the sprite cover the same tile columns at both.
+     */
+    public int getColumnSpans(int offset) { return columns[3][offset]; }
+
+    /**
+     * Return the first tile row between the borders of a sprite whose bottom border lies at the given offset within
+     *   its tile, counted from that tile.
+     */
+    public int getFirstRow(int offset) { return rows[0][offset]; }
+
+    /**
+     * Return the last tile row between the borders of a sprite whose bottom border lies at the given offset within
+     *   its tile, counted from that tile.
+     */
+    public int getLastRow(int offset) { return rows[1][offset]; }
+
+    /**
+     * Return the tile row right above a sprite whose bottom border lies at the given offset within its tile,
+     *   counted from that tile.
+     */
+    public int getTopRow(int offset) { return rows[2][offset]; }
+
+    /**
+     * Return a number that is the same for two offsets of the bottom border within its tile if and only if the
+     *   strips of the sprite cover the same tile rows at both.
+     */
+    public int getRowSpans(int offset) { return rows[3][offset]; }
+
+    /**
+     * Variables referencing the tile spans of the columns and the rows, indexed by kind of span and offset.
+     */
+    private final int[][] columns, rows;
+}
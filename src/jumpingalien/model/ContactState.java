@@ -0,0 +1,210 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * A class keeping the sides at which a GameObject touches impassable terrain: its left column, the column right
+ *   next to it, its bottom row and the row right above it, the same strips World.checkHorizontalCollision and
+ *   World.checkVerticalCollision look at. The sides are only checked again when one of those strips reaches into
+ *   another tile, when the sprite of the GameObject changes size, or when the terrain of its world changes. The
+ *   tiles of the strips are read from the CollisionProbe of the sprite.
+ *
+ * @invar | getGameObject() != null
+ */
+public class ContactState {
+
+    /**
+     * Initialize this new ContactState for the given GameObject.
+     *
+     * @param gameObject
+     *        The GameObject whose contacts this ContactState keeps.
+     * @post | new.getGameObject() == gameObject
+     * @post | new.getNbRefreshes() == 0
+     */
+    @Raw @Model
+    ContactState(GameObject gameObject) {
+        this.gameObject = gameObject;
+    }
+
+    /**
+     * Return the GameObject whose contacts this ContactState keeps.
+     */
+    @Basic @Immutable
+    public GameObject getGameObject() {
+        return this.gameObject;
+    }
+
+    /**
+     * Variable referencing the GameObject whose contacts this ContactState keeps.
+     */
+    private final GameObject gameObject;
+
+// #####################################################################################################################
+
+    /**
+     * The sides of a GameObject.
+     */
+    public static final int LEFT = 1, RIGHT = 2, FLOOR = 4, CEILING = 8;
+
+    /**
+     * Check whether the GameObject stands on impassable terrain.
+     *
+     * @return | result == touches(FLOOR)
+     */
+    public boolean isGrounded() {
+        return touches(FLOOR);
+    }
+
+    /**
+     * Check whether the GameObject touches impassable terrain with its left column.
+     *
+     * @return | result == touches(LEFT)
+     */
+    public boolean isTouchingLeft() {
+        return touches(LEFT);
+    }
+
+    /**
+     * Check whether the GameObject touches impassable terrain with the column right next to it.
+     *
+     * @return | result == touches(RIGHT)
+     */
+    public boolean isTouchingRight() {
+        return touches(RIGHT);
+    }
+
+    /**
+     * Check whether the GameObject touches impassable terrain with the row right above it.
+     *
+     * @return | result == touches(CEILING)
+     */
+    public boolean isTouchingCeiling() {
+        return touches(CEILING);
+    }
+
+    /**
+     * Check whether the GameObject touches impassable terrain at the given side.
+     *
+     * @param side
+     *        One of LEFT, RIGHT, FLOOR or CEILING.
+     * @return | if (getGameObject().getWorld() == null)
+     *         |    then result == false
+     * @return | if (side == LEFT || side == RIGHT)
+     *         |    then result == getGameObject().getWorld().containsImpassableTerrain(pixelColumn, pixelY + 1, pixelColumn, pixelY + height - 2)
+     *         |    with pixelColumn == (side == RIGHT ? pixelX + width : pixelX)
+     * @return | if (side == FLOOR || side == CEILING)
+     *         |    then result == getGameObject().getWorld().containsImpassableTerrain(pixelX + 1, pixelRow, pixelX + width - 2, pixelRow)
+     *         |    with pixelRow == (side == CEILING ? pixelY + height : pixelY)
+     *         | with pixelX == getGameObject().getPixelX() && pixelY == getGameObject().getPixelY()
+     *         |    && width == getGameObject().getCurrentSprite().getWidth() && height == getGameObject().getCurrentSprite().getHeight()
+     */
+    public boolean touches(int side) {
+        World world = gameObject.getWorld();
+        if (world == null)
+            return false;
+        Sprite sprite = gameObject.getCurrentSprite();
+        CollisionProbe probe = world.getCollisionProbe(sprite);
+        int pixelX = gameObject.getPixelX(), pixelY = gameObject.getPixelY();
+        if (probe == null || pixelX < 0 || pixelY < 0) {
+            // The tile of a negative pixel is not found by counting from the tile of the border.
+            refresh(world, pixelX, pixelY, sprite.getWidth(), sprite.getHeight());
+            return (contacts & side) != 0;
+        }
+        int tileSize = probe.getTileSize();
+        int tileX = pixelX / tileSize, offsetX = pixelX - tileX * tileSize;
+        int tileY = pixelY / tileSize, offsetY = pixelY - tileY * tileSize;
+        int columnSpans = probe.getColumnSpans(offsetX), rowSpans = probe.getRowSpans(offsetY);
+        if (world != this.world || world.getTerrain().getVersion() != this.version || probe != this.probe
+                || tileX != this.tileX || tileY != this.tileY || columnSpans != this.columnSpans || rowSpans != this.rowSpans) {
+            refresh(world, probe, tileX, offsetX, tileY, offsetY);
+            this.columnSpans = columnSpans;
+            this.rowSpans = rowSpans;
+        }
+        return (contacts & side) != 0;
+    }
+
+    /**
+     * Check the four sides of the GameObject with the given probe, with its left border at the given offset within
+     *   the given tile column and its bottom border at the given offset within the given tile row.
+     */
+    private void refresh(World world, CollisionProbe probe, int tileX, int offsetX, int tileY, int offsetY) {
+        TerrainGrid terrain = world.getTerrain();
+        int mask = GeologicalFeature.impassableMask();
+        int sides = 0;
+        if (probe.getHeight() >= 3) {
+            int firstRow = tileY + probe.getFirstRow(offsetY), lastRow = tileY + probe.getLastRow(offsetY);
+            int rightColumn = tileX + probe.getRightColumn(offsetX);
+            if (terrain.containsFeature(mask, tileX, tileX, firstRow, lastRow))
+                sides |= LEFT;
+            if (terrain.containsFeature(mask, rightColumn, rightColumn, firstRow, lastRow))
+                sides |= RIGHT;
+        }
+        if (probe.getWidth() >= 3) {
+            int firstColumn = tileX + probe.getFirstColumn(offsetX), lastColumn = tileX + probe.getLastColumn(offsetX);
+            int topRow = tileY + probe.getTopRow(offsetY);
+            if (terrain.containsFeature(mask, firstColumn, lastColumn, tileY, tileY))
+                sides |= FLOOR;
+            if (terrain.containsFeature(mask, firstColumn, lastColumn, topRow, topRow))
+                sides |= CEILING;
+        }
+        this.contacts = sides;
+        this.world = world;
+        this.version = terrain.getVersion();
+        this.probe = probe;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        nbRefreshes++;
+    }
+
+    /**
+     * Check the four sides of the GameObject at the given pixel position and size in the given world, pixel strip by
+     *   pixel strip, and forget the tiles of the last check.
+     */
+    private void refresh(World world, int pixelX, int pixelY, int width, int height) {
+        int sides = 0;
+        if (world.containsImpassableTerrain(pixelX, pixelY + 1, pixelX, pixelY + height - 2))
+            sides |= LEFT;
+        if (world.containsImpassableTerrain(pixelX + width, pixelY + 1, pixelX + width, pixelY + height - 2))
+            sides |= RIGHT;
+        if (world.containsImpassableTerrain(pixelX + 1, pixelY, pixelX + width - 2, pixelY))
+            sides |= FLOOR;
+        if (world.containsImpassableTerrain(pixelX + 1, pixelY + height, pixelX + width - 2, pixelY + height))
+            sides |= CEILING;
+        this.contacts = sides;
+        this.world = null;
+        nbRefreshes++;
+    }
+
+    /**
+     * Return the number of times the sides of the GameObject have been checked against the terrain.
+     */
+    @Basic
+    public int getNbRefreshes() {
+        return this.nbRefreshes;
+    }
+
+    /**
+     * Variables registering the world, the version of its terrain and the probe of the sprite for which the
+     *   contacts are known.
+     */
+    private World world;
+    private int version;
+    private CollisionProbe probe;
+
+    /**
+     * Variables registering the tiles of the borders of the GameObject at the last check, and the spans of the
+     *   strips counted from those tiles.
+     */
+    private int tileX, tileY, columnSpans, rowSpans;
+
+    /**
+     * Variable registering the sides at which the GameObject touches impassable terrain.
+     */
+    private int contacts;
+
+    /**
+     * Variable registering the number of times the sides have been checked against the terrain.
+     */
+    private int nbRefreshes;
+}
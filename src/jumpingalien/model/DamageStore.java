@@ -0,0 +1,186 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+import java.util.Arrays;
+
+/**
+ * A structure-of-arrays store for the damage-over-time state of the GameObjects of a world. Every GameObject in
+ *   the world owns a slot, and each of its values lives in its own column: the time accumulated towards the next
+ *   hit of a geological feature, the time accumulated towards the next bite of Mazub in a Skullcab, and whether
+ *   the next contact with water restarts the first of these.
+ *
+ * @invar | getCapacity() >= 1
+ * @invar | getNbSlots() >= 0 && getNbSlots() <= getCapacity()
+ */
+public class DamageStore {
+
+    /**
+     * Initialize this new DamageStore with room for the given number of slots.
+     *
+     * @param capacity
+     *        The number of slots to reserve.
+     * @post | new.getCapacity() == Math.max(capacity, 1)
+     */
+    public DamageStore(int capacity) {
+        resize(Math.max(capacity, 1));
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the number of slots this store can hold before its columns have to grow.
+     */
+    @Basic
+    public int getCapacity() {
+        return hazardTime.length;
+    }
+
+    /**
+     * Return the number of slots that are in use.
+     */
+    @Basic
+    public int getNbSlots() {
+        return nbSlots;
+    }
+
+    /**
+     * Check whether the given slot is in use.
+     *
+     * @param slot
+     *        The slot to check.
+     */
+    public boolean isUsedSlot(int slot) {
+        return slot >= 0 && slot < highestSlot && used[slot];
+    }
+
+    /**
+     * Reserve a slot for a GameObject, reusing a released slot if there is one.
+     *
+     * @return | new.isUsedSlot(result)
+     * @post | new.getNbSlots() == getNbSlots() + 1
+     * @effect | reset(result)
+     */
+    public int allocate() {
+        int slot = (nbFreeSlots > 0) ? freeSlots[--nbFreeSlots] : highestSlot++;
+        reset(slot);
+        used[slot] = true;
+        nbSlots++;
+        return slot;
+    }
+
+    /**
+     * Give the given slot back to this store, so that it can be reused.
+     *
+     * @param slot
+     *        The slot to release.
+     * @pre | isUsedSlot(slot)
+     * @post | ! new.isUsedSlot(slot)
+     * @post | new.getNbSlots() == getNbSlots() - 1
+     */
+    public void release(int slot) {
+        assert isUsedSlot(slot);
+        used[slot] = false;
+        nbSlots--;
+        if (nbFreeSlots == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(2 * freeSlots.length, 1));
+        freeSlots[nbFreeSlots++] = slot;
+    }
+
+    /**
+     * Reset the given slot for a GameObject that has just been given it, growing the columns if necessary.
+     *
+     * @param slot
+     *        The slot to reset.
+     * @pre | slot >= 0
+     * @post | new.getCapacity() > slot
+     * @post | new.getHazardTime(slot) == 0 && new.getContactTime(slot) == 0 && new.restartsInWater(slot)
+     */
+    public void reset(int slot) {
+        if (slot >= getCapacity())
+            resize(Math.max(2 * getCapacity(), slot + 1));
+        hazardTime[slot] = 0;
+        contactTime[slot] = 0;
+        restartsInWater[slot] = true;
+    }
+
+    /**
+     * Grow the columns of this store to the given capacity.
+     */
+    private void resize(int capacity) {
+        int oldCapacity = hazardTime.length;
+        hazardTime = Arrays.copyOf(hazardTime, capacity);
+        contactTime = Arrays.copyOf(contactTime, capacity);
+        restartsInWater = Arrays.copyOf(restartsInWater, capacity);
+        Arrays.fill(restartsInWater, oldCapacity, capacity, true);
+        used = Arrays.copyOf(used, capacity);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the time in seconds the given slot has accumulated towards its next hit of a geological feature.
+     */
+    @Basic
+    public double getHazardTime(int slot) { return hazardTime[slot]; }
+
+    /**
+     * Set the time in seconds the given slot has accumulated towards its next hit of a geological feature.
+     *
+     * @post | new.getHazardTime(slot) == time
+     */
+    public void setHazardTime(int slot, double time) { hazardTime[slot] = time; }
+
+    /**
+     * Return the time in seconds the given slot has accumulated towards its next bite.
+     */
+    @Basic
+    public double getContactTime(int slot) { return contactTime[slot]; }
+
+    /**
+     * Set the time in seconds the given slot has accumulated towards its next bite.
+     *
+     * @post | new.getContactTime(slot) == time
+     */
+    public void setContactTime(int slot, double time) { contactTime[slot] = time; }
+
+    /**
+     * Check whether the next contact of the given slot with water restarts its hazard time.
+     */
+    @Basic
+    public boolean restartsInWater(int slot) { return restartsInWater[slot]; }
+
+    /**
+     * Set whether the next contact of the given slot with water restarts its hazard time.
+     *
+     * @post | new.restartsInWater(slot) == restarts
+     */
+    public void setRestartsInWater(int slot, boolean restarts) { restartsInWater[slot] = restarts; }
+
+// #####################################################################################################################
+
+    /**
+     * Variables referencing the time columns of this store, indexed by slot.
+     */
+    private double[] hazardTime = new double[0], contactTime = new double[0];
+
+    /**
+     * Variable referencing whether the next contact of each slot with water restarts its hazard time.
+     */
+    private boolean[] restartsInWater = new boolean[0];
+
+    /**
+     * Variable referencing whether each slot is in use.
+     */
+    private boolean[] used = new boolean[0];
+
+    /**
+     * Variables registering the number of slots in use, and the number of slots that have ever been handed out.
+     */
+    private int nbSlots, highestSlot;
+
+    /**
+     * Variables referencing the released slots that can be handed out again, and their number.
+     */
+    private int[] freeSlots = new int[0];
+    private int nbFreeSlots;
+}
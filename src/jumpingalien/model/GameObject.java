@@ -70,8 +70,8 @@ public abstract class GameObject {
      *         |                        getActualPosition()[1] + getVelocity()[1] * getTimeDifference() + 0.5 * getAcceleration()[1] * Math.pow(getTimeDifference(), 2)}
      */
     public double[] calculateNewActualPosition() {
-        double newActualPositionX = getActualPosition()[0] + getVelocity()[0] * getTimeDifference() + 0.5 * getAcceleration()[0] * Math.pow(getTimeDifference(), 2);
-        double newActualPositionY = getActualPosition()[1] + getVelocity()[1] * getTimeDifference() + 0.5 * getAcceleration()[1] * Math.pow(getTimeDifference(), 2);
+        double newActualPositionX = getPositionX() + getVelocityX() * getTimeDifference() + 0.5 * getAccelerationX() * Math.pow(getTimeDifference(), 2);
+        double newActualPositionY = getPositionY() + getVelocityY() * getTimeDifference() + 0.5 * getAccelerationY() * Math.pow(getTimeDifference(), 2);
         return new double[]{newActualPositionX, newActualPositionY};
     }
 
@@ -84,19 +84,39 @@ public abstract class GameObject {
      *         | result == new int[]{metersToPixel(getActualPosition()[0]), metersToPixel(getActualPosition()[1])}
      */
     public int[] getPixelPosition() {
-        return new int[]{metersToPixel(getActualPosition()[0]), metersToPixel(getActualPosition()[1])};
+        return new int[]{getPixelX(), getPixelY()};
     }
 
 // #####################################################################################################################
 
     /**
-     * Return the actualPosition of this GameObject.
+     * Return the actualPosition of this GameObject. The same array is returned until the position changes.
      *
      * @return returns the double[] actualPosition
-     *         | result == this.actualPosition
+     *         | result == new double[]{getPositionX(), getPositionY()}
      */
     @Basic @Raw
-    public double[] getActualPosition() { return this.actualPosition; }
+    public double[] getActualPosition() {
+        if (this.actualPosition == null)
+            this.actualPosition = new double[]{positionX, positionY};
+        return this.actualPosition;
+    }
+
+    /**
+     * Return the horizontal position in meters of this GameObject, without creating an array.
+     */
+    @Basic @Raw
+    public double getPositionX() {
+        return this.positionX;
+    }
+
+    /**
+     * Return the vertical position in meters of this GameObject, without creating an array.
+     */
+    @Basic @Raw
+    public double getPositionY() {
+        return this.positionY;
+    }
 
     /**
      * Check if this GameObject can have the given actualPosition as its actualPosition.
@@ -121,7 +141,7 @@ public abstract class GameObject {
      *        The new actualPosition of this GameObject.
      * @post The actualPosition of this new GameObject is equal to the given actualPosition if the GameObject is not deadnor terminated.
      *       | if (!isDead() && !isTerminated())
-     *       |    then new.getActualPosition() == actualPosition
+     *       |    then Arrays.equals(new.getActualPosition(), actualPosition)
      * @throws IllegalArgumentException
      *         The given actualPosition is not a valid actualPosition for this GameObject.
      *         | ! canHaveAsActualPosition(actualPosition)
@@ -131,14 +151,62 @@ public abstract class GameObject {
         if (!isDead() && !isTerminated()) {
             if (!canHaveAsActualPosition(actualPosition))
                 throw new IllegalArgumentException();
-            this.actualPosition = actualPosition;
+            this.positionX = actualPosition[0];
+            this.positionY = actualPosition[1];
+            this.actualPosition = null;
+            this.pixelX = metersToPixel(actualPosition[0]);
+            this.pixelY = metersToPixel(actualPosition[1]);
+            if (getWorld() != null)
+                getWorld().updateSpatialIndex(this);
         }
     }
 
     /**
-     * Variable registering the actualPosition of this GameObject.
+     * Variables registering the horizontal and vertical position in meters of this GameObject. The setters copy
+     *   the values out of the arrays they are given, so that the arrays made in every step do not outlive it.
+     */
+    private double positionX, positionY;
+
+    /**
+     * Variable referencing the array last returned by getActualPosition, or null if the position changed since.
+     */
+    private double[] actualPosition;
+
+    /**
+     * Return the pixel column of the left border of this GameObject, without creating an array.
+     *
+     * @return | result == metersToPixel(getActualPosition()[0])
+     */
+    @Basic @Raw
+    public int getPixelX() { return this.pixelX; }
+
+    /**
+     * Return the pixel row of the bottom border of this GameObject, without creating an array.
+     *
+     * @return | result == metersToPixel(getActualPosition()[1])
+     */
+    @Basic @Raw
+    public int getPixelY() { return this.pixelY; }
+
+    /**
+     * Return the pixel column of the right border of this GameObject, without creating an array.
+     *
+     * @return | result == getPixelX() + getCurrentSprite().getWidth() - 1
+     */
+    public int getPixelRight() { return getPixelX() + getCurrentSprite().getWidth() - 1; }
+
+    /**
+     * Return the pixel row of the top border of this GameObject, without creating an array.
+     *
+     * @return | result == getPixelY() + getCurrentSprite().getHeight() - 1
+     */
+    public int getPixelTop() { return getPixelY() + getCurrentSprite().getHeight() - 1; }
+
+    /**
+     * Variables registering the pixel column and row of the actualPosition of this GameObject,
+     * refreshed by setActualPosition.
      */
-    private double[] actualPosition = new double[]{0, 0};
+    private int pixelX, pixelY;
 
 // #####################################################################################################################
 
@@ -151,8 +219,8 @@ public abstract class GameObject {
      *         |    else then result == correctVelocity(new double[]{newHorizontalVelocity, newVerticalVelocity})
      */
     public double[] calculateNewVelocity() {
-        double newHorizontalVelocity = getVelocity()[0] + getAcceleration()[0] * getTimeDifference();
-        double newVerticalVelocity = getVelocity()[1] + getAcceleration()[1] * getTimeDifference();
+        double newHorizontalVelocity = getVelocityX() + getAccelerationX() * getTimeDifference();
+        double newVerticalVelocity = getVelocityY() + getAccelerationY() * getTimeDifference();
         if (canHaveAsVelocity(new double[]{newHorizontalVelocity, newVerticalVelocity}))
             return new double[]{newHorizontalVelocity, newVerticalVelocity};
         else
@@ -170,10 +238,30 @@ public abstract class GameObject {
     public double[] correctVelocity(double[] newVelocity) { return new double[]{0,0}; }
 
     /**
-     * Returns the velocity of this GameObject.
+     * Returns the velocity of this GameObject. The same array is returned until the velocity changes.
      */
     @Basic
-    public double[] getVelocity() { return velocity; }
+    public double[] getVelocity() {
+        if (velocity == null)
+            velocity = new double[]{velocityX, velocityY};
+        return velocity;
+    }
+
+    /**
+     * Returns the horizontal velocity of this GameObject, without creating an array.
+     */
+    @Basic
+    public double getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * Returns the vertical velocity of this GameObject, without creating an array.
+     */
+    @Basic
+    public double getVelocityY() {
+        return velocityY;
+    }
 
     /**
      * Returns true if this GameObject can have the given velocity as velocity.
@@ -193,25 +281,53 @@ public abstract class GameObject {
      *        The velocity to set.
      * @post The velocity is set to the given velocity if its valid and if this Gameobject is not dead nor terminated.
      *       | if (canHaveAsVelocity(velocity) && !isDead() && !isTerminated())
-     *       |    then new.velocity == velocity
+     *       |    then Arrays.equals(new.getVelocity(), velocity)
      */
     public void setVelocity(double[] velocity) {
-        if (canHaveAsVelocity(velocity) && !isDead() && !isTerminated())
-            this.velocity = velocity;
+        if (canHaveAsVelocity(velocity) && !isDead() && !isTerminated()) {
+            this.velocityX = velocity[0];
+            this.velocityY = velocity[1];
+            this.velocity = null;
+        }
     }
 
     /**
-     * Variable registering the horizontal and vertical velocity of this GameObject.
+     * Variables registering the horizontal and vertical velocity of this GameObject.
+     */
+    private double velocityX, velocityY;
+
+    /**
+     * Variable referencing the array last returned by getVelocity, or null if the velocity changed since.
      */
-    private double[] velocity = new double[]{0, 0};
+    private double[] velocity;
 
 // #####################################################################################################################
 
     /**
-     * Returns the acceleration of this GameObject.
+     * Returns the acceleration of this GameObject. The same array is returned until the acceleration changes.
+     */
+    @Basic @Raw
+    public double[] getAcceleration(){
+        if (this.acceleration == null)
+            this.acceleration = new double[]{accelerationX, accelerationY};
+        return this.acceleration;
+    }
+
+    /**
+     * Returns the horizontal acceleration of this GameObject, without creating an array.
      */
     @Basic @Raw
-    public double[] getAcceleration(){ return this.acceleration;}
+    public double getAccelerationX() {
+        return accelerationX;
+    }
+
+    /**
+     * Returns the vertical acceleration of this GameObject, without creating an array.
+     */
+    @Basic @Raw
+    public double getAccelerationY() {
+        return accelerationY;
+    }
 
     /**
      * Returns true if this GameObject can have the given acceleration as acceleration.
@@ -227,7 +343,7 @@ public abstract class GameObject {
      * @param acceleration
      *        The new acceleration for this GameObject.
      * @post The acceleration of this new GameObject is equal to the given acceleration.
-     *       | new.acceleration == acceleration
+     *       | Arrays.equals(new.getAcceleration(), acceleration)
      * @throws IllegalArgumentException
      *         The given acceleration is not a valid acceleration for this GameObject.
      *         | ! canHaveAsAcceleration(acceleration)
@@ -236,16 +352,56 @@ public abstract class GameObject {
     public void setAcceleration(double[] acceleration) throws IllegalArgumentException {
         if (! canHaveAsAcceleration(acceleration))
             throw new IllegalArgumentException("Not a valid acceleration");
-        this.acceleration = acceleration;
+        this.accelerationX = acceleration[0];
+        this.accelerationY = acceleration[1];
+        this.acceleration = null;
     }
 
     /**
-     * Variable registering the acceleration of this GameObject.
+     * Variables registering the horizontal and vertical acceleration of this GameObject.
+     */
+    private double accelerationX, accelerationY;
+
+    /**
+     * Variable referencing the array last returned by getAcceleration, or null if the acceleration changed since.
      */
-    private double[] acceleration = new double[]{0,0};
+    private double[] acceleration;
 
 // #####################################################################################################################
 
+    /**
+     * Return the slot of this GameObject in the damage store of its world, or -1 if it has none.
+     */
+    @Basic @Raw @Model
+    int getDamageSlot() { return this.damageSlot; }
+
+    /**
+     * Set the slot of this GameObject in the damage store of its world to the given slot.
+     *
+     * @param slot
+     *        The new slot, or -1 if this GameObject has none.
+     * @post | new.getDamageSlot() == slot
+     */
+    @Raw
+    void setDamageSlot(int slot) { this.damageSlot = slot; }
+
+    /**
+     * Variable registering the slot of this GameObject in the damage store of its world.
+     */
+    private int damageSlot = -1;
+
+// #####################################################################################################################
+
+    /**
+     * Check whether the world of this GameObject advances it with a fixed time step. Such a GameObject
+     *   integrates the whole time it is given in one step instead of picking smaller steps itself.
+     *
+     * @return | result == (getWorld() != null && getWorld().hasFixedTimeStep())
+     */
+    public boolean hasFixedTimeStep() {
+        return getWorld() != null && getWorld().hasFixedTimeStep();
+    }
+
     /**
      * Returns the timeDifference of this GameObject.
      */
@@ -420,6 +576,9 @@ public abstract class GameObject {
      * @effect The Set of terminated GameObjects contains this object if the World is not null.
      *         | if (getWorld() != null)
      *         |    then getWorld().hasAsTerminatedGameObject(this)
+     * @effect This GameObject is removed from the live GameObjects of its world.
+     *         | if (getWorld() != null)
+     *         |    then getWorld().removeLiveGameObject(this)
      * @effect The world will be set to null.
      *         | setWorld(null)
      * @effect The hitPoints of this GameObject are set to 0.
@@ -427,6 +586,8 @@ public abstract class GameObject {
      */
     public void terminate() {
         setIsDead(true);
+        if (getWorld() != null)
+            getWorld().removeLiveGameObject(this);
         setWorld(null);
         setHitPoints(0);
         this.isTerminated = true;
@@ -478,5 +639,18 @@ public abstract class GameObject {
      */
     public abstract void advanceTime(double dt);
 
+// #####################################################################################################################
+
+    /**
+     * Return the sides at which this GameObject touches impassable terrain.
+     */
+    @Basic @Immutable
+    public ContactState getContactState() { return contactState; }
+
+    /**
+     * Variable referencing the sides at which this GameObject touches impassable terrain.
+     */
+    private final ContactState contactState = new ContactState(this);
+
 // #####################################################################################################################
 }
\ No newline at end of file
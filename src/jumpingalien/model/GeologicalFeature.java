@@ -46,6 +46,43 @@ public enum GeologicalFeature {
         return impassable;
     }
 
+    /**
+     * Return a bitmask with the bits of all the impassable GeologicalFeatures set.
+     *
+     * @return | for each geologicalFeature in impassableFeat():
+     *         |    (result & geologicalFeature.getMask()) != 0
+     */
+    @Basic @Immutable
+    public static int impassableMask() {
+        return IMPASSABLE_MASK;
+    }
+
+    /**
+     * Constant registering the bitmask of all the impassable GeologicalFeatures.
+     */
+    private static final int IMPASSABLE_MASK = SOLID_GROUND.getMask() | ICE.getMask();
+
+    /**
+     * Return the bitmask of the given value of a geological feature.
+     *
+     * @param value
+     *        The value of the geological feature.
+     * @return | result == 1 << value
+     */
+    public static int maskOf(int value) {
+        return 1 << value;
+    }
+
+    /**
+     * Return the bitmask of this geological feature.
+     *
+     * @return | result == maskOf(getValue())
+     */
+    @Immutable
+    public int getMask() {
+        return maskOf(getValue());
+    }
+
     /**
      * Return the value of this geological feauture.
      */
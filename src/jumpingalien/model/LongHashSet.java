@@ -0,0 +1,180 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+import java.util.Arrays;
+
+/**
+ * A set of long values stored in an open addressing table with linear probing,
+ *   so that adding a value and checking whether a value is in the set take constant time
+ *   and neither of them boxes the value.
+ *
+ * @invar | size() >= 0
+ */
+public class LongHashSet {
+
+    /**
+     * Initialize this new LongHashSet with room for the given number of values.
+     *
+     * @param expectedSize
+     *        The number of values this set should hold without growing.
+     * @post | new.size() == 0
+     */
+    public LongHashSet(int expectedSize) {
+        table = newTable(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Initialize this new empty LongHashSet.
+     *
+     * @effect | this(16)
+     */
+    public LongHashSet() {
+        this(16);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the number of values in this set.
+     */
+    @Basic
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check whether the given value is in this set.
+     *
+     * @param value
+     *        The value to check.
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY)
+            return hasEmptyValue;
+        int mask = table.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            long slot = table[i];
+            if (slot == value)
+                return true;
+            if (slot == EMPTY)
+                return false;
+        }
+    }
+
+    /**
+     * Add the given value to this set.
+     *
+     * @param value
+     *        The value to add.
+     * @return | result == ! contains(value)
+     * @post | new.contains(value)
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasEmptyValue)
+                return false;
+            hasEmptyValue = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int i = hash(value) & mask;
+        for (; table[i] != EMPTY; i = (i + 1) & mask)
+            if (table[i] == value)
+                return false;
+        table[i] = value;
+        size++;
+        if (++nbStored * 2 > table.length)
+            rehash(table.length * 2);
+        return true;
+    }
+
+    /**
+     * Make room for the given number of values in total, so that adding them does not grow this set again.
+     *
+     * @param expectedSize
+     *        The number of values this set should hold without growing.
+     */
+    public void ensureCapacity(int expectedSize) {
+        int tableSize = tableSizeFor(expectedSize);
+        if (tableSize > table.length)
+            rehash(tableSize);
+    }
+
+    /**
+     * Remove all values from this set.
+     *
+     * @post | new.size() == 0
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        hasEmptyValue = false;
+        size = 0;
+        nbStored = 0;
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Move all values to a new table of the given size.
+     */
+    private void rehash(int tableSize) {
+        long[] oldTable = table;
+        table = newTable(tableSize);
+        int mask = tableSize - 1;
+        for (long value : oldTable)
+            if (value != EMPTY) {
+                int i = hash(value) & mask;
+                while (table[i] != EMPTY)
+                    i = (i + 1) & mask;
+                table[i] = value;
+            }
+    }
+
+    /**
+     * Return the smallest power of two that keeps the given number of values at most half of the table.
+     */
+    private static int tableSizeFor(int expectedSize) {
+        int tableSize = 16;
+        while (tableSize < 2 * (long) expectedSize + 1)
+            tableSize *= 2;
+        return tableSize;
+    }
+
+    /**
+     * Return a new table of the given size in which every slot is empty.
+     */
+    private static long[] newTable(int tableSize) {
+        long[] table = new long[tableSize];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    /**
+     * Return the hash of the given value, spread over all bits so that consecutive values do not form clusters.
+     */
+    private static int hash(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * The value marking an empty slot of the table. This value itself is registered with hasEmptyValue.
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    /**
+     * Variable referencing the table of this set, whose length is a power of two.
+     */
+    private long[] table;
+
+    /**
+     * Variable registering whether the value EMPTY is in this set.
+     */
+    private boolean hasEmptyValue;
+
+    /**
+     * Variables registering the number of values in this set and the number of them stored in the table.
+     */
+    private int size, nbStored;
+}
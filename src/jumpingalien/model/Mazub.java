@@ -3,7 +3,9 @@ package jumpingalien.model;
 import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.facade.Facade;
 import jumpingalien.util.Sprite;
+import java.util.*;
 import static jumpingalien.model.PositionConverter.metersToPixel;
+import static jumpingalien.model.ContactState.*;
 
 /**
  * A class of mazubs involving an actual position, an orientation, a horizontal velocity, a vertical velocity,
@@ -133,9 +135,8 @@ public class Mazub extends GameObject {
     public void setActualPosition(double[] actualPosition) throws IllegalArgumentException {
         if (getWorld() != null && !isDead() && !isTerminated()) {
             if (canHaveAsActualPosition(actualPosition)) {
-                int[] pixelLeftBottom = new int[]{metersToPixel(actualPosition[0])+1, metersToPixel(actualPosition[1])+1};
-                int[] pixelRightTop = new int[]{metersToPixel(actualPosition[0])+getCurrentSprite().getWidth()-2, metersToPixel(actualPosition[1])+getCurrentSprite().getHeight()-2};
-                if (getWorld().containsImpassableTerrain(pixelLeftBottom, pixelRightTop))
+                int pixelX = metersToPixel(actualPosition[0]), pixelY = metersToPixel(actualPosition[1]);
+                if (getWorld().containsImpassableTerrain(pixelX + 1, pixelY + 1, pixelX + getCurrentSprite().getWidth() - 2, pixelY + getCurrentSprite().getHeight() - 2))
                     throw new IllegalArgumentException("Mazub contains geologicalFeature");
                 super.setActualPosition(actualPosition);
             } else {
@@ -237,8 +238,8 @@ public class Mazub extends GameObject {
         counter = 0;
         setOrientation(orientation);
         setIsMoving(true);
-        setVelocity(new double[]{getOrientation() * MIN_HORIZONTAL_VELOCITY, getVelocity()[1]});
-        setAcceleration(new double[]{getOrientation() * DEFAULT_HORIZONTAL_ACCELERATION, getAcceleration()[1]});
+        setVelocity(new double[]{getOrientation() * MIN_HORIZONTAL_VELOCITY, getVelocityY()});
+        setAcceleration(new double[]{getOrientation() * DEFAULT_HORIZONTAL_ACCELERATION, getAccelerationY()});
         if (getWorld() != null)
             getWorld().manageVisbleWindowPosition();
     }
@@ -248,8 +249,8 @@ public class Mazub extends GameObject {
      *
      * @pre This Mazub must be moving.
      *      | canHaveAsIsMoving(false)
-     * @post Sets the running sprites timer to 0.
-     *       | new.timer[1] == 0
+     * @effect Restarts the running sprites timer.
+     *         | restartRunningSpriteTimer()
      * @effect The moving state is set to false.
      *         | setIsMoving(false)
      * @effect The horizontal velocity is set to 0.
@@ -259,10 +260,10 @@ public class Mazub extends GameObject {
      */
     public void endMove() {
         assert (canHaveAsIsMoving(false));
-        timer[1] = 0;
+        restartRunningSpriteTimer();
         setIsMoving(false);
-        setVelocity(new double[]{0, getVelocity()[1]});
-        setAcceleration(new double[]{0, getAcceleration()[1]});
+        setVelocity(new double[]{0, getVelocityY()});
+        setAcceleration(new double[]{0, getAccelerationY()});
     }
 
     /**
@@ -320,8 +321,8 @@ public class Mazub extends GameObject {
      */
     public void startJump() {
         setIsJumping(true);
-        setVelocity(new double[]{getVelocity()[0], MAX_VERTICAL_VELOCITY});
-        setAcceleration(new double[]{getAcceleration()[0], -10});
+        setVelocity(new double[]{getVelocityX(), MAX_VERTICAL_VELOCITY});
+        setAcceleration(new double[]{getAccelerationX(), -10});
         if (getWorld() != null)
             getWorld().manageVisbleWindowPosition();
     }
@@ -329,8 +330,8 @@ public class Mazub extends GameObject {
     /**
      * End the given alien's jump.
      *
-     * @post The timer that measures the delay between moving sprites is set to 0.
-     *       | new.timer[1] == 0
+     * @effect The timer that measures the delay between moving sprites is restarted.
+     *         | restartRunningSpriteTimer()
      * @effect The jumping state is set to false.
      *         | setIsJumping(false)
      * @effect The vertical velocity is set to 0 if the velocity is still positive.
@@ -339,9 +340,9 @@ public class Mazub extends GameObject {
      */
     public void endJump() {
         setIsJumping(false);
-        timer[1] = 0;
-        if (getVelocity()[1] > 0)
-            setVelocity(new double[]{getVelocity()[0], 0});
+        restartRunningSpriteTimer();
+        if (getVelocityY() > 0)
+            setVelocity(new double[]{getVelocityX(), 0});
     }
 
     /**
@@ -401,15 +402,16 @@ public class Mazub extends GameObject {
      */
     public void startDuck() {
         setIsDucking(true);
-        setVelocity(new double[]{getOrientation()*DEFAULT_DUCKING_HORIZONTAL_VELOCITY, getVelocity()[1]});
-        setAcceleration(new double[]{0, getAcceleration()[1]});
+        setVelocity(new double[]{getOrientation()*DEFAULT_DUCKING_HORIZONTAL_VELOCITY, getVelocityY()});
+        setAcceleration(new double[]{0, getAccelerationY()});
     }
 
     /**
      * End the given alien's ducking.
      *
-     * @post The timer that measures the delay between moving sprites is set to 0.
-     *       | new.timer[1] == 0
+     * @effect The timer that measures the delay between moving sprites is restarted.
+     *         | if (!isImpossibleEndDuck())
+     *         |    then restartRunningSpriteTimer()
      * @post The running sprites counter is set to 0.
      *       | new.counter == 0
      * @effect The ducking state is set to false.
@@ -420,11 +422,11 @@ public class Mazub extends GameObject {
     public void endDuck() {
         setIsDucking(false);
         if (!isImpossibleEndDuck()) {
-            timer[1] = 0;
+            restartRunningSpriteTimer();
             counter = 0;
         }
         if (isMoving())
-            setAcceleration(new double[]{DEFAULT_HORIZONTAL_ACCELERATION*getOrientation(), getAcceleration()[1]});
+            setAcceleration(new double[]{DEFAULT_HORIZONTAL_ACCELERATION*getOrientation(), getAccelerationY()});
     }
 
     /**
@@ -515,40 +517,40 @@ public class Mazub extends GameObject {
         if (Facade.isExecutingTest())
            return (isDucking()) ? getSprites()[1] : getSprites()[0];
         if (!isMoving()) {
-            timer[1] = 0;
+            restartRunningSpriteTimer();
             if (isDucking()) {
-                if ((timer[0] >= 1) || (getOrientation() == 0)) {
+                if (!idleSpriteTimer.isPending() || (getOrientation() == 0)) {
                     setOrientation(0);
                     return getSprites()[1];
                 } return (getOrientation() > 0) ? getSprites()[6] : getSprites()[7];
             } else {
-                if ((timer[0] >= 1) || (getOrientation() == 0)) {
+                if (!idleSpriteTimer.isPending() || (getOrientation() == 0)) {
                     setOrientation(0);
                     return getSprites()[0];
                 } return (getOrientation() > 0) ? getSprites()[2] : getSprites()[3];}
         } else {
-            timer[0] = 0;
+            timers.schedule(idleSpriteTimer, IDLE_SPRITE_TIME);
             if (isDucking()) {
-                timer[1] = 0;
+                restartRunningSpriteTimer();
                 return (getOrientation() > 0) ? getSprites()[6] : getSprites()[7]; }
             if (isJumping()) {
-                timer[1] = 0;
+                restartRunningSpriteTimer();
                 return (getOrientation() > 0) ? getSprites()[4] : getSprites()[5]; }
             else return runningAnnimation(); }
     }
 
     private Sprite runningAnnimation() {
         if ((getOrientation() > 0) && !isDucking()) {
-            while (timer[1] >= 0.075) {
-                timer[1] = 0;
+            if (!runningSpriteTimer.isPending()) {
+                restartRunningSpriteTimer();
                 counter += 1;
                 if (counter > (getSprites().length - 8) / 2 - 1)
                     counter = 0;
             }
             return getSprites()[8 + counter];
         } else {
-            while (timer[1] >= 0.075) {
-                timer[1] = 0;
+            if (!runningSpriteTimer.isPending()) {
+                restartRunningSpriteTimer();
                 counter += 1;
                 if (counter > (getSprites().length - 8) / 2 - 1)
                     counter = 0;
@@ -611,86 +613,307 @@ public class Mazub extends GameObject {
 // #####################################################################################################################
 
     /**
-     * An array timer who counts the time passed this is used for the sprites. The third index is
-     * used to loose hitPoints, the fourth is used to remove hitPoints
+     * Return the wheel holding the timers of this Mazub. Its clock runs on the time this Mazub has been
+     *   advanced with, whether by its world or on its own.
      */
-    private double[] timer = {0, 0, 0, 0};
+    @Basic @Immutable
+    public TimerWheel getTimerWheel() {
+        return this.timers;
+    }
+
+    /**
+     * Check whether this Mazub cannot be hurt by slimes at the moment.
+     */
+    public boolean isInvulnerable() {
+        return invulnerabilityTimer.isPending();
+    }
+
+    /**
+     * Make this Mazub invulnerable to slimes for INVULNERABILITY_TIME seconds.
+     *
+     * @post | new.isInvulnerable()
+     */
+    void makeInvulnerable() {
+        timers.schedule(invulnerabilityTimer, INVULNERABILITY_TIME);
+    }
+
+    /**
+     * Restart the timer that measures the delay between moving sprites.
+     */
+    private void restartRunningSpriteTimer() {
+        timers.schedule(runningSpriteTimer, RUNNING_SPRITE_TIME);
+    }
+
+    /**
+     * End the game and terminate this Mazub, once it has been dead for DEATH_TIME seconds.
+     *
+     * @effect | if (getWorld() != null)
+     *         |    then getWorld().setGameOver(true)
+     * @effect | terminate()
+     */
+    private void endGame() {
+        if (getWorld() != null)
+            getWorld().setGameOver(true);
+        this.terminate();
+    }
+
+    /**
+     * The time in seconds a Mazub cannot be hurt by slimes after it was hurt by one.
+     */
+    public static final double INVULNERABILITY_TIME = 0.6;
+
+    /**
+     * The time in seconds a Mazub stays in the world after it died.
+     */
+    public static final double DEATH_TIME = 0.6;
+
+    /**
+     * The time in seconds a standing Mazub keeps looking in the direction it last moved in.
+     */
+    private static final double IDLE_SPRITE_TIME = 1;
+
+    /**
+     * The time in seconds each running sprite of a Mazub is shown.
+     */
+    private static final double RUNNING_SPRITE_TIME = 0.075;
+
+    /**
+     * Variable referencing the wheel holding the timers of this Mazub.
+     */
+    private final TimerWheel timers = new TimerWheel(TimerWheel.DEFAULT_TICK_LENGTH);
 
-    public double freeze;
+    /**
+     * Variables referencing the timers of this Mazub: the time since it last moved, the time the current
+     *   running sprite has been shown, the time it cannot be hurt by slimes and the time it has been dead.
+     */
+    private final TimerWheel.Timer idleSpriteTimer = timers.schedule(TimerWheel.Type.SPRITE_ANIMATION, IDLE_SPRITE_TIME, null),
+            runningSpriteTimer = timers.schedule(TimerWheel.Type.SPRITE_ANIMATION, RUNNING_SPRITE_TIME, null),
+            invulnerabilityTimer = timers.createTimer(TimerWheel.Type.INVULNERABILITY, null),
+            deathTimer = timers.createTimer(TimerWheel.Type.DEATH_ANIMATION, this::endGame);
 
+    /**
+     * Collect the GameObjects this Mazub has to check for collisions in the current step of advanceTime:
+     * the ones found near this Mazub in the spatial index of its world, together with the ones found in the
+     * previous step, so that a plant this Mazub just left is still told that the contact has ended.
+     *
+     * @pre | getWorld() != null
+     * @post | for each gameObject in getWorld().getGameObjectSet():
+     *       |    if (World.isOverlapping(this, gameObject))
+     *       |       then new.contactCandidates.contains(gameObject)
+     */
+    private void collectContactCandidates() {
+        contactCandidates.clear();
+        for (GameObject gameObject : previousContactCandidates)
+            if (!gameObject.isTerminated() && gameObject.getWorld() == getWorld())
+                contactCandidates.add(gameObject);
+        previousContactCandidates.clear();
+        getWorld().collectGameObjects(getPixelX(), getPixelY(), getPixelRight() + 1, getPixelTop() + 1, null, previousContactCandidates);
+        previousContactCandidates.remove(this);
+        contactCandidates.addAll(previousContactCandidates);
+    }
+
+    /**
+     * Variable referencing the GameObjects this Mazub checks for collisions in the current step of advanceTime.
+     */
+    private final Set<GameObject> contactCandidates = new LinkedHashSet<>();
+
+    /**
+     * Variable referencing the GameObjects that were found near this Mazub in the previous step of advanceTime.
+     */
+    private final List<GameObject> previousContactCandidates = new ArrayList<>();
+
+    /**
+     * Advance this Mazub by the given time in steps in which it moves about 0.01 meters. While its world lets it
+     *   sweep, the steps in which its box cannot reach anything are taken without any collision check. Those steps
+     *   still show the current sprite, so that its animation runs as in the other steps, and end as soon as that
+     *   sprite has another size than the one the box was taken from.
+     *
+     * @post | new.getNbFreeSteps() == the number of steps taken by advanceFreely
+     */
     @Override
     public void advanceTime(double dt) {
         if (dt < 0)
             dt = 0;
         if (dt > 0.2)
             dt = 0.2;
+        nbFreeSteps = 0;
         if (getWorld() != null) {
+            forgetContacts();
         	if (!isTerminated())
         	    setAcceleration(manageNewAcceleration());
         	getWorld().manageCollisionTargetTile(this);
+        	double freeTime = 0;
+        	boolean grounded = false;
+        	int sweepDelay = 0, sweptWidth = 0, sweptHeight = 0;
             while (dt > 0) {
-            	setTimeDifference( (0.01)/(Math.sqrt(Math.pow(getVelocity()[0], 2) + Math.pow(getVelocity()[1], 2)) + Math.sqrt(Math.pow(getAcceleration()[0], 2) + Math.pow(getAcceleration()[1], 2))*dt));
-                if (Double.isInfinite(getTimeDifference()) || getTimeDifference() > dt)
+            	setTimeDifference( (0.01)/(Math.sqrt(Math.pow(getVelocityX(), 2) + Math.pow(getVelocityY(), 2)) + Math.sqrt(Math.pow(getAccelerationX(), 2) + Math.pow(getAccelerationY(), 2))*dt));
+                if (hasFixedTimeStep() || Double.isInfinite(getTimeDifference()) || getTimeDifference() > dt)
                     setTimeDifference(dt);
+                if (freeTime < getTimeDifference() && canSweep() && sweepDelay-- <= 0) {
+                    grounded = isGrounded();
+                    freeTime = getFreeTime(grounded, dt);
+                    Sprite sprite = getCurrentSprite();
+                    sweptWidth = sprite.getWidth();
+                    sweptHeight = sprite.getHeight();
+                    if (freeTime < getTimeDifference())
+                        sweepDelay = SWEEP_RETRY_STEPS;
+                    else
+                        getWorld().manageGeoFeaturesCollision(getTimeDifference());
+                }
+                if (freeTime >= getTimeDifference()) {
+                    // Showing the current sprite runs its animation timers, as the collision checks of a step do. The
+                    //   free time only holds for sprites of the size it was found for.
+                    Sprite sprite = getCurrentSprite();
+                    if (sprite.getWidth() == sweptWidth && sprite.getHeight() == sweptHeight) {
+                        advanceFreely(grounded);
+                        freeTime -= getTimeDifference();
+                        dt -= getTimeDifference();
+                        continue;
+                    }
+                }
+                freeTime = 0;
                 manageMovement();
                 if (!isTerminated() && getWorld() != null) {
-                    for (GameObject gameObject : getWorld().getGameObjectSet()) {
+                    collectContactCandidates();
+                    for (GameObject gameObject : contactCandidates) {
                         if (gameObject instanceof Plant)
                             getWorld().managePlantCollision((Plant) gameObject, getTimeDifference());
-                        if (gameObject instanceof Slime && freeze <= 0)
+                        if (gameObject instanceof Slime && !isInvulnerable()) {
                             getWorld().manageSlimeCollision((Slime) gameObject);
+                            forgetContacts();
+                        }
                     }
                     getWorld().manageGeoFeaturesCollision(getTimeDifference());
                 }
-                manageDeath(getTimeDifference());
-                timer = new double[]{timer[0] + getTimeDifference(), timer[1] + getTimeDifference(), timer[2], timer[3]};
-                freeze -= getTimeDifference();
+                manageDeath();
+                timers.advance(getTimeDifference());
                 dt -= getTimeDifference();
             }
         } else {
             setTimeDifference(dt);
             setActualPosition(calculateNewActualPosition());
             setVelocity(calculateNewVelocity());
-            freeze -= getTimeDifference();
-            timer = new double[]{timer[0]+=dt, timer[1]+=dt, timer[2], timer[3]};
+            timers.advance(dt);
         }
     }
+
+    /**
+     * Return the number of steps of the last call to advanceTime this Mazub took without any collision check.
+     */
+    @Basic
+    public int getNbFreeSteps() {
+        return this.nbFreeSteps;
+    }
+
+    /**
+     * Variable registering the number of steps of the last call to advanceTime taken without any collision check.
+     */
+    private int nbFreeSteps;
+
+    /**
+     * Check whether this Mazub can look for a part of the current frame in which it cannot reach anything. A Mazub
+     *   that is dying, or that still has to tell a GameObject near it that their contact has ended, cannot.
+     *
+     * @return | result == getWorld() != null && getWorld().isSweepingMazub() && !isDead() && !isTerminated()
+     *         |    && getHitPoints() > 0 && previousContactCandidates.isEmpty()
+     */
+    private boolean canSweep() {
+        return getWorld() != null && getWorld().isSweepingMazub() && !isDead() && !isTerminated()
+                && getHitPoints() > 0 && previousContactCandidates.isEmpty();
+    }
+
+    /**
+     * Check whether this Mazub stands still in the vertical direction on the ground: every step on the ground
+     *   finds a vertical collision, which keeps its vertical position, velocity and acceleration as they are.
+     *
+     * @return | result == !isJumping() && getVelocityY() == 0 && getAccelerationY() == 0
+     */
+    private boolean isGrounded() {
+        return !isJumping() && getVelocityY() == 0 && getAccelerationY() == 0;
+    }
+
+    /**
+     * Return the time in seconds, at most the given horizon, this Mazub can be advanced for without any of its
+     *   collision checks finding something. The speeds handed to the world bound the distance this Mazub moves per
+     *   second: correctVelocity never raises a velocity above the larger of its current magnitude and its maximum,
+     *   the acceleration raises it by at most its magnitude times the horizon, and every step adds at most half its
+     *   acceleration times its length to it.
+     *
+     * @param grounded
+     *        Whether this Mazub keeps standing on the ground.
+     * @param horizon
+     *        The time in seconds left in the current frame.
+     * @return | result == getWorld().getTimeOfImpact(this,
+     *         |    Math.max(Math.abs(getVelocityX()), MAX_MOVING_HORIZONTAL_VELOCITY) + 1.5 * Math.abs(getAccelerationX()) * horizon,
+     *         |    Math.max(Math.abs(getVelocityY()), MAX_VERTICAL_VELOCITY) + 1.5 * Math.abs(DEFAULT_VERTICAL_ACCELERATION) * horizon,
+     *         |    grounded, horizon)
+     */
+    private double getFreeTime(boolean grounded, double horizon) {
+        double speedX = Math.max(Math.abs(getVelocityX()), MAX_MOVING_HORIZONTAL_VELOCITY) + 1.5 * Math.abs(getAccelerationX()) * horizon;
+        double speedY = Math.max(Math.abs(getVelocityY()), MAX_VERTICAL_VELOCITY) + 1.5 * Math.abs(DEFAULT_VERTICAL_ACCELERATION) * horizon;
+        return getWorld().getTimeOfImpact(this, speedX, speedY, grounded, horizon);
+    }
+
+    /**
+     * Advance this Mazub by its time difference in a step in which none of its collision checks finds anything,
+     *   with the same results as manageMovement followed by the checks for contacts and geological features.
+     *
+     * @param grounded
+     *        Whether this Mazub keeps standing on the ground.
+     * @effect | setActualPosition(calculateNewActualPosition())
+     * @effect | if (grounded)
+     *         |    then setVelocity(new double[]{calculateNewVelocity()[0], 0})
+     *         |    else setVelocity(calculateNewVelocity())
+     * @effect | setAcceleration(new double[]{getAccelerationX(), grounded ? 0 : DEFAULT_VERTICAL_ACCELERATION})
+     * @effect | getTimerWheel().advance(getTimeDifference())
+     * @post | new.getNbFreeSteps() == getNbFreeSteps() + 1
+     */
+    private void advanceFreely(boolean grounded) {
+        setActualPosition(calculateNewActualPosition());
+        double[] newVelocity = calculateNewVelocity();
+        if (grounded)
+            newVelocity[1] = 0;
+        setVelocity(newVelocity);
+        setAcceleration(new double[]{getAccelerationX(), grounded ? 0 : DEFAULT_VERTICAL_ACCELERATION});
+        timers.advance(getTimeDifference());
+        nbFreeSteps++;
+    }
+
+    /**
+     * The number of steps this Mazub takes with all its collision checks before it looks again for a part of the
+     *   current frame in which it cannot reach anything, after it found none.
+     */
+    private static final int SWEEP_RETRY_STEPS = 8;
+
 // #####################################################################################################################
 
     /**
-     * Manages the death of this Mazub.
+     * Manages the death of this Mazub. The game ends when the timers of this Mazub are advanced past
+     * DEATH_TIME seconds after the start of the step in which it died.
      *
-     * @param dt
-     *        The time that has passed between the last method call and the time now.
      * @effect This mazub is dead.
      *         | this.setIsDead(true)
      * @post If this mazub is dead this mazub will stop moving.
      *       | new.isMoving() == true
      * @post If this mazub is dead this mazub will stop jumping.
      *       | new.isJumping() == true
-     * @post The timer[0] is incremented with the given dt.
-     *       | new.timer[0] == this.timer[0]+dt
-     * @post If mazub is in a world and is dead for more than 0.6 seconds the gameOver is set to true.
-     *       | if (getWorld() != null && timer[3] >= 0.6 && isDead())
-     *       |    then getWorld().setGameOver(true)
-     * @post If mazub is dead for more than 0.6 seconds this mazub is terminated.
-     *       | if (timer[3] >= 0.6 && isDead())
-     *       |    then this.terminate()
-     */
-    private void manageDeath(double dt) {
+     * @post If this mazub has just died, its death timer ends the game after DEATH_TIME seconds.
+     *       | if (isDead() && !isTerminated() && !deathTimer.isPending())
+     *       |    then new.deathTimer.getDeadline() == getTimerWheel().getTime() + DEATH_TIME
+     * @post If this mazub is alive, its death timer is stopped.
+     *       | if (!isDead())
+     *       |    then !new.deathTimer.isPending()
+     */
+    private void manageDeath() {
         if (getHitPoints() == 0 || isDead()) {
-            timer[3]+=dt;
+            if (!deathTimer.isPending() && !isTerminated())
+                timers.schedule(deathTimer, DEATH_TIME);
             setIsDead(true);
             if (canHaveAsIsMoving(false))
                 endMove();
             if (canHaveAsIsJumping(false))
                 endJump();
-            if (timer[3] >= 0.6){
-                if (getWorld() != null)
-                    getWorld().setGameOver(true);
-                this.terminate();
-            }
-        } else timer[3] = 0;
+        } else timers.cancel(deathTimer);
     }
 
 // #####################################################################################################################
@@ -735,13 +958,13 @@ public class Mazub extends GameObject {
      */
     private double[] manageNewPosition() {
         double[] newPos = calculateNewActualPosition();
-        if (getWorld().checkHorizontalCollision(this, newPos)) {
-            newPos[0] = getActualPosition()[0];
+        if (collidesAt((getPositionX() < newPos[0]) ? RIGHT : LEFT)) {
+            newPos[0] = getPositionX();
             if (canHaveAsIsMoving(false))
                 endMove();
         }
-        if (getWorld().checkVerticalCollision(this, newPos)) {
-            newPos[1] = getActualPosition()[1];
+        if (collidesAt((getPositionY() < newPos[1]) ? CEILING : FLOOR)) {
+            newPos[1] = getPositionY();
             if (canHaveAsIsJumping(false))
                 endJump();
         }
@@ -757,8 +980,8 @@ public class Mazub extends GameObject {
      *         |            (getWorld().checkVerticalCollision(this, getActualPosition())) ? 0 : calculateNewVelocity()[1]}
      */
     private double[] manageNewVelocity() {
-        return new double[]{(getWorld().checkHorizontalCollision(this, getActualPosition())) ? 0 : calculateNewVelocity()[0],
-                (getWorld().checkVerticalCollision(this, getActualPosition())) ? 0 : calculateNewVelocity()[1]};
+        double[] newVelocity = calculateNewVelocity();
+        return new double[]{collidesAt(LEFT) ? 0 : newVelocity[0], collidesAt(FLOOR) ? 0 : newVelocity[1]};
     }
 
     /**
@@ -769,7 +992,66 @@ public class Mazub extends GameObject {
      *         |             (getWorld().checkVerticalCollision(this, getActualPosition())) ? 0 : DEFAULT_VERTICAL_ACCELERATION}
      */
     private double[] manageNewAcceleration() {
-        return new double[]{(getWorld().checkHorizontalCollision(this, getActualPosition())) ? 0 : getAcceleration()[0],
-                (getWorld().checkVerticalCollision(this, getActualPosition())) ? 0 : DEFAULT_VERTICAL_ACCELERATION};
+        return new double[]{collidesAt(LEFT) ? 0 : getAccelerationX(), collidesAt(FLOOR) ? 0 : DEFAULT_VERTICAL_ACCELERATION};
     }
+
+// #####################################################################################################################
+
+    /**
+     * Check whether this Mazub collides at the given side with impassable terrain or a slime. The four sides are
+     *   checked at most once for each pixel position and sprite of this Mazub: the result is remembered until this
+     *   Mazub moves to another pixel, shows another sprite or forgets its contacts, or until the terrain or a slime
+     *   of its world changes. The terrain itself is read from the contact state of this Mazub, so only the slimes
+     *   are looked up again.
+     *
+     * @param side
+     *        One of LEFT, RIGHT, FLOOR or CEILING.
+     * @pre | getWorld() != null
+     * @return | if (side == LEFT || side == RIGHT)
+     *         |    then result == getWorld().checkHorizontalCollision(this, side == RIGHT)
+     *         |    else result == getWorld().checkVerticalCollision(this, side == CEILING)
+     */
+    public boolean collidesAt(int side) {
+        Sprite sprite = getCurrentSprite();
+        int terrainVersion = getWorld().getTerrain().getVersion(), slimeVersion = getWorld().getSlimeVersion();
+        if (getPixelX() != contactPixelX || getPixelY() != contactPixelY || sprite != contactSprite
+                || terrainVersion != contactTerrainVersion || slimeVersion != contactSlimeVersion) {
+            contactPixelX = getPixelX();
+            contactPixelY = getPixelY();
+            contactSprite = sprite;
+            contactTerrainVersion = terrainVersion;
+            contactSlimeVersion = slimeVersion;
+            knownContacts = 0;
+        }
+        if ((knownContacts & side) == 0) {
+            boolean collides = (side == LEFT || side == RIGHT) ? getWorld().checkHorizontalCollision(this, side == RIGHT)
+                    : getWorld().checkVerticalCollision(this, side == CEILING);
+            contacts = collides ? (contacts | side) : (contacts & ~side);
+            knownContacts |= side;
+        }
+        return (contacts & side) != 0;
+    }
+
+    /**
+     * Forget the sides at which this Mazub collides, because terrain or slimes around it may have changed.
+     *
+     * @post | the next call to collidesAt checks its side again
+     */
+    private void forgetContacts() {
+        contactSprite = null;
+        knownContacts = 0;
+    }
+
+    /**
+     * Variables registering the pixel position, the sprite, and the versions of the terrain and the slimes of its
+     *   world for which the contacts of this Mazub are known.
+     */
+    private int contactPixelX, contactPixelY, contactTerrainVersion, contactSlimeVersion;
+    private Sprite contactSprite;
+
+    /**
+     * Variables registering the sides that are checked at the known position, and the ones of those at which
+     *   this Mazub collides.
+     */
+    private int knownContacts, contacts;
 }
\ No newline at end of file
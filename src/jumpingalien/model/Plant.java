@@ -86,4 +86,253 @@ public abstract class Plant extends GameObject {
      * Variable registering the sprite of this Mazub.
      */
     private final Sprite[] sprites;
+
+// #####################################################################################################################
+
+    /**
+     * The time in seconds a dead Plant stays in its world before it is terminated.
+     */
+    static final double DECAY_TIME = 0.6;
+
+    /**
+     * The longest time in seconds of a step of a Plant: the time it needs to move one centimeter.
+     */
+    static final double STEP_TIME = 0.01 / 0.5;
+
+    /**
+     * Return the sum of the time differences of the steps in which a Plant advances the given time.
+     *   The steps follow advanceTime, which counts down the time as a float, so that the sum can differ
+     *   from the given time in the last digits of a float.
+     *
+     * @param time
+     *        The time in seconds to advance.
+     * @param fixedTimeStep
+     *        Whether the Plant integrates the whole time in one step.
+     */
+    static double getSteppedTime(double time, boolean fixedTimeStep) {
+        float dt = (float) time;
+        double result = 0;
+        while (dt > 0) {
+            double timeDifference = (fixedTimeStep || STEP_TIME > dt) ? dt : STEP_TIME;
+            // setTimeDifference does not accept steps of 0.2 seconds or longer.
+            if (timeDifference >= 0.2)
+                timeDifference = 0.2;
+            result += timeDifference;
+            dt -= timeDifference;
+        }
+        return result;
+    }
+
+    /**
+     * Return the timers of this Plant: the time since its last change of direction, the time it has lived
+     *   and the time since it died.
+     */
+    @Raw
+    abstract double[] getTimer();
+
+    /**
+     * Return the maximum time in seconds this Plant can live without being eaten.
+     */
+    @Raw
+    abstract double getLifeTime();
+
+    /**
+     * Return the time in seconds this Plant moves in one direction before it turns around.
+     */
+    @Raw
+    abstract double getTimeShiftDirection();
+
+    /**
+     * Return the time in seconds after which the direction, the dead state or the termination of this Plant
+     *   can change next, if nothing else happens to it.
+     *
+     * @return | if (isDead())
+     *         |    then result == Math.min(getTimeShiftDirection() - getTimer()[0], DECAY_TIME - getTimer()[2])
+     *         |    else result == Math.min(getTimeShiftDirection() - getTimer()[0], getLifeTime() - getTimer()[1])
+     */
+    double getTimeToNextChange() {
+        double[] timer = getTimer();
+        if (isDead())
+            return Math.min(getTimeShiftDirection() - timer[0], DECAY_TIME - timer[2]);
+        return Math.min(getTimeShiftDirection() - timer[0], getLifeTime() - timer[1]);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Check whether this Plant is dormant. A dormant Plant is not advanced by its world every frame: its world
+     *   schedules the next change of direction, death or termination of the Plant and advances it normally only
+     *   in that frame, or when it comes near Mazub. In between, its timers and position are brought up to date
+     *   with the frames that have passed since it fell asleep whenever they are read.
+     */
+    @Basic @Raw
+    public boolean isDormant() {
+        return this.dormant;
+    }
+
+    /**
+     * Make this Plant dormant or awake. A Plant that falls asleep remembers the number of plant frames of its
+     *   world, from which on it has to catch up.
+     *
+     * @param dormant
+     *        Whether this Plant becomes dormant.
+     * @pre | ! dormant || getWorld() != null
+     * @post | new.isDormant() == dormant
+     */
+    void setDormant(boolean dormant) {
+        if (dormant == this.dormant)
+            return;
+        if (dormant) {
+            dormantFrame = getWorld().getNbPlantFrames();
+            getWorld().movePlantSleeper(-1, dormantFrame);
+        } else if (getWorld() != null)
+            getWorld().movePlantSleeper(dormantFrame, -1);
+        this.dormant = dormant;
+    }
+
+    /**
+     * Bring the timers and the position of this dormant Plant up to date with the plant frames of its world.
+     *   A dormant Plant does not change direction, die or leave its world, so the frames are replayed with the
+     *   same steps and the same additions as advanceTime, without the checks advanceTime makes.
+     *
+     * @post | if (isDormant() && getWorld() != null)
+     *       |    then the timers and the position of this Plant are those advanceTime gives it in the plant
+     *       |    frames of its world since it fell asleep or last caught up
+     */
+    void catchUp() {
+        if (!isDormant() || getWorld() == null)
+            return;
+        World world = getWorld();
+        int firstFrame = dormantFrame, nbFrames = world.getNbPlantFrames();
+        if (firstFrame >= nbFrames)
+            return;
+        // Registered first: moving the Plant updates the spatial index, which reads its pixel position again.
+        world.movePlantSleeper(firstFrame, nbFrames);
+        dormantFrame = nbFrames;
+        double[] timer = getTimer();
+        double positionX = super.getPositionX(), positionY = super.getPositionY();
+        for (int frame = firstFrame; frame < nbFrames; frame++) {
+            float dt = world.getPlantFrameTime(frame);
+            timer[1] += dt;
+            while (dt > 0) {
+                setTimeDifference(STEP_TIME);
+                if (world.isFixedPlantFrame(frame) || getTimeDifference() > dt)
+                    setTimeDifference(dt);
+                if (isDead())
+                    timer[2] += getTimeDifference();
+                timer[0] += getTimeDifference();
+                if (!isDead()) {
+                    positionX = positionX + getVelocityX() * getTimeDifference()
+                            + 0.5 * getAccelerationX() * Math.pow(getTimeDifference(), 2);
+                    positionY = positionY + getVelocityY() * getTimeDifference()
+                            + 0.5 * getAccelerationY() * Math.pow(getTimeDifference(), 2);
+                }
+                dt -= getTimeDifference();
+            }
+        }
+        double[] newPosition = new double[]{positionX, positionY};
+        if (!isDead() && canHaveAsActualPosition(newPosition))
+            super.setActualPosition(newPosition);
+    }
+
+    /**
+     * Let the world of this Plant advance it normally again, if it is dormant.
+     *
+     * @effect | if (isDormant() && getWorld() != null)
+     *         |    then getWorld().wakePlant(this)
+     */
+    void wakeUp() {
+        if (isDormant() && getWorld() != null)
+            getWorld().wakePlant(this);
+    }
+
+    /**
+     * Variable registering whether this Plant is dormant.
+     */
+    private boolean dormant;
+
+    /**
+     * Variable registering the first plant frame of the world of this Plant that its dormant state does not
+     *   include yet.
+     */
+    private int dormantFrame;
+
+    /**
+     * Return the actualPosition of this Plant, brought up to date if it is dormant.
+     *
+     * @effect | catchUp()
+     */
+    @Override @Raw
+    public double[] getActualPosition() {
+        catchUp();
+        return super.getActualPosition();
+    }
+
+    /**
+     * Return the horizontal position in meters of this Plant, brought up to date if it is dormant.
+     *
+     * @effect | catchUp()
+     */
+    @Override @Raw
+    public double getPositionX() {
+        catchUp();
+        return super.getPositionX();
+    }
+
+    /**
+     * Return the vertical position in meters of this Plant, brought up to date if it is dormant.
+     *
+     * @effect | catchUp()
+     */
+    @Override @Raw
+    public double getPositionY() {
+        catchUp();
+        return super.getPositionY();
+    }
+
+    /**
+     * Return the pixel column of the left border of this Plant, brought up to date if it is dormant.
+     *
+     * @effect | catchUp()
+     */
+    @Override @Raw
+    public int getPixelX() {
+        catchUp();
+        return super.getPixelX();
+    }
+
+    /**
+     * Return the pixel row of the bottom border of this Plant, brought up to date if it is dormant.
+     *
+     * @effect | catchUp()
+     */
+    @Override @Raw
+    public int getPixelY() {
+        catchUp();
+        return super.getPixelY();
+    }
+
+    /**
+     * Set the actualPosition of this Plant, which is woken up first.
+     *
+     * @effect | wakeUp()
+     * @effect | super.setActualPosition(actualPosition)
+     */
+    @Override @Raw
+    public void setActualPosition(double[] actualPosition) throws IllegalArgumentException {
+        wakeUp();
+        super.setActualPosition(actualPosition);
+    }
+
+    /**
+     * Terminate this Plant, which is woken up first so that it is terminated at its current position.
+     *
+     * @effect | wakeUp()
+     * @effect | super.terminate()
+     */
+    @Override
+    public void terminate() {
+        wakeUp();
+        super.terminate();
+    }
 }
@@ -1,8 +1,11 @@
 package jumpingalien.model;
 
 import be.kuleuven.cs.som.annotate.*;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * A school containing slimes, a world.
@@ -63,10 +66,25 @@ public class School {
 
     /**
      * Return the Slimes of this School.
+     *   The result is a read-only view that follows later changes to the Slimes of this School.
      */
     @Basic @Raw
     public Set<Slime> getSlimes() {
-        return new HashSet<>(slimes);
+        return slimesView;
+    }
+
+    /**
+     * Perform the given action for each Slime of this School.
+     *   The action must not add Slimes to or remove Slimes from this School.
+     *
+     * @param action
+     *        The action to perform.
+     * @effect | for each slime in getSlimes():
+     *         |    action.accept(slime)
+     */
+    public void forEachSlime(Consumer<? super Slime> action) {
+        for (Slime slime : slimes)
+            action.accept(slime);
     }
 
     /**
@@ -124,7 +142,6 @@ public class School {
      *         The Slime to be added.
      * @pre | (slime != null) && (slime.getSchool() == this)
      * @post | hasAsSlime(slime)
-     * @post | SlimeInfo.hasAsSlime(slime)
      * @throws IllegalArgumentException
      *         | hasAsSlime(slime) || slime.isTerminated() || slime.getSchool() == null || slime.getSchool().isTerminated()
      */
@@ -133,7 +150,6 @@ public class School {
         if (hasAsSlime(slime) || slime.isTerminated() || slime.getSchool() == null || slime.getSchool().isTerminated())
             throw new IllegalArgumentException("can't add slime");
         slimes.add(slime);
-        SlimeInfo.addSlime(slime);
     }
 
     /**
@@ -165,6 +181,11 @@ public class School {
      */
     private final Set<Slime> slimes = new HashSet<>();
 
+    /**
+     * Variable referencing a read-only view of the Slimes of this School.
+     */
+    private final Set<Slime> slimesView = Collections.unmodifiableSet(slimes);
+
 // #####################################################################################################################
     
     /**
@@ -211,7 +232,10 @@ public class School {
 // #####################################################################################################################
 
     /**
-     * Add the given amount of hit points to each living slime in this school.µ
+     * Add the given amount of hit points to each living slime in this school.
+     *   The hit points are not added to every slime right away: they are written to the hit-point ledger
+     *   of this school, and each slime applies the entries it has not seen yet when its hit points are read
+     *   or written.
      *
      * @param slime The slime that collided.
      * @param hitPoints The amount of hitpoints that need to be added to each slime.
@@ -220,9 +244,94 @@ public class School {
      *         |        then blob.setHitPoints(blob.getHitPoints() + hitPoints)
      */
     public void addHitpointsToSchool(Slime slime, int hitPoints) {
-        for (Slime blob : getSlimes()) {
-            if (!blob.equals(slime) && !blob.isTerminated())
-                blob.setHitPoints(blob.getHitPoints() + hitPoints);
+        boolean skipSlime = slime != null && slime.getSchool() == this;
+        if (skipSlime)
+            slime.applySchoolHitPoints();
+        addToLedger(hitPoints);
+        if (skipSlime)
+            slime.skipSchoolHitPoints();
+    }
+
+    /**
+     * Return the number of entries in the hit-point ledger of this school.
+     */
+    @Basic @Raw @Model
+    int getLedgerEpoch() {
+        return this.ledgerEpoch;
+    }
+
+    /**
+     * Return the sum of all hit points in the hit-point ledger of this school.
+     */
+    @Basic @Raw @Model
+    int getLedgerOffset() {
+        return this.ledgerOffset;
+    }
+
+    /**
+     * Return the hit points a slime of this school with the given hit points has after applying, one after
+     *   the other and each with the hit points of the slime clamped to 0, the entries of the ledger after
+     *   the given epoch.
+     *   With P(j) the sum of the first j entries, this is max(hitPoints + P(n) - P(k), max{P(n) - P(j) | k < j <= n})
+     *   for k the given epoch and n the current epoch, and the minimum of P(j) is read from a stack of suffix minima.
+     *
+     * @param hitPoints
+     *        The hit points of the slime at the given epoch.
+     * @param epoch
+     *        The epoch up to which the ledger was applied to the slime.
+     * @param offset
+     *        The offset of the ledger at the given epoch.
+     */
+    @Model
+    int applyLedger(int hitPoints, int epoch, int offset) {
+        if (epoch == ledgerEpoch)
+            return hitPoints;
+        int low = 0, high = ledgerStackSize - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ledgerStackEpochs[middle] > epoch)
+                high = middle;
+            else low = middle + 1;
+        }
+        return Math.max(hitPoints + ledgerOffset - offset, ledgerOffset - ledgerStackOffsets[low]);
+    }
+
+    /**
+     * Add the given hit points as a new entry to the ledger of this school.
+     *
+     * @param hitPoints
+     *        The hit points to add to every slime of this school.
+     * @post | new.getLedgerEpoch() == getLedgerEpoch() + 1
+     * @post | new.getLedgerOffset() == getLedgerOffset() + hitPoints
+     */
+    private void addToLedger(int hitPoints) {
+        ledgerEpoch++;
+        ledgerOffset += hitPoints;
+        while (ledgerStackSize > 0 && ledgerStackOffsets[ledgerStackSize - 1] >= ledgerOffset)
+            ledgerStackSize--;
+        if (ledgerStackSize == ledgerStackEpochs.length) {
+            ledgerStackEpochs = Arrays.copyOf(ledgerStackEpochs, 2 * ledgerStackSize);
+            ledgerStackOffsets = Arrays.copyOf(ledgerStackOffsets, 2 * ledgerStackSize);
         }
+        ledgerStackEpochs[ledgerStackSize] = ledgerEpoch;
+        ledgerStackOffsets[ledgerStackSize] = ledgerOffset;
+        ledgerStackSize++;
     }
+
+    /**
+     * Variables registering the number of entries in the hit-point ledger of this school and the sum of those entries.
+     */
+    private int ledgerEpoch, ledgerOffset;
+
+    /**
+     * Variables referencing the stack of suffix minima of the ledger: the epochs j, in increasing order, for which
+     *   the sum of the first j entries is smaller than the sum of the first i entries for every later epoch i,
+     *   together with those sums.
+     */
+    private int[] ledgerStackEpochs = new int[4], ledgerStackOffsets = new int[4];
+
+    /**
+     * Variable registering the number of epochs on the stack of suffix minima of the ledger.
+     */
+    private int ledgerStackSize;
 }
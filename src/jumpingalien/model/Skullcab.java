@@ -1,5 +1,6 @@
 package jumpingalien.model;
 
+import be.kuleuven.cs.som.annotate.*;
 import jumpingalien.util.Sprite;
 
 /**
@@ -96,9 +97,34 @@ public class Skullcab extends Plant {
     }
 
     /**
-     * An array timer who counts the time passed this is used for the sprites. 3de voor uninterupted time
+     * An array timer who counts the time passed this is used for the sprites. The time Mazub has been eating
+     * this Skullcab is kept in the damage store of its world.
      */
-    public double[] timer = new double[]{0, 0, 0, 0};
+    public double[] timer = new double[]{0, 0, 0};
+
+    /**
+     * Return the timer of this Skullcab.
+     */
+    @Override @Basic @Raw
+    double[] getTimer() {
+        return this.timer;
+    }
+
+    /**
+     * Return the maximum time in seconds this Skullcab can live without being eaten.
+     */
+    @Override @Basic @Raw @Immutable
+    double getLifeTime() {
+        return LIFE_TIME;
+    }
+
+    /**
+     * Return the time in seconds this Skullcab moves in one direction before it turns around.
+     */
+    @Override @Basic @Raw
+    double getTimeShiftDirection() {
+        return TIME_SHIFT_DIRECTION;
+    }
 
 // #####################################################################################################################
 
@@ -107,6 +133,7 @@ public class Skullcab extends Plant {
      * the isDead & isTerminated state, the orientztion, the timeDifference and the hitPoints.
      * @param time
      *        Gives the time that had passed since the last advanceTime was called.
+     * @effect | wakeUp()
      * @post | new.timer[1] == old.timer[1] + dt
      * @post | if (getTimeDifference() > dt)
      *       |    then setTimeDifference(dt)
@@ -117,7 +144,7 @@ public class Skullcab extends Plant {
      *         |    then setIsDead(true)
      * @effect | if (timer[1] >= LIFE_TIME || isDead())
      *         |    then setHitPoints(0)
-     * @effect | if ((timer[1] >= LIFE_TIME || isDead()) && timer[2] >= 0.6)
+     * @effect | if ((timer[1] >= LIFE_TIME || isDead()) && timer[2] >= DECAY_TIME)
      *         |    then this.terminate()
      * @post | new.timer[0] == old.timer[0] + dt
      * @effect | if (!isTerminated() && timer[0] > TIME_SHIFT_DIRECTION)
@@ -135,17 +162,18 @@ public class Skullcab extends Plant {
      */
     @Override
     public void advanceTime(double time) {
+        wakeUp();
         float dt = (float) time;
         timer[1] += dt;
         while (dt > 0) {
             setTimeDifference((0.01)/DEFAULT_VERTICAL_VELOCITY);
-            if (getTimeDifference() > dt)
+            if (hasFixedTimeStep() || getTimeDifference() > dt)
                 setTimeDifference(dt);
             if (timer[1] >= LIFE_TIME || isDead()) {
                 timer[2] += getTimeDifference();
                 setIsDead(true);
                 setHitPoints(0);
-                if (timer[2] >= 0.6)
+                if (timer[2] >= DECAY_TIME)
                     this.terminate();
             }
             timer[0]+=getTimeDifference();
@@ -45,8 +45,7 @@ public class Slime extends GameObject {
      * @post | MAX_HORIZONTAL_VELOCITY = 2.5
      * @effect | super(pixelPosition)
      * @effect | this.setId(id)
-     * @effect | SlimeInfo.allIds.put(this, id)
-     * @effect | SlimeInfo.addSlime(this)
+     * @effect | SlimeInfo.addUsedId(id)
      * @effect | this.setSchool(school)
      * @effect | if (getSchool() != null)
      *         |    then getSchool().addSlime(this)
@@ -65,8 +64,7 @@ public class Slime extends GameObject {
         if (!isValidSprites(sprites) || !isValidId(id))
             throw new IllegalArgumentException("Not a valid Slime");
         this.setId(id);
-        SlimeInfo.allIds.put(this, id);
-        SlimeInfo.addSlime(this);
+        SlimeInfo.addUsedId(id);
         setSchool(school);
         if (getSchool()!=null) {
             getSchool().addSlime(this);
@@ -112,7 +110,9 @@ public class Slime extends GameObject {
     public void setSchool(School school) throws IllegalArgumentException {
         if (! isValidSchool(school))
             throw new IllegalArgumentException();
+        applySchoolHitPoints();
         this.school = school;
+        skipSchoolHitPoints();
     }
 
     /**
@@ -134,27 +134,30 @@ public class Slime extends GameObject {
      * @post | ! old.getSchool().hasAsSlime(this)
      * @post | newSchool.hasAsSlime(this)
      * @effect | setSchool(newSchool)
-     * @effect | for each slime in oldSchool:
-     *         |    slime.setHitPoints(slime.getHitPoints() + 1) && this.setHitPoints(getHitPoints() - 1)
-     * @effect | for each slime in newSchool:
-     *         |    slime.setHitPoints(slime.getHitPoints() - 1) && this.setHitPoints(getHitPoints() + 1)
+     * @effect | old.getSchool().addHitpointsToSchool(this, 1)
+     * @effect | newSchool.addHitpointsToSchool(this, -1)
+     * @post | new.getHitPoints() == Math.max(1, Math.max(0, getHitPoints() - (old.getSchool().getNbSlimes() - 1))
+     *       |    + newSchool.getNbSlimes())
      * @throws IllegalArgumentException
      *         | ! canSwitchSchool(newSchool)
      */
     public void switchSchool(School newSchool) throws IllegalArgumentException {
         if (! canSwitchSchool(newSchool))
             throw new IllegalArgumentException("Can't swith school");
-        for (Slime slime : getSchool().getSlimes()) {
-            slime.setHitPoints(slime.getHitPoints() + 1);
-            this.setHitPoints(this.getHitPoints() - 1);
-        }
-        getSchool().removeSlime(this);
+        School oldSchool = getSchool();
+        int nbOldMates = oldSchool.getNbSlimes() - (oldSchool.hasAsSlime(this) ? 1 : 0);
+        oldSchool.addHitpointsToSchool(this, 1);
+        this.setHitPoints(this.getHitPoints() - nbOldMates);
+        oldSchool.removeSlime(this);
         setSchool(newSchool);
         getSchool().addSlime(this);
-        for (Slime slime : newSchool.getSlimes()) {
-            slime.setHitPoints(slime.getHitPoints() - 1);
-            this.setHitPoints(this.getHitPoints() + 1);
-        }
+        newSchool.addHitpointsToSchool(this, -1);
+        this.setHitPoints(this.getHitPoints() + newSchool.getNbSlimes() - 1);
+        // Switching used to take a hit point from every Slime of newSchool, this Slime included, and give one back
+        //   to this Slime each time. At 0 hit points the hit point it took from itself was lost to the clamping at 0,
+        //   so it ended with 1.
+        if (this.getHitPoints() == 0)
+            this.setHitPoints(1);
     }
 
     /**
@@ -162,6 +165,38 @@ public class Slime extends GameObject {
      */
     private School school;
 
+    /**
+     * Apply the entries of the hit-point ledger of the School of this Slime that this Slime has not seen yet.
+     *
+     * @effect | if (getSchool() != null)
+     *         |    then super.setHitPoints(getSchool().applyLedger(super.getHitPoints(), ledgerEpoch, ledgerOffset))
+     */
+    @Raw @Model
+    void applySchoolHitPoints() {
+        if (school != null && ledgerEpoch != school.getLedgerEpoch()) {
+            int hitPoints = school.applyLedger(super.getHitPoints(), ledgerEpoch, ledgerOffset);
+            skipSchoolHitPoints();
+            super.setHitPoints(hitPoints);
+        }
+    }
+
+    /**
+     * Mark all entries of the hit-point ledger of the School of this Slime as seen, without applying them.
+     */
+    @Raw @Model
+    void skipSchoolHitPoints() {
+        if (school != null) {
+            ledgerEpoch = school.getLedgerEpoch();
+            ledgerOffset = school.getLedgerOffset();
+        }
+    }
+
+    /**
+     * Variables registering the epoch and the offset of the hit-point ledger of the School of this Slime
+     *   up to which the ledger is applied to the hit points of this Slime.
+     */
+    private int ledgerEpoch, ledgerOffset;
+
 // #####################################################################################################################
 
     /**
@@ -170,16 +205,12 @@ public class Slime extends GameObject {
      * @effect | super.terminate()
      * @effect | if (getSchool() != null)
      *         |    then getSchool().removeSlime(this)
-     * @effect | if (SlimeInfo.hasAsSlime(this))
-     *         |    then SlimeInfo.removeSlime(this)
      */
     @Override
     public void terminate() {
         super.terminate();
         if (getSchool() != null)
             getSchool().removeSlime(this);
-        if (SlimeInfo.hasAsSlime(this))
-            SlimeInfo.removeSlime(this);
     }
 
 // #####################################################################################################################
@@ -256,6 +287,29 @@ public class Slime extends GameObject {
         return (hitPoints >= 0);
     }
 
+    /**
+     * Return the Hit-Points of this Slime, after applying the pending hit points of its School.
+     *
+     * @effect | applySchoolHitPoints()
+     */
+    @Override
+    public int getHitPoints() {
+        applySchoolHitPoints();
+        return super.getHitPoints();
+    }
+
+    /**
+     * Set the Hit-Points of this Slime, after applying the pending hit points of its School.
+     *
+     * @effect | applySchoolHitPoints()
+     * @effect | super.setHitPoints(hitPoints)
+     */
+    @Override @Raw
+    public void setHitPoints(int hitPoints) {
+        applySchoolHitPoints();
+        super.setHitPoints(hitPoints);
+    }
+
 // #####################################################################################################################
 
    /**
@@ -271,10 +325,10 @@ public class Slime extends GameObject {
     *
     * @param  id
     *         The id to check.
-    * @return | result == (id >= 0) && !SlimeInfo.allIds.containsValue(id)
+    * @return | result == (id >= 0) && !SlimeInfo.isUsedId(id)
     */
-   public static boolean isValidId(Long id) {
-       return (id >= 0) && !SlimeInfo.allIds.containsValue(id);
+   public static boolean isValidId(long id) {
+       return (id >= 0) && !SlimeInfo.isUsedId(id);
    }
 
    /**
@@ -335,18 +389,26 @@ public class Slime extends GameObject {
     private double[] manageNewPosition() {
         if (getWorld() != null && getWorld().horizontalSlimeCollision(this))
             endMoving();
-        if (getWorld() != null && getWorld().isOverlappingOtherSlime(this, new int[]{metersToPixel(calculateNewActualPosition()[0]), getPixelPosition()[1]}))
+        if (getWorld() != null && getWorld().isOverlappingOtherSlime(this, metersToPixel(calculateNewActualPosition()[0]), getPixelY()))
             switchDirection();
         return calculateNewActualPosition();
     }
 
+    /**
+     * Return the magnitude of the horizontal acceleration of this Slime while it moves.
+     */
+    @Basic @Raw @Model
+    double getDefaultHorizontalAcceleration() {
+        return DEFAULT_HORIZONTAL_ACCELERATION;
+    }
+
     /**
      * Manages the new velocity for this Mazub.
      *
      * @return | result == new double[]{getOrientation()*Math.abs(getVelocity()[0] + getAcceleration()[0] * getTimeDifference()), 0}
      */
     private double[] manageNewVelocity() {
-        return new double[]{getOrientation()*Math.abs(getVelocity()[0] + getAcceleration()[0] * getTimeDifference()), 0};
+        return new double[]{getOrientation()*Math.abs(getVelocityX() + getAccelerationX() * getTimeDifference()), 0};
     }
 
     /**
@@ -421,8 +483,8 @@ public class Slime extends GameObject {
         while (dt > 0) {
             if (getHitPoints() == 0)
                 this.terminate();
-            setTimeDifference((0.01)/(Math.sqrt(Math.pow(getVelocity()[0], 2) + Math.pow(getVelocity()[1], 2)) + Math.sqrt(Math.pow(getAcceleration()[0], 2) + Math.pow(getAcceleration()[1], 2))*dt));
-            if (Double.isInfinite(getTimeDifference()) || getTimeDifference() >= dt)
+            setTimeDifference((0.01)/(Math.sqrt(Math.pow(getVelocityX(), 2) + Math.pow(getVelocityY(), 2)) + Math.sqrt(Math.pow(getAccelerationX(), 2) + Math.pow(getAccelerationY(), 2))*dt));
+            if (hasFixedTimeStep() || Double.isInfinite(getTimeDifference()) || getTimeDifference() >= dt)
                 setTimeDifference(dt);
             if (! isTerminated()) {
                 manageMovement();
@@ -1,106 +1,57 @@
 package jumpingalien.model;
 
 import be.kuleuven.cs.som.annotate.*;
-import java.util.*;
 
 /**
- * A class containing a hashMap of all the slimes with their id's.
- *
- * @invar | hasProperSlimes()
+ * A class registering the ids that are used by Slimes.
+ *   The ids are unique over all worlds, because a Slime gets its id when it is created,
+ *   before it belongs to a world. The Slimes themselves are kept by the World and the School they belong to.
  */
 public class SlimeInfo {
 
     /**
-     * Check whether this SlimeInfo has the given Slime as one of its
-     * Slimes.
+     * Check whether the given id is used by a Slime.
      *
-     * @param  slime
-     *         The Slime to check.
+     * @param  id
+     *         The id to check.
      */
-    @Basic @Raw
-    public static boolean hasAsSlime(@Raw Slime slime) {
-      return slimes.contains(slime);
+    @Basic
+    public static boolean isUsedId(long id) {
+        return usedIds.contains(id);
     }
 
     /**
-     * Check whether this SlimeInfo can have the given Slime
-     * as one of its Slimes.
-     *
-     * @param  slime
-     *         The Slime to check.
-     * @return | result == (slime != null)
-     */
-    @Raw
-    public boolean canHaveAsSlime(Slime slime) {
-      return (slime != null);
-    }
-
-    /**
-     * Check whether this SlimeInfo has proper Slimes attached to it.
-     *
-     * @return | for each slime in Slime:
-     *         |   if (hasAsSlime(slime))
-     *         |     then canHaveAsSlime(slime)
+     * Return the number of ids used by Slimes.
      */
-    public boolean hasProperSlimes() {
-        for (Slime slime : slimes) {
-            if (!canHaveAsSlime(slime))
-                return false;
-        }
-        return true;
+    @Basic
+    public static int getNbUsedIds() {
+        return usedIds.size();
     }
 
     /**
-     * Return the number of Slimes associated with this SlimeInfo.
+     * Register the given id as used by a Slime.
      *
-     * @return | result == card({slime:Slime | hasAsSlime({slime)})
+     * @param  id
+     *         The id to register.
+     * @post | isUsedId(id)
      */
-    public int getNbSlimes() {
-      return slimes.size();
+    public static void addUsedId(long id) {
+        usedIds.add(id);
     }
 
     /**
-     * Add the given Slime to the set of Slimes of this SlimeInfo.
+     * Forget all ids used by Slimes created so far, so that they can be used again.
      *
-     * @param  slime
-     *         The Slime to be added.
-     * @pre  | (slime != null)
-     * @post | new.hasAsSlime(slime)
+     * @post | getNbUsedIds() == 0
      */
-    public static void addSlime(@Raw Slime slime) {
-      assert (slime != null);
-      slimes.add(slime);
+    public static void clearUsedIds() {
+        usedIds.clear();
     }
 
     /**
-     * Remove the given Slime from the set of Slimes of this SlimeInfo.
+     * Variable referencing a set collecting the ids used by Slimes.
      *
-     * @param  slime
-     *         The Slime to be removed.
-     * @pre | this.hasAsSlime(slime)
-     * @post | ! new.hasAsSlime(slime)
+     * @invar | usedIds != null
      */
-    @Raw
-    public static void removeSlime(Slime slime) {
-      assert hasAsSlime(slime);
-      slimes.remove(slime);
-    }
-
-    public static Set<Slime> getSlimes() {
-        return slimes;
-    }
-
-    /**
-     * Variable referencing a set collecting all the Slimes
-     * of this SlimeInfo.
-     *
-     * @invar | slimes != null
-     * @invar | for each slime in slimes:
-     *        |   ( (slime != null) && (! slime.isTerminated()) )
-     */
-    private static Set<Slime> slimes = new HashSet<>();
-
-// #####################################################################################################################
-
-    public static HashMap<Slime, Long> allIds = new HashMap<>();
+    private static final LongHashSet usedIds = new LongHashSet();
 }
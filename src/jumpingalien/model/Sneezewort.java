@@ -100,6 +100,30 @@ public class Sneezewort extends Plant{
      */
     private double[] timer = new double[]{0, 0, 0};
 
+    /**
+     * Return the timer of this Sneezewort.
+     */
+    @Override @Basic @Raw
+    double[] getTimer() {
+        return this.timer;
+    }
+
+    /**
+     * Return the maximum time in seconds this Sneezewort can live without being eaten.
+     */
+    @Override @Basic @Raw @Immutable
+    double getLifeTime() {
+        return LIFE_TIME;
+    }
+
+    /**
+     * Return the time in seconds this Sneezewort moves in one direction before it turns around.
+     */
+    @Override @Basic @Raw
+    double getTimeShiftDirection() {
+        return TIME_SHIFT_DIRECTION;
+    }
+
 // #####################################################################################################################
 
     /**
@@ -108,6 +132,7 @@ public class Sneezewort extends Plant{
      *
      * @param time
      *        Gives the time that had passed since the last advanceTime was called.
+     * @effect | wakeUp()
      * @post | new.timer[1] == timer[1] + dt
      * @post | while (dt > 0)
      *       |    new.timer[0] == timer[0]+pixelTime
@@ -121,7 +146,7 @@ public class Sneezewort extends Plant{
      * @post | while (dt > 0)
      *       |    if (timer[1] >= LIFE_TIME || isDead())
      *       |       then new.timer[2] = old.timer[2] + pixelTime
-     * @effect | if (timer[2] >= 0.6 && (timer[1] >= LIFE_TIME || isDead()))
+     * @effect | if (timer[2] >= DECAY_TIME && (timer[1] >= LIFE_TIME || isDead()))
      *         |    then this.terminate()
      * @effect | if (!isTerminated() && timer[0] > TIME_SHIFT_DIRECTION)
      *         |    then setOrientation(-getOrientation())
@@ -135,17 +160,18 @@ public class Sneezewort extends Plant{
      */
     @Override
     public void advanceTime(double time) {
+        wakeUp();
         float dt = (float) time;
         timer[1]+=dt;
         while (dt > 0) {
             setTimeDifference((0.01)/DEFAULT_HORIZONTAL_VELOCITY);
-            if (getTimeDifference() > dt)
+            if (hasFixedTimeStep() || getTimeDifference() > dt)
                 setTimeDifference(dt);
             if (timer[1] >= LIFE_TIME || isDead()) {
                 timer[2] += getTimeDifference();
                 setIsDead(true);
                 setHitPoints(0);
-                if (timer[2] >= 0.6)
+                if (timer[2] >= DECAY_TIME)
                     this.terminate();
             }
             timer[0]+=getTimeDifference();
@@ -156,7 +182,7 @@ public class Sneezewort extends Plant{
                     timer[0] -= TIME_SHIFT_DIRECTION;
                 }
 
-                double[] newPosition = new double[]{calculateNewActualPosition()[0], getActualPosition()[1]};
+                double[] newPosition = new double[]{calculateNewActualPosition()[0], getPositionY()};
                 if (canHaveAsActualPosition(newPosition)) {
                     setActualPosition(newPosition);
                 } else this.terminate();
@@ -0,0 +1,303 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.util.Sprite;
+import java.util.*;
+
+/**
+ * A uniform grid of cells used by a world to find the GameObjects near a pixel square without looking at all of them.
+ *   Every GameObject is registered in the cells covered by its pixel position and the largest of its sprites,
+ *   so that its entry stays valid whichever sprite it shows. The answers of the queries are candidates:
+ *   the caller still has to test the exact overlap.
+ *
+ * @invar | getCellSize() > 0
+ */
+public class SpatialIndex {
+
+    /**
+     * Initialize this new SpatialIndex for a world with the given dimensions in pixels.
+     *
+     * @param width
+     *        The width of the world in pixels.
+     * @param height
+     *        The height of the world in pixels.
+     * @param cellSize
+     *        The width and height of a cell in pixels.
+     * @post | new.getCellSize() == cellSize
+     * @post | new.getNbGameObjects() == 0
+     * @throws IllegalArgumentException
+     *         | cellSize <= 0
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SpatialIndex(int width, int height, int cellSize) throws IllegalArgumentException {
+        if (cellSize <= 0)
+            throw new IllegalArgumentException("Not a valid cell size");
+        this.cellSize = cellSize;
+        this.nbCellsX = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.nbCellsY = Math.max(1, (height + cellSize - 1) / cellSize);
+        this.cells = new ArrayList[nbCellsX * nbCellsY];
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the width and height of the cells of this index in pixels.
+     */
+    @Basic @Immutable
+    public int getCellSize() {
+        return this.cellSize;
+    }
+
+    /**
+     * Variable registering the width and height of the cells of this index in pixels.
+     */
+    private final int cellSize;
+
+    /**
+     * Return the number of cells of this index in the horizontal direction.
+     */
+    @Basic @Immutable
+    public int getNbCellsX() {
+        return this.nbCellsX;
+    }
+
+    /**
+     * Return the number of cells of this index in the vertical direction.
+     */
+    @Basic @Immutable
+    public int getNbCellsY() {
+        return this.nbCellsY;
+    }
+
+    /**
+     * Variables registering the number of cells in the horizontal and vertical direction.
+     */
+    private final int nbCellsX, nbCellsY;
+
+    /**
+     * Return the column of the cell that contains the given pixel column, clamped to the cells of this index.
+     */
+    int cellX(int pixelX) {
+        return Math.min(Math.max(Math.floorDiv(pixelX, cellSize), 0), nbCellsX - 1);
+    }
+
+    /**
+     * Return the row of the cell that contains the given pixel row, clamped to the cells of this index.
+     */
+    int cellY(int pixelY) {
+        return Math.min(Math.max(Math.floorDiv(pixelY, cellSize), 0), nbCellsY - 1);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the number of GameObjects registered in this index.
+     */
+    public int getNbGameObjects() {
+        return entries.size();
+    }
+
+    /**
+     * Check whether the given GameObject is registered in this index.
+     *
+     * @param gameObject
+     *        The GameObject to check.
+     */
+    public boolean hasAsGameObject(GameObject gameObject) {
+        return entries.containsKey(gameObject);
+    }
+
+    /**
+     * Register the given GameObject in the cells covered by its current pixel position and its largest sprite.
+     *
+     * @param gameObject
+     *        The GameObject to register.
+     * @post | new.hasAsGameObject(gameObject)
+     */
+    public void add(GameObject gameObject) {
+        if (hasAsGameObject(gameObject)) {
+            update(gameObject);
+            return;
+        }
+        Entry entry = new Entry(gameObject);
+        entries.put(gameObject, entry);
+        computeCells(entry);
+        insert(entry);
+    }
+
+    /**
+     * Move the given GameObject to the cells covered by its current pixel position, if it is registered in this index.
+     *
+     * @param gameObject
+     *        The GameObject that has moved.
+     */
+    public void update(GameObject gameObject) {
+        Entry entry = entries.get(gameObject);
+        if (entry == null)
+            return;
+        int minX = entry.minCellX, minY = entry.minCellY, maxX = entry.maxCellX, maxY = entry.maxCellY;
+        computeCells(entry);
+        if (minX != entry.minCellX || minY != entry.minCellY || maxX != entry.maxCellX || maxY != entry.maxCellY) {
+            removeFromCells(entry, minX, minY, maxX, maxY);
+            insert(entry);
+        }
+    }
+
+    /**
+     * Remove the given GameObject from this index.
+     *
+     * @param gameObject
+     *        The GameObject to remove.
+     * @post | ! new.hasAsGameObject(gameObject)
+     */
+    public void remove(GameObject gameObject) {
+        Entry entry = entries.remove(gameObject);
+        if (entry != null)
+            removeFromCells(entry, entry.minCellX, entry.minCellY, entry.maxCellX, entry.maxCellY);
+    }
+
+    /**
+     * Remove all GameObjects from this index.
+     *
+     * @post | new.getNbGameObjects() == 0
+     */
+    public void clear() {
+        entries.clear();
+        Arrays.fill(cells, null);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Add every registered GameObject of the given class whose cells overlap with the cells of the given
+     * pixel square to the given collection, each of them once.
+     *
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
+     * @param objectType
+     *        The class the GameObjects must be an instance of, or null for any GameObject.
+     * @param result
+     *        The collection to add the GameObjects to.
+     * @post | for each gameObject in the index:
+     *       |    if (gameObject overlaps the square && (objectType == null || objectType.isInstance(gameObject)))
+     *       |       then result.contains(gameObject)
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameObject> void collect(int pixelLeft, int pixelBottom, int pixelRight, int pixelTop,
+                                                Class<T> objectType, Collection<? super T> result) {
+        if (pixelRight < pixelLeft || pixelTop < pixelBottom)
+            return;
+        int minX = cellX(pixelLeft), minY = cellY(pixelBottom), maxX = cellX(pixelRight), maxY = cellY(pixelTop);
+        for (int y = minY; y <= maxY; y++)
+            for (int x = minX; x <= maxX; x++) {
+                ArrayList<Entry> cell = cells[x + y * nbCellsX];
+                if (cell == null)
+                    continue;
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+                    // Report an entry only in the first cell the entry and the square have in common.
+                    if (x == Math.max(entry.minCellX, minX) && y == Math.max(entry.minCellY, minY)
+                            && (objectType == null || objectType.isInstance(entry.gameObject)))
+                        result.add(objectType == null ? (T) entry.gameObject : objectType.cast(entry.gameObject));
+                }
+            }
+    }
+
+    /**
+     * Add every registered GameObject of the given class whose cells overlap with the cells within the given
+     * distance of the given pixel to the given collection.
+     *
+     * @param pixelX
+     *        The pixel column of the point.
+     * @param pixelY
+     *        The pixel row of the point.
+     * @param distance
+     *        The distance in pixels around the point to search.
+     * @param objectType
+     *        The class the GameObjects must be an instance of, or null for any GameObject.
+     * @param result
+     *        The collection to add the GameObjects to.
+     * @effect | collect(pixelX - distance, pixelY - distance, pixelX + distance, pixelY + distance, objectType, result)
+     */
+    public <T extends GameObject> void collectNear(int pixelX, int pixelY, int distance, Class<T> objectType,
+                                                    Collection<? super T> result) {
+        collect(pixelX - distance, pixelY - distance, pixelX + distance, pixelY + distance, objectType, result);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Compute the cells covered by the GameObject of the given entry.
+     */
+    private void computeCells(Entry entry) {
+        int pixelX = entry.gameObject.getPixelX(), pixelY = entry.gameObject.getPixelY();
+        entry.minCellX = cellX(pixelX);
+        entry.minCellY = cellY(pixelY);
+        entry.maxCellX = cellX(pixelX + entry.width);
+        entry.maxCellY = cellY(pixelY + entry.height);
+    }
+
+    /**
+     * Insert the given entry in the cells it covers.
+     */
+    @SuppressWarnings("unchecked")
+    private void insert(Entry entry) {
+        for (int y = entry.minCellY; y <= entry.maxCellY; y++)
+            for (int x = entry.minCellX; x <= entry.maxCellX; x++) {
+                int index = x + y * nbCellsX;
+                if (cells[index] == null)
+                    cells[index] = new ArrayList<>(4);
+                cells[index].add(entry);
+            }
+    }
+
+    /**
+     * Remove the given entry from the given block of cells.
+     */
+    private void removeFromCells(Entry entry, int minX, int minY, int maxX, int maxY) {
+        for (int y = minY; y <= maxY; y++)
+            for (int x = minX; x <= maxX; x++) {
+                ArrayList<Entry> cell = cells[x + y * nbCellsX];
+                if (cell != null)
+                    cell.remove(entry);
+            }
+    }
+
+    /**
+     * A GameObject together with the block of cells it is registered in.
+     */
+    private static class Entry {
+
+        Entry(GameObject gameObject) {
+            this.gameObject = gameObject;
+            int width = 0, height = 0;
+            for (Sprite sprite : gameObject.getSprites()) {
+                width = Math.max(width, sprite.getWidth());
+                height = Math.max(height, sprite.getHeight());
+            }
+            this.width = width;
+            this.height = height;
+        }
+
+        final GameObject gameObject;
+        final int width, height;
+        int minCellX, minCellY, maxCellX, maxCellY;
+    }
+
+    /**
+     * Variable referencing the entry of every registered GameObject.
+     */
+    private final Map<GameObject, Entry> entries = new HashMap<>();
+
+    /**
+     * Variable referencing the entries registered in every cell, row by row starting at the bottom.
+     *   A cell that never held an entry is null.
+     */
+    private final ArrayList<Entry>[] cells;
+}
@@ -0,0 +1,343 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class storing the geologicalFeature of every tile of a world, using one byte per tile.
+ *   Next to the tiles, the grid keeps a summed-area table for every geologicalFeature other than AIR
+ *   that occurs in it, so that the features inside a block of tiles can be found with four reads per feature.
+ *   A table is rebuilt on the first query after its feature changed, so that painting many tiles one by one
+ *   costs one rebuild instead of one update of the table per tile.
+ *
+ * @invar | getNbTilesX() > 0 && getNbTilesY() > 0
+ * @invar | getNbTiles() == getNbTilesX() * getNbTilesY()
+ */
+public class TerrainGrid {
+
+    /**
+     * Initialize this new TerrainGrid with the given number of tiles, all of them AIR.
+     *
+     * @param nbTilesX
+     *        The number of tiles in the horizontal direction.
+     * @param nbTilesY
+     *        The number of tiles in the vertical direction.
+     * @post | new.getNbTilesX() == nbTilesX
+     * @post | new.getNbTilesY() == nbTilesY
+     * @post | for each tileIndex in 0..getNbTiles()-1:
+     *       |    new.getGeologicalFeature(tileIndex) == GeologicalFeature.AIR.getValue()
+     * @post | new.getVersion() == 0
+     */
+    @Raw
+    public TerrainGrid(int nbTilesX, int nbTilesY) {
+        this.nbTilesX = nbTilesX;
+        this.nbTilesY = nbTilesY;
+        this.tiles = new byte[nbTilesX * nbTilesY];
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the number of tiles in the horizontal direction.
+     */
+    @Basic @Immutable
+    public int getNbTilesX() {
+        return this.nbTilesX;
+    }
+
+    /**
+     * Variable registering the number of tiles in the horizontal direction.
+     */
+    private final int nbTilesX;
+
+    /**
+     * Return the number of tiles in the vertical direction.
+     */
+    @Basic @Immutable
+    public int getNbTilesY() {
+        return this.nbTilesY;
+    }
+
+    /**
+     * Variable registering the number of tiles in the vertical direction.
+     */
+    private final int nbTilesY;
+
+    /**
+     * Return the total number of tiles in this grid.
+     *
+     * @return | result == getNbTilesX() * getNbTilesY()
+     */
+    public int getNbTiles() {
+        return tiles.length;
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Check whether the given tileIndex lies inside this grid.
+     *
+     * @param tileIndex
+     *        The tileIndex to check.
+     * @return | result == tileIndex >= 0 && tileIndex < getNbTiles()
+     */
+    public boolean isValidTileIndex(int tileIndex) {
+        return tileIndex >= 0 && tileIndex < tiles.length;
+    }
+
+    /**
+     * Return the value of the geologicalFeature of the tile with the given tileIndex.
+     *
+     * @param tileIndex
+     *        The index of the tile.
+     * @return | if (isValidTileIndex(tileIndex))
+     *         |    then result == the stored value of the tile
+     *         |    else then result == GeologicalFeature.AIR.getValue()
+     */
+    public int getGeologicalFeature(int tileIndex) {
+        if (!isValidTileIndex(tileIndex))
+            return GeologicalFeature.AIR.getValue();
+        return tiles[tileIndex];
+    }
+
+    /**
+     * Set the tile with the given tileIndex to the given value of a geologicalFeature.
+     *
+     * @param geologicalFeature
+     *        The value of the new geologicalFeature.
+     * @param tileIndex
+     *        The index of the tile.
+     * @pre | geologicalFeature >= 0 && geologicalFeature <= 5
+     * @post | if (isValidTileIndex(tileIndex))
+     *       |    then new.getGeologicalFeature(tileIndex) == geologicalFeature
+     * @post | if (isValidTileIndex(tileIndex) && getGeologicalFeature(tileIndex) != geologicalFeature)
+     *       |    then new.getVersion() == getVersion() + 1
+     */
+    public void setGeologicalFeature(int geologicalFeature, int tileIndex) {
+        assert geologicalFeature >= 0 && geologicalFeature <= 5;
+        if (isValidTileIndex(tileIndex) && tiles[tileIndex] != geologicalFeature) {
+            staleSumTables |= (1 << tiles[tileIndex]) | (1 << geologicalFeature);
+            tiles[tileIndex] = (byte) geologicalFeature;
+            version++;
+        }
+    }
+
+    /**
+     * Set the first tiles of this grid to the given values of geologicalFeatures.
+     *
+     * @param geologicalFeatures
+     *        The values of the new geologicalFeatures, row by row starting at the bottom.
+     * @pre | for each value in geologicalFeatures:
+     *      |    value >= 0 && value <= 5
+     * @post | for each tileIndex in 0..Math.min(geologicalFeatures.length, getNbTiles())-1:
+     *       |    new.getGeologicalFeature(tileIndex) == geologicalFeatures[tileIndex]
+     * @post | new.getVersion() == getVersion() + 1
+     */
+    public void setGeologicalFeatures(int[] geologicalFeatures) {
+        int length = Math.min(geologicalFeatures.length, tiles.length);
+        for (int i = 0; i < length; i++) {
+            assert geologicalFeatures[i] >= 0 && geologicalFeatures[i] <= 5;
+            tiles[i] = (byte) geologicalFeatures[i];
+        }
+        staleSumTables = ALL_SUM_TABLES;
+        version++;
+    }
+
+    /**
+     * Return the number of times the tiles of this grid have changed. Whoever remembers something about the tiles
+     *   can compare this number with the one it saw to know whether that is still true.
+     */
+    @Basic
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Variable registering the number of times the tiles of this grid have changed.
+     */
+    private int version;
+
+    /**
+     * Check whether one of the tiles in the given block of tiles has a geologicalFeature whose bit is set in the given mask.
+     *
+     * @param mask
+     *        The bitmask of the geologicalFeatures to look for.
+     * @param firstTileX
+     *        The first tile column of the block.
+     * @param lastTileX
+     *        The last tile column of the block.
+     * @param firstTileY
+     *        The first tile row of the block.
+     * @param lastTileY
+     *        The last tile row of the block.
+     * @return | for each tileX in firstTileX..lastTileX:
+     *         |    for each tileY in firstTileY..lastTileY:
+     *         |       if ((GeologicalFeature.maskOf(getGeologicalFeature(tileX + tileY*getNbTilesX())) & mask) != 0)
+     *         |          then result == true
+     *         | result == false
+     */
+    public boolean containsFeature(int mask, int firstTileX, int lastTileX, int firstTileY, int lastTileY) {
+        for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+            int rowStart = tileY * nbTilesX;
+            for (int tileX = firstTileX; tileX <= lastTileX; tileX++)
+                if ((GeologicalFeature.maskOf(getGeologicalFeature(rowStart + tileX)) & mask) != 0)
+                    return true;
+        }
+        return false;
+    }
+
+    /**
+     * Return a bitmask with the bit of every geologicalFeature that occurs in the given block of tiles.
+     *   A tile column outside the grid wraps onto the neighbouring row, the same way a tile index does,
+     *   and tiles that still lie outside the grid count as AIR.
+     *
+     * @param firstTileX
+     *        The first tile column of the block.
+     * @param lastTileX
+     *        The last tile column of the block.
+     * @param firstTileY
+     *        The first tile row of the block.
+     * @param lastTileY
+     *        The last tile row of the block.
+     * @return | for each tileX in firstTileX..lastTileX:
+     *         |    for each tileY in firstTileY..lastTileY:
+     *         |       (result & GeologicalFeature.maskOf(getGeologicalFeature(tileX + tileY*getNbTilesX()))) != 0
+     *         | for each value in 0..5:
+     *         |    if ((result & GeologicalFeature.maskOf(value)) != 0)
+     *         |       then containsFeature(GeologicalFeature.maskOf(value), firstTileX, lastTileX, firstTileY, lastTileY)
+     */
+    public int getFeatureMask(int firstTileX, int lastTileX, int firstTileY, int lastTileY) {
+        if (lastTileX < firstTileX || lastTileY < firstTileY)
+            return 0;
+        int mask = 0;
+        int tileX = firstTileX;
+        while (tileX <= lastTileX) {
+            int wrap = Math.floorDiv(tileX, nbTilesX);
+            int segmentEnd = Math.min(lastTileX, (wrap + 1) * nbTilesX - 1);
+            mask |= getFeatureMaskInGrid(tileX - wrap * nbTilesX, segmentEnd - wrap * nbTilesX, firstTileY + wrap, lastTileY + wrap);
+            tileX = segmentEnd + 1;
+        }
+        return mask;
+    }
+
+    /**
+     * Return a bitmask with the bit of every geologicalFeature that occurs in the given block of tiles,
+     * whose columns lie inside this grid.
+     *
+     * @pre | 0 <= firstTileX && firstTileX <= lastTileX && lastTileX < getNbTilesX()
+     * @pre | firstTileY <= lastTileY
+     */
+    private int getFeatureMaskInGrid(int firstTileX, int lastTileX, int firstTileY, int lastTileY) {
+        int mask = 0;
+        int fromY = Math.max(firstTileY, 0), toY = Math.min(lastTileY, nbTilesY - 1);
+        if (fromY != firstTileY || toY != lastTileY)
+            mask |= GeologicalFeature.AIR.getMask();
+        if (fromY > toY)
+            return mask;
+        if (staleSumTables != 0)
+            rebuildSumTables();
+        int area = (lastTileX - firstTileX + 1) * (toY - fromY + 1);
+        int stride = nbTilesX + 1;
+        int lowLeft = firstTileX + fromY * stride, lowRight = lastTileX + 1 + fromY * stride;
+        int highLeft = firstTileX + (toY + 1) * stride, highRight = lastTileX + 1 + (toY + 1) * stride;
+        for (int value = 1; value < sumTables.length; value++) {
+            int[] table = sumTables[value];
+            if (table != null) {
+                int count = table[highRight] - table[highLeft] - table[lowRight] + table[lowLeft];
+                if (count > 0) {
+                    mask |= GeologicalFeature.maskOf(value);
+                    area -= count;
+                }
+            }
+        }
+        if (area > 0)
+            mask |= GeologicalFeature.AIR.getMask();
+        return mask;
+    }
+
+    /**
+     * Rebuild the summed-area tables of the geologicalFeatures other than AIR whose tiles changed since they were
+     *   last built. The table of a feature that no longer occurs is dropped.
+     *
+     * @post | the summed-area table of every geologicalFeature other than AIR agrees with the tiles of this grid
+     */
+    private void rebuildSumTables() {
+        int stride = nbTilesX + 1;
+        for (int value = 1; value < sumTables.length; value++) {
+            if ((staleSumTables & (1 << value)) == 0)
+                continue;
+            boolean occurs = false;
+            for (byte tile : tiles)
+                if (tile == value) {
+                    occurs = true;
+                    break;
+                }
+            if (!occurs) {
+                sumTables[value] = null;
+                continue;
+            }
+            if (sumTables[value] == null)
+                sumTables[value] = new int[stride * (nbTilesY + 1)];
+            // Row 0 and column 0 of a table stay 0, every other entry is overwritten.
+            int[] table = sumTables[value];
+            for (int tileY = 0; tileY < nbTilesY; tileY++) {
+                int rowSum = 0;
+                for (int tileX = 0; tileX < nbTilesX; tileX++) {
+                    if (tiles[tileX + tileY * nbTilesX] == value)
+                        rowSum++;
+                    table[tileX + 1 + (tileY + 1) * stride] = table[tileX + 1 + tileY * stride] + rowSum;
+                }
+            }
+        }
+        staleSumTables = 0;
+    }
+
+    /**
+     * Variable referencing the summed-area table of every geologicalFeature, indexed by its value.
+     *   Entry (x, y) of a table, stored at x + y*(getNbTilesX()+1), counts the tiles with that feature
+     *   in the columns below x and the rows below y. The table of a feature that never occurred is null.
+     */
+    private final int[][] sumTables = new int[6][];
+
+    /**
+     * Variable registering, with one bit per value of a geologicalFeature, the summed-area tables that no longer
+     *   agree with the tiles of this grid.
+     */
+    private int staleSumTables;
+
+    /**
+     * The bits of the summed-area tables of all the geologicalFeatures other than AIR.
+     */
+    private static final int ALL_SUM_TABLES = 0b111110;
+
+    /**
+     * Return the values of all the tiles of this grid as a new array.
+     *
+     * @return | for each tileIndex in 0..getNbTiles()-1:
+     *         |    result[tileIndex] == getGeologicalFeature(tileIndex)
+     */
+    public int[] toArray() {
+        int[] result = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++)
+            result[i] = tiles[i];
+        return result;
+    }
+
+    /**
+     * Return the number of bytes used to store the tiles and the summed-area tables of this grid, after the
+     *   tables have been brought up to date with the tiles.
+     */
+    public long getStorageSize() {
+        if (staleSumTables != 0)
+            rebuildSumTables();
+        long size = tiles.length;
+        for (int[] table : sumTables)
+            if (table != null)
+                size += 4L * table.length;
+        return size;
+    }
+
+    /**
+     * Variable registering the value of the geologicalFeature of each tile, row by row starting at the bottom.
+     */
+    private final byte[] tiles;
+}
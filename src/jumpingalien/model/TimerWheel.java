@@ -0,0 +1,402 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A hierarchical timer wheel: a clock together with the timers that expire at a given time on that clock.
+ *   Time is cut into ticks. A timer that expires within 64 ticks waits in one of the 64 slots of the lowest level,
+ *   one that expires later in a slot of a higher level, whose slots span 64 times as many ticks. Every time the
+ *   lowest level has gone round, the next slot of the level above is spread over the levels below it.
+ *   Advancing the clock therefore only looks at the timers of the ticks it passes, instead of at every timer.
+ *   The ticks only decide where a timer waits: a timer expires exactly when the clock reaches its deadline.
+ *
+ * @invar | getTickLength() > 0
+ * @invar | getNbPendingTimers() >= 0
+ */
+public class TimerWheel {
+
+    /**
+     * Initialize this new TimerWheel with its clock at zero and the given length of a tick.
+     *
+     * @param tickLength
+     *        The length of a tick in seconds.
+     * @post | new.getTickLength() == tickLength
+     * @post | new.getTime() == 0
+     * @post | new.getNbPendingTimers() == 0
+     * @throws IllegalArgumentException
+     *         | ! (tickLength > 0) || Double.isInfinite(tickLength)
+     */
+    public TimerWheel(double tickLength) throws IllegalArgumentException {
+        if (! (tickLength > 0) || Double.isInfinite(tickLength))
+            throw new IllegalArgumentException("Not a valid tick length");
+        this.tickLength = tickLength;
+        this.slots = new Timer[NB_LEVELS][NB_SLOTS];
+    }
+
+    /**
+     * The length in seconds of a tick of the wheels of the game. A frame of the game spans a few ticks and
+     *   the shortest timer of the game a dozen.
+     */
+    public static final double DEFAULT_TICK_LENGTH = 1.0 / 256;
+
+// #####################################################################################################################
+
+    /**
+     * The kinds of timers the GameObjects and the worlds of the game use.
+     */
+    public enum Type {
+        /**
+         * A timer during which Mazub cannot be hurt by slimes.
+         */
+        INVULNERABILITY,
+        /**
+         * A timer that ends the game when Mazub has been dead for a while.
+         */
+        DEATH_ANIMATION,
+        /**
+         * A timer that decides which sprite is displayed.
+         */
+        SPRITE_ANIMATION,
+        /**
+         * A timer that wakes a dormant plant at its next change of direction, death or termination.
+         */
+        PLANT_LIFETIME
+    }
+
+    /**
+     * A handle to a timer of a TimerWheel. A handle can be scheduled again after it has expired or was cancelled,
+     *   so that an object can keep one handle per timer it needs.
+     */
+    public static class Timer {
+
+        private Timer(Type type, Runnable callback) {
+            this.type = type;
+            this.callback = callback;
+        }
+
+        /**
+         * Return the kind of this timer.
+         */
+        @Basic @Immutable
+        public Type getType() {
+            return this.type;
+        }
+
+        /**
+         * Return the time on the clock of its wheel at which this timer expires or expired.
+         */
+        @Basic
+        public double getDeadline() {
+            return this.deadline;
+        }
+
+        /**
+         * Check whether this timer is waiting to expire.
+         */
+        @Basic
+        public boolean isPending() {
+            return this.level >= 0;
+        }
+
+        private final Type type;
+        private final Runnable callback;
+        private double deadline;
+        private long tick;
+        private int level = -1, slot;
+        private Timer previous, next, nextDue;
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the time in seconds on the clock of this TimerWheel.
+     */
+    @Basic
+    public double getTime() {
+        return this.time;
+    }
+
+    /**
+     * Return the length of a tick of this TimerWheel in seconds.
+     */
+    @Basic @Immutable
+    public double getTickLength() {
+        return this.tickLength;
+    }
+
+    /**
+     * Return the number of timers of this TimerWheel that are waiting to expire.
+     */
+    public int getNbPendingTimers() {
+        return this.nbPendingTimers;
+    }
+
+    /**
+     * Return a new handle to a timer of the given kind that is not pending yet.
+     *
+     * @param type
+     *        The kind of the timer.
+     * @param callback
+     *        The action to perform when the timer expires, or null if there is none.
+     * @return | result.getType() == type && ! result.isPending()
+     */
+    public Timer createTimer(Type type, Runnable callback) {
+        return new Timer(type, callback);
+    }
+
+    /**
+     * Return a new timer of the given kind that expires after the given delay.
+     *
+     * @param type
+     *        The kind of the timer.
+     * @param delay
+     *        The time in seconds after which the timer expires.
+     * @param callback
+     *        The action to perform when the timer expires, or null if there is none.
+     * @effect | schedule(result, delay)
+     */
+    public Timer schedule(Type type, double delay, Runnable callback) {
+        Timer timer = createTimer(type, callback);
+        schedule(timer, delay);
+        return timer;
+    }
+
+    /**
+     * Let the given timer expire after the given delay, whether it was pending or not.
+     *
+     * @param timer
+     *        The timer to schedule.
+     * @param delay
+     *        The time in seconds after which the timer expires.
+     * @effect | scheduleAt(timer, getTime() + delay)
+     */
+    public void schedule(Timer timer, double delay) {
+        scheduleAt(timer, getTime() + delay);
+    }
+
+    /**
+     * Let the given timer expire when the clock of this TimerWheel reaches the given time, whether it was
+     *   pending or not. A timer with a deadline that has passed expires when the clock is advanced next.
+     *
+     * @param timer
+     *        The timer to schedule.
+     * @param deadline
+     *        The time on the clock of this wheel at which the timer expires.
+     * @post | timer.isPending()
+     * @post | timer.getDeadline() == deadline
+     * @throws IllegalArgumentException
+     *         | Double.isNaN(deadline)
+     */
+    public void scheduleAt(Timer timer, double deadline) throws IllegalArgumentException {
+        if (Double.isNaN(deadline))
+            throw new IllegalArgumentException("Not a valid deadline");
+        if (timer.isPending())
+            unlink(timer);
+        timer.deadline = deadline;
+        timer.tick = Math.max(toTick(deadline), currentTick);
+        insert(timer);
+    }
+
+    /**
+     * Stop the given timer without performing its action.
+     *
+     * @param timer
+     *        The timer to cancel.
+     * @post | ! timer.isPending()
+     */
+    public void cancel(Timer timer) {
+        if (timer.isPending())
+            unlink(timer);
+        else
+            timer.level = -1;
+    }
+
+    /**
+     * Advance the clock of this TimerWheel with the given time and let every timer whose deadline is reached expire,
+     *   earliest deadline first.
+     *
+     * @param dt
+     *        The time in seconds to advance.
+     * @effect | advanceTo(getTime() + dt)
+     */
+    public void advance(double dt) {
+        advanceTo(time + dt);
+    }
+
+    /**
+     * Set the clock of this TimerWheel to the given time, if it is later than the current time, and let every
+     *   timer whose deadline is reached expire, earliest deadline first. Timers scheduled by the actions of expiring
+     *   timers expire as well if their deadline is reached.
+     *
+     * @param newTime
+     *        The new time of the clock.
+     * @post | new.getTime() == Math.max(getTime(), newTime)
+     * @post | for each timer that was pending:
+     *       |    timer.getDeadline() <= new.getTime() == ! timer.isPending()
+     */
+    public void advanceTo(double newTime) {
+        if (newTime > time)
+            time = newTime;
+        long lastTick = toTick(time);
+        while (true) {
+            expireDue();
+            if (currentTick >= lastTick)
+                return;
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0)
+                cascade(1);
+        }
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the tick that contains the given time.
+     */
+    private long toTick(double time) {
+        double tick = Math.floor(time / tickLength);
+        return (tick >= Long.MAX_VALUE) ? Long.MAX_VALUE : (long) tick;
+    }
+
+    /**
+     * Put the given timer in the slot of its tick, at the lowest level that reaches that tick from the current tick.
+     */
+    private void insert(Timer timer) {
+        long delta = timer.tick - currentTick;
+        int level = 0;
+        while (level < NB_LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1))))
+            level++;
+        // A tick beyond the highest level waits in the farthest slot and is spread again when that slot comes up.
+        long tick = (level == NB_LEVELS - 1 && delta >= (1L << (SLOT_BITS * NB_LEVELS)))
+                ? currentTick + (1L << (SLOT_BITS * NB_LEVELS)) - (1L << (SLOT_BITS * level)) : timer.tick;
+        timer.level = level;
+        timer.slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timer.previous = null;
+        timer.next = slots[level][timer.slot];
+        if (timer.next != null)
+            timer.next.previous = timer;
+        slots[level][timer.slot] = timer;
+        nbPendingTimers++;
+    }
+
+    /**
+     * Remove the given pending timer from its slot.
+     */
+    private void unlink(Timer timer) {
+        if (timer.previous != null)
+            timer.previous.next = timer.next;
+        else
+            slots[timer.level][timer.slot] = timer.next;
+        if (timer.next != null)
+            timer.next.previous = timer.previous;
+        timer.previous = timer.next = null;
+        timer.level = -1;
+        nbPendingTimers--;
+    }
+
+    /**
+     * Spread the timers of the slot of the given level that the current tick has reached over the levels below it,
+     *   after doing the same for the level above if this level has gone round as well.
+     */
+    private void cascade(int level) {
+        if (level >= NB_LEVELS)
+            return;
+        int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (slot == 0)
+            cascade(level + 1);
+        Timer timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.level = -1;
+            timer.previous = timer.next = null;
+            nbPendingTimers--;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    /**
+     * Let every timer in the slot of the current tick whose deadline is reached expire, earliest deadline first,
+     *   until the actions of the expired timers have not scheduled any timer in that slot that is due as well.
+     */
+    private void expireDue() {
+        int slot = (int) (currentTick & SLOT_MASK);
+        while (true) {
+            Timer due = null, timer = slots[0][slot];
+            while (timer != null) {
+                Timer next = timer.next;
+                if (timer.tick <= currentTick && timer.deadline <= time) {
+                    unlink(timer);
+                    timer.level = EXPIRING;
+                    // The slot lists the latest scheduled timer first, so a timer goes before the due timers with
+                    //   the same deadline to let them expire in the order they were scheduled.
+                    if (due == null || timer.deadline <= due.deadline) {
+                        timer.nextDue = due;
+                        due = timer;
+                    } else {
+                        Timer previous = due;
+                        while (previous.nextDue != null && previous.nextDue.deadline < timer.deadline)
+                            previous = previous.nextDue;
+                        timer.nextDue = previous.nextDue;
+                        previous.nextDue = timer;
+                    }
+                }
+                timer = next;
+            }
+            if (due == null)
+                return;
+            while (due != null) {
+                Timer next = due.nextDue;
+                due.nextDue = null;
+                // An action can have cancelled or rescheduled a timer that was due as well.
+                if (due.level == EXPIRING) {
+                    due.level = -1;
+                    if (due.callback != null)
+                        due.callback.run();
+                }
+                due = next;
+            }
+        }
+    }
+
+    /**
+     * The level of a timer that has been taken out of its slot to expire.
+     */
+    private static final int EXPIRING = -2;
+
+    /**
+     * The number of bits of a slot index, the number of slots per level and the mask selecting a slot index.
+     */
+    private static final int SLOT_BITS = 6, NB_SLOTS = 1 << SLOT_BITS, SLOT_MASK = NB_SLOTS - 1;
+
+    /**
+     * The number of levels of a wheel. The highest level reaches 2^24 ticks ahead.
+     */
+    private static final int NB_LEVELS = 4;
+
+    /**
+     * Variable registering the length of a tick in seconds.
+     */
+    private final double tickLength;
+
+    /**
+     * Variable registering the time of the clock of this wheel.
+     */
+    private double time;
+
+    /**
+     * Variable registering the tick up to which the slots have been handled.
+     */
+    private long currentTick;
+
+    /**
+     * Variable registering the number of pending timers.
+     */
+    private int nbPendingTimers;
+
+    /**
+     * Variable referencing the first timer of every slot of every level, each slot being a doubly linked list.
+     */
+    private final Timer[][] slots;
+}
@@ -0,0 +1,98 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * An immutable position and size of the visible window of a world, in pixels. A world makes a new one every time its
+ *   window moves, so that whoever draws the window reads a position and a size that belong together.
+ *
+ * @invar | getWidth() >= 0 && getHeight() >= 0
+ */
+@Value
+public class VisibleWindow {
+
+    /**
+     * Initialize this new VisibleWindow with the given position of its bottom left corner and the given size.
+     *
+     * @param pixelX
+     *        The pixel column of the left border of the window.
+     * @param pixelY
+     *        The pixel row of the bottom border of the window.
+     * @param width
+     *        The width of the window in pixels.
+     * @param height
+     *        The height of the window in pixels.
+     * @post | new.getPixelX() == pixelX && new.getPixelY() == pixelY
+     * @post | new.getWidth() == width && new.getHeight() == height
+     */
+    public VisibleWindow(int pixelX, int pixelY, int width, int height) {
+        this.pixelX = pixelX;
+        this.pixelY = pixelY;
+        this.width = width;
+        this.height = height;
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the pixel column of the left border of this window.
+     */
+    @Basic @Immutable
+    public int getPixelX() { return pixelX; }
+
+    /**
+     * Return the pixel row of the bottom border of this window.
+     */
+    @Basic @Immutable
+    public int getPixelY() { return pixelY; }
+
+    /**
+     * Return the width of this window in pixels.
+     */
+    @Basic @Immutable
+    public int getWidth() { return width; }
+
+    /**
+     * Return the height of this window in pixels.
+     */
+    @Basic @Immutable
+    public int getHeight() { return height; }
+
+    /**
+     * Variables registering the position and the size of this window.
+     */
+    private final int pixelX, pixelY, width, height;
+
+// #####################################################################################################################
+
+    /**
+     * Check whether this window is equal to the given object.
+     *
+     * @return | result == (other instanceof VisibleWindow) && ((VisibleWindow) other).getPixelX() == getPixelX()
+     *         |    && ((VisibleWindow) other).getPixelY() == getPixelY() && ((VisibleWindow) other).getWidth() == getWidth()
+     *         |    && ((VisibleWindow) other).getHeight() == getHeight()
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof VisibleWindow))
+            return false;
+        VisibleWindow window = (VisibleWindow) other;
+        return window.pixelX == pixelX && window.pixelY == pixelY && window.width == width && window.height == height;
+    }
+
+    /**
+     * Return the hash code of this window.
+     */
+    @Override
+    public int hashCode() {
+        return ((pixelX * 31 + pixelY) * 31 + width) * 31 + height;
+    }
+
+    /**
+     * Return a textual representation of this window.
+     */
+    @Override
+    public String toString() {
+        return "{" + pixelX + ";" + pixelY + "} " + width + "x" + height;
+    }
+}
@@ -1,9 +1,11 @@
 package jumpingalien.model;
 
 import be.kuleuven.cs.som.annotate.*;
-import java.awt.*;
+import jumpingalien.util.Sprite;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * A class world containing GameObjects, visiblewindow and dimension, geologicalFeatures and schools.
@@ -59,11 +61,6 @@ public class World {
      */
     private final int height;
 
-    /**
-     * The first index is used to remove hitPoints when touching a plant. the thir for scullcab
-     */
-    public double[] timer = {0, 0, 0};
-
 // #####################################################################################################################
 
     /**
@@ -94,13 +91,11 @@ public class World {
      * @post | new.getHeight == getNbTiles()[1]*getTileSize()
      * @effect | this.setTargetTileCoordinate(targetTileCoordinate)
      * @post | new.visibleWindowDimension == visibleWindowDimension
+     * @post | new.getTerrain().getNbTilesX() == getNbTiles()[0] && new.getTerrain().getNbTilesY() == getNbTiles()[1]
+     * @post | new.getSpatialIndex().getNbGameObjects() == 0
+     * @post | new.getDamageStore().getNbSlots() == 0
      * @effect | if (isValidGeologicalFeatures(geologicalFeatures))
-     *         |     then int[] geo = new int[getWidth()*getHeight()]
-     *         |     for (int i = 0 ; i < geologicalFeatures.length; i++)
-     *         |         if (isValidGeologicalFeature(geologicalFeatures[i]))
-     *         |            then geo[i] == geologicalFeatures[i]
-     *         |     then this.setGeologicalFeatures(geo)
-     *         | else then this.setGeologicalFeatures(new int[getWidth()*getHeight()])
+     *         |     then this.setGeologicalFeatures(geologicalFeatures)
      * @throws NullPointerException
      *         | ! isValidTargetTileCoordinate(targetTileCoordinate)
      * @throws IllegalArgumentException
@@ -130,17 +125,16 @@ public class World {
         if (! canHaveAsVisibleWindowDimension(visibleWindowDimension))
             throw new IllegalArgumentException();
         this.visibleWindowDimension = visibleWindowDimension;
+        this.visibleWindow = new VisibleWindow(0, 0, visibleWindowDimension[0], visibleWindowDimension[1]);
 
-        if (!isValidGeologicalFeatures(geologicalFeatures)) {
+        this.terrain = new TerrainGrid(getNbTiles()[0], getNbTiles()[1]);
+        if (!isValidGeologicalFeatures(geologicalFeatures))
             throw new IllegalArgumentException("Not a valid geologicalFeature int[]");
-        } else {
-            int[] geo = new int[getWidth() * getHeight()];
-            for (int i = 0; i < geologicalFeatures.length; i++) {
-                if (isValidGeologicalFeature(geologicalFeatures[i]))
-                    geo[i] = geologicalFeatures[i];
-            }
-            this.setGeologicalFeatures(geo);
-        }
+        this.setGeologicalFeatures(geologicalFeatures);
+
+        int cellSize = Math.max(getTileSize(), 1);
+        this.spatialIndex = new SpatialIndex(getWidth(), getHeight(), cellSize * Math.max(1, SPATIAL_CELL_SIZE / cellSize));
+        this.damageStore = new DamageStore(MAX_AMOUNT_GAMEOBJECTS);
     }
 
 // #####################################################################################################################
@@ -205,46 +199,61 @@ public class World {
 // #####################################################################################################################
 
     /**
-     * Manages the new visibleWindowPosition of this world.
+     * Manages the new visibleWindowPosition of this world. While Mazub stays more than VISIBLE_WINDOW_MARGIN pixels
+     *   away from every border of the window, the window stays where it is and nothing else is looked at.
      *
      * @post | if (getMazub() == null)
      *       |   then new.getVisbleWindowPosition() == new int[]{0, 0}
-     * @post | if (getVisbleWindowPosition()[0] + getVisibleWindowDimension()[0] - getMazub().getPixelPosition()[0] <= 200)
-     *       |   then new.getVisbleWindowPosition()[0] = (getMazub().getPixelPosition()[0] + 200 <= getWidth()) ? getMazub().getPixelPosition()[0] + (200 - getVisibleWindowDimension()[0]) : getWidth() - getVisibleWindowDimension()[0]
-     *       | else if (getMazub().getPixelPosition()[0] <= getVisbleWindowPosition()[0] + 200)
-     *       |   then new.getVisbleWindowPosition()[0] = (getMazub().getPixelPosition()[0] > 200) ? getMazub().getPixelPosition()[0] - 200 : 0
-     * @post | if (getVisbleWindowPosition()[1] + getVisibleWindowDimension()[1] - getMazub().getPixelPosition()[1] <= 200)
-     *       |   then new.getVisbleWindowPosition()[1] = (200 + getMazub().getPixelPosition()[1] <= getHeight()) ? getMazub().getPixelPosition()[1] + (200 - getVisibleWindowDimension()[1]) : getHeight() - getVisibleWindowDimension()[1]
-     *       | else if (getMazub().getPixelPosition()[1] <= getVisbleWindowPosition()[1] + 200)
-     *       |   then new.getVisbleWindowPosition()[1] = (getMazub().getPixelPosition()[1] > 200) ? getMazub().getPixelPosition()[1] - 200 : 0
+     * @post | if (getVisbleWindowPosition()[0] + getVisibleWindowDimension()[0] - getMazub().getPixelX() <= 200)
+     *       |   then new.getVisbleWindowPosition()[0] = (getMazub().getPixelX() + 200 <= getWidth()) ? getMazub().getPixelX() + (200 - getVisibleWindowDimension()[0]) : getWidth() - getVisibleWindowDimension()[0]
+     *       | else if (getMazub().getPixelX() <= getVisbleWindowPosition()[0] + 200)
+     *       |   then new.getVisbleWindowPosition()[0] = (getMazub().getPixelX() > 200) ? getMazub().getPixelX() - 200 : 0
+     * @post | if (getVisbleWindowPosition()[1] + getVisibleWindowDimension()[1] - getMazub().getPixelY() <= 200)
+     *       |   then new.getVisbleWindowPosition()[1] = (200 + getMazub().getPixelY() <= getHeight()) ? getMazub().getPixelY() + (200 - getVisibleWindowDimension()[1]) : getHeight() - getVisibleWindowDimension()[1]
+     *       | else if (getMazub().getPixelY() <= getVisbleWindowPosition()[1] + 200)
+     *       |   then new.getVisbleWindowPosition()[1] = (getMazub().getPixelY() > 200) ? getMazub().getPixelY() - 200 : 0
      */
     public void manageVisbleWindowPosition() {
-        if (getMazub() == null)
-            setVisbleWindowPosition(new int[]{0,0});
-        else if (getVisibleWindowDimension()[0] > 400 + getMazub().getCurrentSprite().getWidth() || (getVisibleWindowDimension()[1] < 400+getMazub().getCurrentSprite().getHeight())) {
-            int[] newWindowPosition = getVisbleWindowPosition();
+        Mazub mazub = getMazub();
+        if (mazub == null) {
+            setVisbleWindowPosition(0, 0);
+            return;
+        }
+        int pixelX = mazub.getPixelX(), pixelY = mazub.getPixelY();
+        int windowWidth = visibleWindowDimension[0], windowHeight = visibleWindowDimension[1];
+        if (pixelX > windowX + VISIBLE_WINDOW_MARGIN && pixelX < windowX + windowWidth - VISIBLE_WINDOW_MARGIN
+                && pixelY > windowY + VISIBLE_WINDOW_MARGIN && pixelY < windowY + windowHeight - VISIBLE_WINDOW_MARGIN)
+            return;
+        Sprite sprite = mazub.getCurrentSprite();
+        if (windowWidth > 2 * VISIBLE_WINDOW_MARGIN + sprite.getWidth() || windowHeight < 2 * VISIBLE_WINDOW_MARGIN + sprite.getHeight()) {
+            int newWindowX = windowX, newWindowY = windowY;
             //right side & left side
-            if (getVisbleWindowPosition()[0] + getVisibleWindowDimension()[0] - getMazub().getPixelPosition()[0] <= 200) {
-                newWindowPosition[0] = (getMazub().getPixelPosition()[0] + 200 <= getWidth()) ? getMazub().getPixelPosition()[0] + (200 - getVisibleWindowDimension()[0]) : getWidth() - getVisibleWindowDimension()[0];
-            } else if (getMazub().getPixelPosition()[0] <= getVisbleWindowPosition()[0] + 200) {
-                newWindowPosition[0] = (getMazub().getPixelPosition()[0] > 200) ? getMazub().getPixelPosition()[0] - 200 : 0;
-            }
+            if (windowX + windowWidth - pixelX <= VISIBLE_WINDOW_MARGIN)
+                newWindowX = (pixelX + VISIBLE_WINDOW_MARGIN <= getWidth()) ? pixelX + (VISIBLE_WINDOW_MARGIN - windowWidth) : getWidth() - windowWidth;
+            else if (pixelX <= windowX + VISIBLE_WINDOW_MARGIN)
+                newWindowX = (pixelX > VISIBLE_WINDOW_MARGIN) ? pixelX - VISIBLE_WINDOW_MARGIN : 0;
             //top & bottom
-            if (getVisbleWindowPosition()[1] + getVisibleWindowDimension()[1] - getMazub().getPixelPosition()[1] <= 200) {
-                newWindowPosition[1] = (200 + getMazub().getPixelPosition()[1] <= getHeight()) ? getMazub().getPixelPosition()[1] + (200 - getVisibleWindowDimension()[1]) : getHeight() - getVisibleWindowDimension()[1];
-            } else if (getMazub().getPixelPosition()[1] <= getVisbleWindowPosition()[1] + 200) {
-                newWindowPosition[1] = (getMazub().getPixelPosition()[1] > 200) ? getMazub().getPixelPosition()[1] - 200 : 0;
-            }
-            setVisbleWindowPosition(newWindowPosition);
+            if (windowY + windowHeight - pixelY <= VISIBLE_WINDOW_MARGIN)
+                newWindowY = (VISIBLE_WINDOW_MARGIN + pixelY <= getHeight()) ? pixelY + (VISIBLE_WINDOW_MARGIN - windowHeight) : getHeight() - windowHeight;
+            else if (pixelY <= windowY + VISIBLE_WINDOW_MARGIN)
+                newWindowY = (pixelY > VISIBLE_WINDOW_MARGIN) ? pixelY - VISIBLE_WINDOW_MARGIN : 0;
+            setVisbleWindowPosition(newWindowX, newWindowY);
         }
     }
 
+    /**
+     * The smallest distance in pixels between Mazub and a border of the visible window before the window follows Mazub.
+     */
+    public static final int VISIBLE_WINDOW_MARGIN = 200;
+
     /**
      * Returns the visbleWindowPosition of this World.
+     *
+     * @return | result == new int[]{getVisibleWindow().getPixelX(), getVisibleWindow().getPixelY()}
      */
-    @Basic @Raw
+    @Raw
     public int[] getVisbleWindowPosition() {
-        return this.visbleWindowPosition;
+        return new int[]{windowX, windowY};
     }
 
     /**
@@ -252,35 +261,78 @@ public class World {
      *
      * @param  visbleWindowPosition
      *         The visbleWindowPosition to check.
-     * @return | result == (visbleWindowPosition[0] < getWidth()) && (visbleWindowPosition[1] < getHeight()) && (visbleWindowPosition[0]>=0)&& (visbleWindowPosition[1]>=0)
+     * @return | result == canHaveAsVisbleWindowPosition(visbleWindowPosition[0], visbleWindowPosition[1])
      */
     public boolean canHaveAsVisbleWindowPosition(int[] visbleWindowPosition) {
-        return (visbleWindowPosition[0] < getWidth()) && (visbleWindowPosition[1] < getHeight()) && (visbleWindowPosition[0]>=0)&& (visbleWindowPosition[1]>=0);
+        return canHaveAsVisbleWindowPosition(visbleWindowPosition[0], visbleWindowPosition[1]);
+    }
+
+    /**
+     * Check whether the given pixel position is a valid visbleWindowPosition for this world.
+     *
+     * @param  pixelX
+     *         The pixel column of the left border of the window.
+     * @param  pixelY
+     *         The pixel row of the bottom border of the window.
+     * @return | result == (pixelX < getWidth()) && (pixelY < getHeight()) && (pixelX >= 0) && (pixelY >= 0)
+     */
+    public boolean canHaveAsVisbleWindowPosition(int pixelX, int pixelY) {
+        return (pixelX < getWidth()) && (pixelY < getHeight()) && (pixelX >= 0) && (pixelY >= 0);
     }
 
     /**
-     * Set the visbleWindowPosition of this world to the given visbleWindowPosition.
+     * Set the visbleWindowPosition of this world to the given visbleWindowPosition. The given array is not kept.
      *
      * @param  visbleWindowPosition
      *         The new visbleWindowPosition for this world.
-     * @post | if (canHaveAsVisbleWindowPosition(visbleWindowPosition))
-     *       |    then new.getVisbleWindowPosition() == visbleWindowPosition
-     * @throws IllegalArgumentException
-     *         | ! canHaveAsVisbleWindowPosition(getVisbleWindowPosition())
+     * @effect | setVisbleWindowPosition(visbleWindowPosition[0], visbleWindowPosition[1])
      */
     @Raw
     public void setVisbleWindowPosition(int[] visbleWindowPosition) throws IllegalArgumentException {
-        if (canHaveAsVisbleWindowPosition(visbleWindowPosition))
-            this.visbleWindowPosition = visbleWindowPosition;
-        else {
-            throw new IllegalArgumentException("{"+visbleWindowPosition[0]+";"+visbleWindowPosition[1]+"}"+" is not a valid window position");
-        }
+        setVisbleWindowPosition(visbleWindowPosition[0], visbleWindowPosition[1]);
+    }
+
+    /**
+     * Set the visbleWindowPosition of this world to the given pixel position.
+     *
+     * @param  pixelX
+     *         The pixel column of the new left border of the window.
+     * @param  pixelY
+     *         The pixel row of the new bottom border of the window.
+     * @post | new.getVisbleWindowPosition()[0] == pixelX && new.getVisbleWindowPosition()[1] == pixelY
+     * @post | new.getVisibleWindow().equals(new VisibleWindow(pixelX, pixelY, getVisibleWindowDimension()[0], getVisibleWindowDimension()[1]))
+     * @throws IllegalArgumentException
+     *         | ! canHaveAsVisbleWindowPosition(pixelX, pixelY)
+     */
+    @Raw
+    public void setVisbleWindowPosition(int pixelX, int pixelY) throws IllegalArgumentException {
+        if (!canHaveAsVisbleWindowPosition(pixelX, pixelY))
+            throw new IllegalArgumentException("{"+pixelX+";"+pixelY+"}"+" is not a valid window position");
+        if (pixelX == windowX && pixelY == windowY)
+            return;
+        this.windowX = pixelX;
+        this.windowY = pixelY;
+        this.visibleWindow = new VisibleWindow(pixelX, pixelY, visibleWindowDimension[0], visibleWindowDimension[1]);
+    }
+
+    /**
+     * Return the position and the size of the visible window of this world. The result never changes, so it can be
+     *   read by another thread while this world is advanced.
+     */
+    @Basic @Raw
+    public VisibleWindow getVisibleWindow() {
+        return this.visibleWindow;
     }
 
     /**
-     * Variable registering the visbleWindowPosition of this world.
+     * Variables registering the pixel position of the bottom left corner of the visible window of this world.
+     */
+    private int windowX, windowY;
+
+    /**
+     * Variable referencing the position and the size of the visible window, replaced every time the window moves.
      */
-    private int[] visbleWindowPosition = new int[]{0,0};
+    private volatile VisibleWindow visibleWindow;
 
 // #####################################################################################################################
 
@@ -351,6 +403,17 @@ public class World {
         return (int) (Math.floor(pixelX/getTileSize()) + (Math.floor(pixelY/getTileSize()))*getNbTiles()[0]);
     }
 
+    /**
+     * Returns the tile column or row that contains the given pixel coordinate, the same way calculateTile does.
+     *
+     * @param pixel
+     *        The pixel coordinate.
+     * @return | result == pixel / getTileSize()
+     */
+    public int pixelToTile(int pixel) {
+        return pixel / getTileSize();
+    }
+
     /**
      * Converts tileCoordinate to a pixelPosition.
      *
@@ -368,11 +431,11 @@ public class World {
      * Return the geologicalFeature of the given tile index.
      * @param tileIndex
      *        The given tileIndex.
-     * @return | result == getGeologicalFeatures()[tileIndex]
+     * @return | result == getTerrain().getGeologicalFeature(tileIndex)
      */
     @Basic @Raw
     public int getGeologicalFeature(int tileIndex) {
-        return getGeologicalFeatures()[tileIndex];
+        return terrain.getGeologicalFeature(tileIndex);
     }
 
     /**
@@ -380,7 +443,7 @@ public class World {
      *
      * @param geologicalFeature
      *        The given geologicalFeature to check.
-     * @return | result == geologicalFeature >= 0 && geologicalFeature <= 3
+     * @return | result == geologicalFeature >= 0 && geologicalFeature <= 5
      */
     private static boolean isValidGeologicalFeature(int geologicalFeature) {
         return geologicalFeature >= 0 && geologicalFeature <= 5;
@@ -393,22 +456,25 @@ public class World {
      *        The new geologicalFeatures for this world.
      * @param tileIndex
      *        The tileIndex for where the new geologicalFeature has to be set.
-     *
+     * @effect | if (isValidGeologicalFeature(geologicalFeature))
+     *         |    then getTerrain().setGeologicalFeature(geologicalFeature, tileIndex)
+     *         |    else then getTerrain().setGeologicalFeature(0, tileIndex)
      */
     @Raw
     public void setGeologicalFeature(int geologicalFeature, int tileIndex) {
         if (isValidGeologicalFeature(geologicalFeature))
-            this.getGeologicalFeatures()[tileIndex] = geologicalFeature;
+            terrain.setGeologicalFeature(geologicalFeature, tileIndex);
         else
-            this.getGeologicalFeatures()[tileIndex] = 0;
+            terrain.setGeologicalFeature(0, tileIndex);
     }
 
     /**
-     * Return the geologicalFeatures of this world.
+     * Return a copy of the geologicalFeatures of all the tiles of this world.
+     *
+     * @return | result == getTerrain().toArray()
      */
-    @Basic @Raw
     public int[] getGeologicalFeatures() {
-        return this.geologicalFeatures;
+        return terrain.toArray();
     }
 
     /**
@@ -427,31 +493,134 @@ public class World {
      *
      * @param  geologicalFeatures
      *         The new geologicalFeatures for this world.
-     * @post | if (isValidGeologicalFeatures(geologicalFeatures))
-     *       |    then new.getGeologicalFeatures() == geologicalFeatures
+     * @effect | if (isValidGeologicalFeatures(geologicalFeatures))
+     *         |    for (int i = 0; i < geologicalFeatures.length; i++)
+     *         |       setGeologicalFeature(geologicalFeatures[i], i)
      */
     @Raw
     public void setGeologicalFeatures(int[] geologicalFeatures) {
-        if (isValidGeologicalFeatures(geologicalFeatures))
-            this.geologicalFeatures = geologicalFeatures;
+        if (isValidGeologicalFeatures(geologicalFeatures)) {
+            int[] geo = new int[Math.min(geologicalFeatures.length, terrain.getNbTiles())];
+            for (int i = 0; i < geo.length; i++)
+                if (isValidGeologicalFeature(geologicalFeatures[i]))
+                    geo[i] = geologicalFeatures[i];
+            terrain.setGeologicalFeatures(geo);
+        }
+    }
+
+    /**
+     * Return the grid storing the geologicalFeature of every tile of this world.
+     */
+    @Basic @Raw @Immutable
+    public TerrainGrid getTerrain() {
+        return this.terrain;
     }
 
     /**
-     * Variable registering the geologicalFeatures of this world.
+     * Variable referencing the grid storing the geologicalFeature of every tile of this world.
      */
-    private int[] geologicalFeatures;
+    private final TerrainGrid terrain;
 
 // #####################################################################################################################
 
     /**
      * Returns a copy of the GameObjectSet of all not terminated gameObjects of this world.
+     *   Loops inside the model should use forEachGameObject, which copies nothing.
      *
      * @return | result == gameObjects.stream().filter(gameObject -> !gameObject.isTerminated()).collect(Collectors.toSet())
      */
     public Set<GameObject> getGameObjectSet() {
-        return gameObjects.stream().filter(gameObject -> !gameObject.isTerminated()).collect(Collectors.toSet());
+        Set<GameObject> result = new HashSet<>();
+        forEachGameObject(result::add);
+        return result;
+    }
+
+    /**
+     * Perform the given action for every not terminated GameObject of this world, in the order they were added.
+     *   GameObjects that are terminated during the loop are skipped from then on; GameObjects added during
+     *   the loop are not visited.
+     *
+     * @param action
+     *        The action to perform.
+     * @effect | for each gameObject in getGameObjectSet():
+     *         |    action.accept(gameObject)
+     */
+    public void forEachGameObject(Consumer<? super GameObject> action) {
+        if (iterationDepth == 0)
+            sweepTerminatedGameObjects();
+        iterationDepth++;
+        try {
+            int size = liveGameObjects.size();
+            for (int i = 0; i < size; i++) {
+                GameObject gameObject = liveGameObjects.get(i);
+                if (!gameObject.isTerminated())
+                    action.accept(gameObject);
+            }
+        } finally {
+            iterationDepth--;
+        }
+    }
+
+    /**
+     * Remove the given GameObject, which is being terminated, from the live GameObjects and the spatial index of this world.
+     *   While forEachGameObject is looping, the GameObject is only removed from the list of live GameObjects
+     *   at the start of the next loop.
+     *
+     * @param gameObject
+     *        The GameObject that leaves this world.
+     * @effect | if (getSnapshot() == null)
+     *         |    then getSpatialIndex().remove(gameObject)
+     * @effect | getDamageStore().release(gameObject.getDamageSlot())
+     * @post | gameObject.getDamageSlot() == -1
+     * @effect | if (gameObject instanceof Plant)
+     *         |    then wakePlant((Plant) gameObject)
+     */
+    void removeLiveGameObject(GameObject gameObject) {
+        if (gameObject instanceof Plant) {
+            wakePlant((Plant) gameObject);
+            activePlants.remove(gameObject);
+            plantLifetimeTimers.remove(gameObject);
+        }
+        // During a two-phase step the other GameObjects keep finding it where it was at the start of the step.
+        if (snapshot != null)
+            pendingRemovals.add(gameObject);
+        else
+            spatialIndex.remove(gameObject);
+        damageStore.release(gameObject.getDamageSlot());
+        gameObject.setDamageSlot(-1);
+        if (gameObject instanceof Slime)
+            slimeVersion++;
+        hasTerminatedGameObjects = true;
     }
 
+    /**
+     * Remove all terminated GameObjects from the list of live GameObjects of this world, if there are any.
+     */
+    private void sweepTerminatedGameObjects() {
+        if (hasTerminatedGameObjects) {
+            liveGameObjects.removeIf(GameObject::isTerminated);
+            hasTerminatedGameObjects = false;
+        }
+    }
+
+    /**
+     * Variable referencing the GameObjects of this world that were not terminated at the last sweep, in the order they were added.
+     *
+     * @invar | for each gameObject in gameObjects:
+     *        |    gameObject.isTerminated() || liveGameObjects.contains(gameObject)
+     */
+    private final ArrayList<GameObject> liveGameObjects = new ArrayList<>();
+
+    /**
+     * Variable registering whether a GameObject of this world was terminated since the last sweep.
+     */
+    private boolean hasTerminatedGameObjects;
+
+    /**
+     * Variable registering how many calls of forEachGameObject are looping over the live GameObjects.
+     */
+    private int iterationDepth;
+
     /**
      * Check whether this world has the given GameObject as one of its GameObjects.
      *
@@ -470,16 +639,14 @@ public class World {
      * @param  gameObject
      *         The GameObject to check.
      * @return | result == (getNbGameObjects() + i < MAX_AMOUNT_GAMEOBJECTS + 1 || gameObject instanceof Mazub) && !isActiveGame() && (gameObject != null) && (GameObject.isValidWorld(this)) && (gameObject.getWorld() == this || gameObject.getWorld() == null)
-     *         |        && gameObject.getPixelPosition()[0] >= 0 && gameObject.getPixelPosition()[1] >= 0 && gameObject.getPixelPosition()[0] < getWidth() && gameObject.getPixelPosition()[1] < getHeight()
+     *         |        && gameObject.getPixelX() >= 0 && gameObject.getPixelY() >= 0 && gameObject.getPixelX() < getWidth() && gameObject.getPixelY() < getHeight()
      *         |        && !detectsObjectInObject(gameObject) && !gameObject.isTerminated() && (!(gameObject instanceof Mazub) || getMazub() == null) && (gameObject instanceof Plant || !containsImpassableTerrain(gameObject, 1))
      */
     @Raw
     public boolean canHaveAsGameObject(GameObject gameObject) {
-        int i = 1;
-        for (GameObject object : getGameObjectSet())
-            if (object instanceof Mazub) i = 0;
+        int i = (getMazub() != null) ? 0 : 1;
         return (getNbGameObjects() + i < MAX_AMOUNT_GAMEOBJECTS + 1 || gameObject instanceof Mazub) && !isActiveGame() && (gameObject != null) && (GameObject.isValidWorld(this)) && (gameObject.getWorld() == this || gameObject.getWorld() == null)
-                && gameObject.getPixelPosition()[0] >= 0 && gameObject.getPixelPosition()[1] >= 0 && gameObject.getPixelPosition()[0] < getWidth() && gameObject.getPixelPosition()[1] < getHeight()
+                && gameObject.getPixelX() >= 0 && gameObject.getPixelY() >= 0 && gameObject.getPixelX() < getWidth() && gameObject.getPixelY() < getHeight()
                 && !detectsObjectInObject(gameObject) && !gameObject.isTerminated() && (!(gameObject instanceof Mazub) || getMazub() == null) && (gameObject instanceof Plant || !containsImpassableTerrain(gameObject, 1));
     }
 
@@ -520,14 +687,23 @@ public class World {
         if (!canHaveAsGameObject(gameObject))
             throw new IllegalArgumentException();
         gameObjects.add(gameObject);
+        liveGameObjects.add(gameObject);
         gameObject.setWorld(this);
+        gameObject.setDamageSlot(damageStore.allocate());
+        if (gameObject instanceof Slime)
+            slimeVersion++;
+        spatialIndex.add(gameObject);
+        registerCollisionProbes(gameObject);
         if (gameObject instanceof Mazub && getMazub() == null)
             setMazub((Mazub) gameObject);
+        else if (gameObject instanceof Plant) {
+            Plant plant = (Plant) gameObject;
+            activePlants.add(plant);
+            plantLifetimeTimers.put(plant, plantTimers.createTimer(TimerWheel.Type.PLANT_LIFETIME, () -> wakePlant(plant)));
+        }
         else if (gameObject instanceof Slime) {
             if (((Slime) gameObject).getSchool() != null && !((Slime) gameObject).getSchool().hasAsSlime((Slime) gameObject))
                 ((Slime) gameObject).getSchool().addSlime((Slime) gameObject);
-            if (!SlimeInfo.hasAsSlime((Slime) gameObject))
-                SlimeInfo.addSlime((Slime) gameObject);
         }
     }
 
@@ -562,7 +738,122 @@ public class World {
      *        |   ( (gameObject != null) && (! gameObject.isTerminated()) )
      */
     private final HashSet<GameObject> gameObjects = new HashSet<>();
-    
+
+    /**
+     * Return the index used to find the GameObjects of this world near a pixel square.
+     */
+    @Basic @Raw @Immutable
+    public SpatialIndex getSpatialIndex() {
+        return this.spatialIndex;
+    }
+
+    /**
+     * Move the given GameObject to the cells of its current position in the spatial index of this world.
+     *
+     * @param gameObject
+     *        The GameObject that has moved.
+     * @effect | getSpatialIndex().update(gameObject)
+     * @post | if (gameObject instanceof Slime)
+     *       |    then new.getSlimeVersion() != getSlimeVersion()
+     */
+    void updateSpatialIndex(GameObject gameObject) {
+        if (gameObject instanceof Slime)
+            slimeVersion++;
+        if (snapshot == null)
+            spatialIndex.update(gameObject);
+    }
+
+    /**
+     * Return the number of times a slime has moved in, been added to or left this world. Whoever remembers
+     *   where the slimes of this world are can compare this number with the one it saw to know whether that is
+     *   still true.
+     */
+    @Basic
+    int getSlimeVersion() {
+        return this.slimeVersion;
+    }
+
+    /**
+     * Variable registering the number of times a slime has moved in, been added to or left this world.
+     *   Slimes advanced in parallel can lose some of their increments, but they never come near Mazub, the
+     *   only one that compares this number.
+     */
+    private int slimeVersion;
+
+    /**
+     * Add every not terminated GameObject of this world of the given class that overlaps with the given pixel square
+     * to the given collection. Objects whose cells touch the square but that lie next to it can be added as well.
+     *
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
+     * @param objectType
+     *        The class of the GameObjects to look for, or null for all GameObjects.
+     * @param result
+     *        The collection the GameObjects are added to.
+     * @effect | getSpatialIndex().collect(pixelLeft, pixelBottom, pixelRight, pixelTop, objectType, result)
+     */
+    public <T extends GameObject> void collectGameObjects(int pixelLeft, int pixelBottom, int pixelRight, int pixelTop,
+                                                          Class<T> objectType, Collection<? super T> result) {
+        spatialIndex.collect(pixelLeft, pixelBottom, pixelRight, pixelTop, objectType, result);
+    }
+
+    /**
+     * Add every not terminated GameObject of this world of the given class within the given distance of the given pixel
+     * to the given collection.
+     *
+     * @param pixelX
+     *        The pixel column of the point.
+     * @param pixelY
+     *        The pixel row of the point.
+     * @param distance
+     *        The distance in pixels around the point.
+     * @param objectType
+     *        The class of the GameObjects to look for, or null for all GameObjects.
+     * @param result
+     *        The collection the GameObjects are added to.
+     * @effect | getSpatialIndex().collectNear(pixelX, pixelY, distance, objectType, result)
+     */
+    public <T extends GameObject> void collectGameObjectsNear(int pixelX, int pixelY, int distance,
+                                                              Class<T> objectType, Collection<? super T> result) {
+        spatialIndex.collectNear(pixelX, pixelY, distance, objectType, result);
+    }
+
+    /**
+     * The preferred width and height in pixels of the cells of the spatial index, rounded to a multiple of the tileSize.
+     */
+    private static final int SPATIAL_CELL_SIZE = 128;
+
+    /**
+     * Variable referencing the index used to find the GameObjects of this world near a pixel square.
+     *
+     * @invar | for each gameObject in getGameObjectSet():
+     *        |    spatialIndex.hasAsGameObject(gameObject)
+     */
+    private final SpatialIndex spatialIndex;
+
+    /**
+     * Return the store holding the damage-over-time state of the GameObjects of this world.
+     */
+    @Basic @Raw @Immutable
+    public DamageStore getDamageStore() {
+        return this.damageStore;
+    }
+
+    /**
+     * Variable referencing the store holding the damage-over-time state of the GameObjects of this world,
+     *   one slot per GameObject from its addition to this world until it is terminated.
+     *
+     * @invar | for each gameObject in getGameObjectSet():
+     *        |    damageStore.isUsedSlot(gameObject.getDamageSlot())
+     */
+    private final DamageStore damageStore;
+
 // #####################################################################################################################
 
     /**
@@ -637,16 +928,17 @@ public class World {
      *
      * @param gameObject
      *        The gameobject toc heck collision with.
-     * @post | if (!gameObject.isTerminated() && getMazub().getPixelPosition()[0] < (tileToPixel(getTargetTileCoordinate())[0] + getTileSize() - 1) && getMazub().getPixelPosition()[0] > (tileToPixel(getTargetTileCoordinate())[0] - getMazub().getCurrentSprite().getWidth()) - 1 &&
-     *                 getMazub().getPixelPosition()[1] < (tileToPixel(getTargetTileCoordinate())[1] + getTileSize() - 1) && getMazub().getPixelPosition()[1] > (tileToPixel(getTargetTileCoordinate())[1] - getMazub().getCurrentSprite().getHeight() - 1))
+     * @post | if (!gameObject.isTerminated() && getMazub().getPixelX() < (tileToPixel(getTargetTileCoordinate())[0] + getTileSize() - 1) && getMazub().getPixelX() > (tileToPixel(getTargetTileCoordinate())[0] - getMazub().getCurrentSprite().getWidth()) - 1 &&
+     *                 getMazub().getPixelY() < (tileToPixel(getTargetTileCoordinate())[1] + getTileSize() - 1) && getMazub().getPixelY() > (tileToPixel(getTargetTileCoordinate())[1] - getMazub().getCurrentSprite().getHeight() - 1))
      *       |    then new.isGameOver()
-     * @post | if (!gameObject.isTerminated() && getMazub().getPixelPosition()[0] < (tileToPixel(getTargetTileCoordinate())[0] + getTileSize() - 1) && getMazub().getPixelPosition()[0] > (tileToPixel(getTargetTileCoordinate())[0] - getMazub().getCurrentSprite().getWidth()) - 1 &&
-     *                 getMazub().getPixelPosition()[1] < (tileToPixel(getTargetTileCoordinate())[1] + getTileSize() - 1) && getMazub().getPixelPosition()[1] > (tileToPixel(getTargetTileCoordinate())[1] - getMazub().getCurrentSprite().getHeight() - 1))
+     * @post | if (!gameObject.isTerminated() && getMazub().getPixelX() < (tileToPixel(getTargetTileCoordinate())[0] + getTileSize() - 1) && getMazub().getPixelX() > (tileToPixel(getTargetTileCoordinate())[0] - getMazub().getCurrentSprite().getWidth()) - 1 &&
+     *                 getMazub().getPixelY() < (tileToPixel(getTargetTileCoordinate())[1] + getTileSize() - 1) && getMazub().getPixelY() > (tileToPixel(getTargetTileCoordinate())[1] - getMazub().getCurrentSprite().getHeight() - 1))
      *       |    then new.hasReachedTargetTile()
      */
     public void manageCollisionTargetTile(GameObject gameObject) {
-        if (!gameObject.isTerminated() && getMazub().getPixelPosition()[0] < (tileToPixel(getTargetTileCoordinate())[0] + getTileSize() - 1) && getMazub().getPixelPosition()[0] > (tileToPixel(getTargetTileCoordinate())[0] - getMazub().getCurrentSprite().getWidth()) - 1 &&
-                getMazub().getPixelPosition()[1] < (tileToPixel(getTargetTileCoordinate())[1] + getTileSize() - 1) && getMazub().getPixelPosition()[1] > (tileToPixel(getTargetTileCoordinate())[1] - getMazub().getCurrentSprite().getHeight() - 1)) {
+        int targetX = getTileSize() * getTargetTileCoordinate()[0], targetY = getTileSize() * getTargetTileCoordinate()[1];
+        if (!gameObject.isTerminated() && getMazub().getPixelX() < (targetX + getTileSize() - 1) && getMazub().getPixelX() > (targetX - getMazub().getCurrentSprite().getWidth()) - 1 &&
+                getMazub().getPixelY() < (targetY + getTileSize() - 1) && getMazub().getPixelY() > (targetY - getMazub().getCurrentSprite().getHeight() - 1)) {
             this.setGameOver(true);
             this.setReachedTargetTile(true);
         }
@@ -726,8 +1018,8 @@ public class World {
      * @post | new.isTerminated()
      */
     public void terminate() {
-        for (GameObject gameObject: getGameObjectSet())
-            gameObject.terminate();
+        forEachGameObject(GameObject::terminate);
+        spatialIndex.clear();
         this.isTerminated = true;
     }
 
@@ -739,155 +1031,156 @@ public class World {
 // #####################################################################################################################
 
     /**
-     * Variable registering wether or not its the first dt time that mazub collides with WATER.
-     */
-    private boolean first = true;
-
-    /**
-     * Manages the hitpoints when the given object collides with MAGMA, WATER and GAS.
+     * Manages the hitpoints when the given object collides with MAGMA, WATER and GAS. The time towards the next
+     * hit is kept in the slot of Mazub in the damage store, with time = getDamageStore().getHazardTime(slot)
+     * and restarts = getDamageStore().restartsInWater(slot).
      *
      * @param dt
      *        The time that has passed between the last method call and the time now.
      * @post | if (collidesWithWater || collidesWithMagma || collidesWithGas)
-     *       |    if (timer[0] > 0)
-     *       |        then new.timer[0] == old.timer[0] - 0.2
-     *       |    then new.timer[0] == old.timer[0] + dt
-     *       |    else then new.timer[0] == 0
-     * @effect | if (collidesWithMagma && timer[0] > 0)
+     *       |    if (time > 0)
+     *       |        then new.time == old.time - 0.2
+     *       |    then new.time == old.time + dt
+     *       |    else then new.time == 0
+     * @effect | if (collidesWithMagma && time > 0)
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() - 50)
      * @effect | if (collidesWithMagma || collidesWithGas)
-     *         |    then new.first == true
-     * @effect | if (collidesWithGas && !collidesWithMagma && timer[0] > 0)
+     *         |    then new.restarts == true
+     * @effect | if (collidesWithGas && !collidesWithMagma && time > 0)
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() - 4)
-     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && first)
-     *       |    then new.first == false && new.timer[0] == dt
-     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && (timer[0] >= 0.2))
-     *       |    then new.timer[0] == old.timer[0] - 0.2
-     * @effect | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && (timer[0] >= 0.2))
+     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && restarts)
+     *       |    then new.restarts == false && new.time == dt
+     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && (time >= 0.2))
+     *       |    then new.time == old.time - 0.2
+     * @effect | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && (time >= 0.2))
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() - 2)
      */
     public void manageGeoFeaturesCollision(double dt) {
-        boolean collidesWithWater = overlapsWithGeologicalFeature(getMazub(), GeologicalFeature.WATER, 1);
-        boolean collidesWithGas = overlapsWithGeologicalFeature(getMazub(), GeologicalFeature.GAS, 1);
-        boolean collidesWithMagma = overlapsWithGeologicalFeature(getMazub(), GeologicalFeature.MAGMA, 1);
+        int features = getGeologicalFeatureMask(getMazub(), 1);
+        boolean collidesWithWater = (features & GeologicalFeature.WATER.getMask()) != 0;
+        boolean collidesWithGas = (features & GeologicalFeature.GAS.getMask()) != 0;
+        boolean collidesWithMagma = (features & GeologicalFeature.MAGMA.getMask()) != 0;
+        int slot = getMazub().getDamageSlot();
         if (collidesWithWater || collidesWithGas || collidesWithMagma){
-            timer[0] += dt;
+            double time = damageStore.getHazardTime(slot) + dt;
             if (collidesWithMagma) {
-                if (timer[0] > 0) {
+                if (time > 0) {
                     getMazub().setHitPoints(getMazub().getHitPoints() - 50);
-                    timer[0] -= 0.2;
+                    time -= 0.2;
                 }
-                first = true;
+                damageStore.setRestartsInWater(slot, true);
             } else if (collidesWithGas) {
-                if (timer[0] > 0) {
+                if (time > 0) {
                     getMazub().setHitPoints(getMazub().getHitPoints() - 4);
-                    timer[0] -= 0.2;
+                    time -= 0.2;
                 }
-                first = true;
+                damageStore.setRestartsInWater(slot, true);
             } else {
-                if (first) {
-                    timer[0] = dt;
-                    first = false;
+                if (damageStore.restartsInWater(slot)) {
+                    time = dt;
+                    damageStore.setRestartsInWater(slot, false);
                 }
-                if (timer[0] >= 0.2) {
+                if (time >= 0.2) {
                     getMazub().setHitPoints(getMazub().getHitPoints() - 2);
-                    timer[0] -= 0.2;
+                    time -= 0.2;
                 }
             }
-        } else timer[0] = 0;
+            damageStore.setHazardTime(slot, time);
+        } else damageStore.setHazardTime(slot, 0);
     }
 
     /**
-     * Manages the hitpoints when the given object collides with MAGMA, WATER and GAS.
+     * Manages the hitpoints when the given object collides with MAGMA, WATER and GAS. Every slime accumulates
+     * its own time towards its next hit, time = getDamageStore().getHazardTime(slot) for the slot of the slime.
      *
      * @param dt
      *        The time that has passed between the last method call and the time now.
      * @param slime
      *        The object of wich its hitPoints needs to be managed.
      * @post | if (collidesWithWater || collidesWithGas || collidesWithMagma)
-     *       |    then new.timer[1] == this.timer[1] + dt
-     *       |    else then new.timer[1] == 0
+     *       |    then new.time == this.time + dt
+     *       |    else then new.time == 0
      * @effect | if (collidesWithMagma)
      *         |    then slime.setIsDead(true)
-     * @effect | if (collidesWithGas && !collidesWithMagma && timer[1] >= 0.3)
+     * @effect | if (collidesWithGas && !collidesWithMagma && time >= 0.3)
      *         |    then slime.setHitPoints(slime.getHitPoints() + 2)
-     * @post | if (collidesWithGas && !collidesWithMagma && timer[1] >= 0.3)
-     *       |    then new.lostHp == true && new.timer[1] == old.timer[1] - 0.3
-     * @effect | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && timer[1] >= 0.4)
+     * @post | if (collidesWithGas && !collidesWithMagma && time >= 0.3)
+     *       |    then new.lostHp == true && new.time == old.time - 0.3
+     * @effect | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && time >= 0.4)
      *         |    then slime.setHitPoints(slime.getHitPoints() - 4)
-     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && timer[1] >= 0.4)
-     *       |    then new.lostHp == true && new.timer[1] == old.timer[1] - 0.4
-     * @effect | if (lostHp && slime.getSchool() != null)
+     * @post | if (collidesWithWater && !collidesWithGas && !collidesWithMagma && time >= 0.4)
+     *       |    then new.lostHp == true && new.time == old.time - 0.4
+     * @effect | if (lostHp && slime.getSchool() != null && getSnapshot() == null)
      *         |    then slime.getSchool().addHitpointsToSchool(slime, -1)
+     * @post | if (lostHp && slime.getSchool() != null && getSnapshot() != null)
+     *       |    then the hit of the school is committed at the end of the step instead
      */
     public void manageSlimeGeoFeaturesCollision(double dt, Slime slime) {
-        boolean collidesWithWater = overlapsWithGeologicalFeature(slime, GeologicalFeature.WATER, 1);
-        boolean collidesWithGas = overlapsWithGeologicalFeature(slime, GeologicalFeature.GAS, 1);
-        boolean collidesWithMagma = overlapsWithGeologicalFeature(slime, GeologicalFeature.MAGMA, 1);
+        int features = getGeologicalFeatureMask(slime, 1);
+        boolean collidesWithWater = (features & GeologicalFeature.WATER.getMask()) != 0;
+        boolean collidesWithGas = (features & GeologicalFeature.GAS.getMask()) != 0;
+        boolean collidesWithMagma = (features & GeologicalFeature.MAGMA.getMask()) != 0;
         boolean lostHp = false;
+        int slot = slime.getDamageSlot();
         if (collidesWithWater || collidesWithGas || collidesWithMagma) {
-            timer[1] += dt;
+            double time = damageStore.getHazardTime(slot) + dt;
             if (collidesWithMagma) {
                 slime.setIsDead(true);
-            } else if (collidesWithGas && timer[1] >= 0.3) {
+            } else if (collidesWithGas && time >= 0.3) {
                 slime.setHitPoints(slime.getHitPoints() + 2);
                 lostHp = true;
-                timer[1] -= 0.3;
-            } else if (timer[1] >= 0.4) {
+                time -= 0.3;
+            } else if (time >= 0.4) {
                 slime.setHitPoints(slime.getHitPoints() - 4);
                 lostHp = true;
-                timer[1] -= 0.4;
+                time -= 0.4;
             }
-            if (lostHp && slime.getSchool() != null)
-                slime.getSchool().addHitpointsToSchool(slime, -1);
-        } else timer[1] = 0;
+            damageStore.setHazardTime(slot, time);
+            if (lostHp && slime.getSchool() != null) {
+                if (snapshot != null)
+                    pendingSchoolHits.add(slime);
+                else
+                    slime.getSchool().addHitpointsToSchool(slime, -1);
+            }
+        } else damageStore.setHazardTime(slot, 0);
     }
 
     /**
      * Manages the hitPoints of mazub and the slimes when they collide.
      *
      * @param slime The given slime to check collsion with.
-     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0 && getMazub().isMoving())
+     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable() && getMazub().isMoving())
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() - 20)
-     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0)
+     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable())
      *         |    then slime.setHitPoints(slime.getHitPoints() - 30)
-     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0 && (mazub.getPixelPosition()[1] + getMazub().getCurrentSprite().getHeight() - 1 >= slime.getPixelPosition()[1]) && (mazub.getPixelPosition()[1] <= slime.getPixelPosition()[1] + slime.getCurrentSprite().getHeight() - 1))
+     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable() && (mazub.getPixelY() + getMazub().getCurrentSprite().getHeight() - 1 >= slime.getPixelY()) && (mazub.getPixelY() <= slime.getPixelY() + slime.getCurrentSprite().getHeight() - 1))
      *         |    then slime.endMoving()
-     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0 && slime.getSchool() != null)
+     * @effect | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable() && slime.getSchool() != null)
      *         |    then slime.getSchool().addHitpointsToSchool(slime, -1)
-     * @post | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0)
-     *       |    then new.getMazub().freeze == 0.6
-     * @effect | if (getMazub() == null || !isOverlapping(getMazub(), slime) || getMazub().isDead() || getMazub().freeze > 0)
-     *         |    for each blob in SlimeInfo.getSlimes():
-     *         |        if (!slime.equals(blob) && isOverlapping(slime, blob) && !blob.isTerminated() && blob.getSchool() != null && slime.getSchool() != null && slime.getSchool().getNbSlimes() > blob.getSchool().getNbSlimes() && blob.canSwitchSchool(slime.getSchool()))
-     *         |           then blob.switchSchool(slime.getSchool())
-     * @effect | if (getMazub() == null || !isOverlapping(getMazub(), slime) || getMazub().isDead() || getMazub().freeze > 0)
-     *         |    for each blob in SlimeInfo.getSlimes():
-     *         |        if (!slime.equals(blob) && isOverlapping(slime, blob) && !blob.isTerminated() && blob.getSchool() != null && slime.getSchool() != null && slime.getSchool().getNbSlimes() < blob.getSchool().getNbSlimes() && slime.canSwitchSchool(blob.getSchool()))
-     *         |           then slime.switchSchool(blob.getSchool())
-     * @effect | if (getMazub() == null || !isOverlapping(getMazub(), slime) || getMazub().isDead() || getMazub().freeze > 0)
-     *         |    for each blob in SlimeInfo.getSlimes():
+     * @post | if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable())
+     *       |    then new.getMazub().isInvulnerable()
+     * @effect | if (getMazub() == null || !isOverlapping(getMazub(), slime) || getMazub().isDead() || getMazub().isInvulnerable())
+     *         |    for each blob in overlappingSlimes(slime, slime.getPixelX(), slime.getPixelY()):
+     *         |        if (!slime.equals(blob) && isOverlapping(slime, blob) && !blob.isTerminated() && blob.getSchool() != null && slime.getSchool() != null)
+     *         |           then recordSlimeContact(slime, blob, true, true)
+     * @effect | if (getMazub() == null || !isOverlapping(getMazub(), slime) || getMazub().isDead() || getMazub().isInvulnerable())
+     *         |    for each blob in overlappingSlimes(slime, slime.getPixelX(), slime.getPixelY()):
      *         |        if (!slime.equals(blob) && isOverlapping(slime, blob) && !blob.isTerminated() && blob.getSchool() != null && slime.getSchool() != null)
      *         |           then slime.switchDirection()
      */
     public void manageSlimeCollision(Slime slime) {
+        if (snapshot != null) {
+            manageSlimeCollisionInSnapshot(slime);
+            return;
+        }
         if (!slime.isDead() && !slime.isTerminated()) {
-            if (getMazub() != null && isOverlapping(getMazub(), slime) && !getMazub().isDead() && getMazub().freeze <= 0) {
-                if (getMazub().isMoving())
-                    getMazub().setHitPoints(getMazub().getHitPoints() - 20);
-                slime.setHitPoints(slime.getHitPoints() - 30);
-                if ((mazub.getPixelPosition()[1] + getMazub().getCurrentSprite().getHeight() - 1 >= slime.getPixelPosition()[1]) && (mazub.getPixelPosition()[1] <= slime.getPixelPosition()[1] + slime.getCurrentSprite().getHeight() - 1))
-                    slime.endMoving();
-                if (slime.getSchool() != null)
-                    slime.getSchool().addHitpointsToSchool(slime, -1);
-                getMazub().freeze = 0.6;
+            // A slime advanced in parallel cannot reach Mazub, and must not ask Mazub for its current sprite.
+            if (getMazub() != null && !parallelSlimes.contains(slime) && isOverlapping(getMazub(), slime) && !getMazub().isDead() && !getMazub().isInvulnerable()) {
+                hitMazubWithSlime(slime);
             } else {
-                for (Slime blob : SlimeInfo.getSlimes()) {
+                for (Slime blob : overlappingSlimes(slime, slime.getPixelX(), slime.getPixelY())) {
                     if (!slime.equals(blob) && isOverlapping(slime, blob) && !blob.isTerminated() && blob.getSchool() != null && slime.getSchool() != null) {
-                        if (slime.getSchool().getNbSlimes() > blob.getSchool().getNbSlimes() && blob.canSwitchSchool(slime.getSchool()))
-                            blob.switchSchool(slime.getSchool());
-                        else if (slime.getSchool().getNbSlimes() < blob.getSchool().getNbSlimes() && slime.canSwitchSchool(blob.getSchool()))
-                            slime.switchSchool(blob.getSchool());
+                        recordSlimeContact(slime, blob, true, true);
                         slime.switchDirection();
                     }
                 }
@@ -895,50 +1188,281 @@ public class World {
         }
     }
 
+    /**
+     * Let the given slime, which touches Mazub, hurt Mazub and itself, as described by manageSlimeCollision.
+     */
+    private void hitMazubWithSlime(Slime slime) {
+        if (getMazub().isMoving())
+            getMazub().setHitPoints(getMazub().getHitPoints() - 20);
+        slime.setHitPoints(slime.getHitPoints() - 30);
+        if ((mazub.getPixelY() + getMazub().getCurrentSprite().getHeight() - 1 >= slime.getPixelY()) && (mazub.getPixelY() <= slime.getPixelY() + slime.getCurrentSprite().getHeight() - 1))
+            slime.endMoving();
+        if (slime.getSchool() != null)
+            slime.getSchool().addHitpointsToSchool(slime, -1);
+        getMazub().makeInvulnerable();
+    }
+
+    /**
+     * Register the contacts of the given slime with Mazub and with the slimes of other schools in the snapshot of
+     *   the current two-phase step. Both GameObjects of a contact find it in the snapshot, whichever of them looks,
+     *   and it is committed once at the end of the step. A slime turns around when it runs into another slime
+     *   while it moves, in isOverlappingOtherSlime.
+     *
+     * @param slime The given slime.
+     * @pre | getSnapshot() != null && getSnapshot().contains(slime)
+     */
+    private void manageSlimeCollisionInSnapshot(Slime slime) {
+        if (snapshot.isDead(slime))
+            return;
+        if (getMazub() != null && snapshot.contains(getMazub()) && snapshot.overlaps(getMazub(), slime)
+                && !snapshot.isDead(getMazub()) && !snapshot.isInvulnerable(getMazub())) {
+            slimeHits.add(slime);
+        } else if (slime.getSchool() != null) {
+            for (Slime blob : overlappingSlimes(slime, snapshot.getPixelX(slime), snapshot.getPixelY(slime)))
+                if (blob != slime && snapshot.contains(blob) && snapshot.overlaps(slime, blob) && blob.getSchool() != null)
+                    recordSlimeContact(slime, blob, true, true);
+        }
+    }
+
     /**
      * Return true when the given slime overlaps with another slime.
      *
      * @param slime The given slime.
      * @param pixelPosition The pixel position of the given slime.
-     * @return | for each blob in SlimeInfo.getSlimes():
-     *         |    if (!slime.equals(blob) && rectangle.intersects(rectangle_slime)) {
-     *         |       if (slime.getSchool() !=null && blob.getSchool() != null) {
-     *         |          if (slime.getSchool().getNbSlimes() > blob.getSchool().getNbSlimes() && blob.getVelocity()[0]!=0)
-     *         |             then blob.switchSchool(slime.getSchool());
-     *         |          else if (slime.getSchool().getNbSlimes() < blob.getSchool().getNbSlimes())
-     *         |             then slime.switchSchool(blob.getSchool());
-     *         |       }
+     * @return | for each blob in overlappingSlimes(slime, pixelPosition[0], pixelPosition[1]):
+     *         |    if (!slime.equals(blob) && intersects(blob.getPixelX(), blob.getPixelY(), blob.getCurrentSprite().getWidth() + 1, blob.getCurrentSprite().getHeight() + 1,
+     *         |            pixelPosition[0], pixelPosition[1], slime.getCurrentSprite().getWidth() + 1, slime.getCurrentSprite().getHeight() + 1)) {
+     *         |       if (slime.getSchool() !=null && blob.getSchool() != null)
+     *         |          then recordSlimeContact(slime, blob, true, blob.getVelocity()[0] != 0)
      *         |       then result == true
      *         |    }
      *         | result == false
      */
     public boolean isOverlappingOtherSlime(Slime slime, int[] pixelPosition) {
-        Rectangle rectangle_slime = new Rectangle(pixelPosition[0], pixelPosition[1], slime.getCurrentSprite().getWidth()+1, slime.getCurrentSprite().getHeight()+1);
-        for (Slime blob : SlimeInfo.getSlimes()) {
-            Rectangle rectangle = new Rectangle(blob.getPixelPosition()[0], blob.getPixelPosition()[1], blob.getCurrentSprite().getWidth() + 1, blob.getCurrentSprite().getHeight() + 1);
-            if (!slime.equals(blob) && rectangle.intersects(rectangle_slime)) {
-                if (slime.getSchool() !=null && blob.getSchool() != null) {
-                    if (slime.getSchool().getNbSlimes() > blob.getSchool().getNbSlimes() && blob.getVelocity()[0]!=0)
-                        blob.switchSchool(slime.getSchool());
-                    else if (slime.getSchool().getNbSlimes() < blob.getSchool().getNbSlimes())
-                        slime.switchSchool(blob.getSchool());
-                } return true;
+        return isOverlappingOtherSlime(slime, pixelPosition[0], pixelPosition[1]);
+    }
+
+    /**
+     * Return true when the given slime overlaps with another slime, if it were at the given pixel column and row.
+     *
+     * @param slime The given slime.
+     * @param pixelX The pixel column of the given slime.
+     * @param pixelY The pixel row of the given slime.
+     * @return | result == isOverlappingOtherSlime(slime, new int[]{pixelX, pixelY})
+     * @post | if (getSnapshot() != null)
+     *       |    then the other slimes are compared in the state of getSnapshot(), and a contact is registered with
+     *       |    every one of them the given slime overlaps with
+     */
+    public boolean isOverlappingOtherSlime(Slime slime, int pixelX, int pixelY) {
+        Sprite sprite = slime.getCurrentSprite();
+        if (snapshot != null) {
+            // Every slime that is run into is a contact, so that the contacts do not depend on the order of the index.
+            boolean overlapping = false;
+            for (Slime blob : overlappingSlimes(slime, pixelX, pixelY)) {
+                if (blob != slime && snapshot.contains(blob) && intersects(snapshot.getPixelX(blob), snapshot.getPixelY(blob),
+                        snapshot.getWidth(blob) + 1, snapshot.getHeight(blob) + 1, pixelX, pixelY, sprite.getWidth() + 1, sprite.getHeight() + 1)) {
+                    if (slime.getSchool() != null && blob.getSchool() != null)
+                        recordSlimeContact(slime, blob, true, snapshot.getVelocityX(blob) != 0);
+                    overlapping = true;
+                }
+            }
+            return overlapping;
+        }
+        for (Slime blob : overlappingSlimes(slime, pixelX, pixelY)) {
+            Sprite blobSprite = blob.getCurrentSprite();
+            if (!slime.equals(blob) && intersects(blob.getPixelX(), blob.getPixelY(), blobSprite.getWidth() + 1, blobSprite.getHeight() + 1,
+                    pixelX, pixelY, sprite.getWidth() + 1, sprite.getHeight() + 1)) {
+                if (slime.getSchool() !=null && blob.getSchool() != null)
+                    recordSlimeContact(slime, blob, true, blob.getVelocityX() != 0);
+                return true;
             }
         } return false;
     }
 
+    /**
+     * Return the slimes of this world that can overlap with the given slime if it were at the given pixel column and row.
+     *   The returned list is reused by the next call of this method in the same thread.
+     *
+     * @param slime The given slime.
+     * @param pixelX The pixel column of the given slime.
+     * @param pixelY The pixel row of the given slime.
+     * @return | result == the slimes of getSpatialIndex() whose cells overlap with the pixel square
+     *         |    pixelX..pixelX + slime.getCurrentSprite().getWidth(),
+     *         |    pixelY..pixelY + slime.getCurrentSprite().getHeight()
+     */
+    private List<Slime> overlappingSlimes(Slime slime, int pixelX, int pixelY) {
+        List<Slime> candidates = slimeCandidates.get();
+        candidates.clear();
+        collectGameObjects(pixelX, pixelY, pixelX + slime.getCurrentSprite().getWidth(),
+                pixelY + slime.getCurrentSprite().getHeight(), Slime.class, candidates);
+        return candidates;
+    }
+
+    /**
+     * Variable referencing the list overlappingSlimes collects its slimes in per thread, so that no list is created
+     *   per call and the partitions of slimes advanced in parallel do not share it.
+     */
+    private final ThreadLocal<List<Slime>> slimeCandidates = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Register that the two given slimes of different schools touched each other. While this world advances its objects,
+     *   the contact is resolved at the end of the tick by resolveSlimeContacts; otherwise it is resolved right away.
+     *
+     * @param slime The slime that touched the other slime.
+     * @param blob The slime that was touched.
+     * @param slimeMayMove Whether the given slime may move to the school of the given blob.
+     * @param blobMayMove Whether the given blob may move to the school of the given slime.
+     * @effect | if (! isAdvancingGameObjects())
+     *         |    then resolveSlimeContacts()
+     */
+    void recordSlimeContact(Slime slime, Slime blob, boolean slimeMayMove, boolean blobMayMove) {
+        if (slime.getSchool() == blob.getSchool())
+            return;
+        if (slime.getId() > blob.getId()) {
+            Slime swapped = slime;
+            slime = blob;
+            blob = swapped;
+            boolean swappedMayMove = slimeMayMove;
+            slimeMayMove = blobMayMove;
+            blobMayMove = swappedMayMove;
+        }
+        // Partitions of slimes advanced in parallel record their contacts in the same list; the order in which
+        //   they do so does not matter, as resolveSlimeContacts sorts the contacts.
+        synchronized (slimeContacts) {
+            SlimeContact contact = new SlimeContact(slime, blob);
+            SlimeContact recorded = slimeContactsByPair.putIfAbsent(contact, contact);
+            if (recorded == null)
+                slimeContacts.add(contact);
+            else
+                contact = recorded;
+            contact.firstMayMove |= slimeMayMove;
+            contact.secondMayMove |= blobMayMove;
+        }
+        if (! isAdvancingGameObjects())
+            resolveSlimeContacts();
+    }
+
+    /**
+     * Let the slimes that touched a slime of a larger school during this tick join that school,
+     *   and forget all contacts of this tick.
+     *   The contacts are handled in a fixed order: the contacts with the largest school first, and contacts with
+     *   schools of the same size by the ids of their slimes. Of two touching slimes, the slime of the smaller school
+     *   switches to the larger school, if it may; slimes of schools of the same size stay where they are.
+     *
+     * @effect | for each contact in the contacts of this tick, in the described order:
+     *         |    if (contact.first.getSchool().getNbSlimes() > contact.second.getSchool().getNbSlimes() && contact.secondMayMove
+     *         |            && contact.second.canSwitchSchool(contact.first.getSchool()))
+     *         |       then contact.second.switchSchool(contact.first.getSchool())
+     *         |    else if (contact.first.getSchool().getNbSlimes() < contact.second.getSchool().getNbSlimes() && contact.firstMayMove
+     *         |            && contact.first.canSwitchSchool(contact.second.getSchool()))
+     *         |       then contact.first.switchSchool(contact.second.getSchool())
+     */
+    private void resolveSlimeContacts() {
+        if (slimeContacts.isEmpty())
+            return;
+        for (SlimeContact contact : slimeContacts)
+            contact.rank = Math.max(schoolSize(contact.first), schoolSize(contact.second));
+        slimeContacts.sort(SLIME_CONTACT_ORDER);
+        for (SlimeContact contact : slimeContacts) {
+            Slime first = contact.first, second = contact.second;
+            if (first.isTerminated() || second.isTerminated() || first.getSchool() == null || second.getSchool() == null
+                    || first.getSchool() == second.getSchool())
+                continue;
+            if (first.getSchool().getNbSlimes() > second.getSchool().getNbSlimes() && contact.secondMayMove
+                    && second.canSwitchSchool(first.getSchool()))
+                second.switchSchool(first.getSchool());
+            else if (first.getSchool().getNbSlimes() < second.getSchool().getNbSlimes() && contact.firstMayMove
+                    && first.canSwitchSchool(second.getSchool()))
+                first.switchSchool(second.getSchool());
+        }
+        slimeContacts.clear();
+        slimeContactsByPair.clear();
+    }
+
+    /**
+     * Return the number of slimes in the school of the given slime, or 0 if it has no school.
+     */
+    private static int schoolSize(Slime slime) {
+        return (slime.getSchool() == null) ? 0 : slime.getSchool().getNbSlimes();
+    }
+
+    /**
+     * Return the number of contacts between slimes of different schools that are not resolved yet.
+     */
+    public int getNbSlimeContacts() {
+        return slimeContacts.size();
+    }
+
+    /**
+     * A contact between two slimes of different schools during one tick, with the slime with the smallest id first.
+     */
+    private static class SlimeContact {
+
+        SlimeContact(Slime first, Slime second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        final Slime first, second;
+        boolean firstMayMove, secondMayMove;
+        int rank;
+
+        /**
+         * Check whether this contact is a contact between the same two slimes as the given object.
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof SlimeContact))
+                return false;
+            SlimeContact contact = (SlimeContact) other;
+            return contact.first == first && contact.second == second;
+        }
+
+        /**
+         * Return the hash code of this contact.
+         */
+        @Override
+        public int hashCode() {
+            return first.hashCode() * 31 + second.hashCode();
+        }
+    }
+
+    /**
+     * The order in which the contacts of a tick are resolved: the contacts with the largest school first,
+     *   then by the ids of the slimes.
+     */
+    private static final Comparator<SlimeContact> SLIME_CONTACT_ORDER = (a, b) -> {
+        if (a.rank != b.rank)
+            return Integer.compare(b.rank, a.rank);
+        if (!a.first.getId().equals(b.first.getId()))
+            return Long.compare(a.first.getId(), b.first.getId());
+        return Long.compare(a.second.getId(), b.second.getId());
+    };
+
+    /**
+     * Variable referencing the contacts between slimes of different schools during the current tick.
+     */
+    private final List<SlimeContact> slimeContacts = new ArrayList<>();
+
+    /**
+     * Variable referencing the contacts of the current tick by the two slimes they are between, so that a contact
+     *   recorded twice is found without going over all contacts.
+     */
+    private final Map<SlimeContact, SlimeContact> slimeContactsByPair = new HashMap<>();
+
     /**
      * Manages the hitpoints of the iven plant & mazub when colliding with a plant.
      *
+     * The time Mazub has been eating a Skullcab is kept in the slot of the Skullcab in the damage store,
+     * time = getDamageStore().getContactTime(slot).
+     *
      * @param plant The given plant to check collision for.
      * @param dt The timeDifference whith which the plant is advanced
      * @post | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && plant instanceof Skullcab)
-     *       |    then new.plant.timer[3] == old.plant.timer[3] + dt
-     * @post | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && (!plant instanceof Skullcab || plant.timer[3] >= 0) && !plant.isDead() && getMazub().getHitPoints() != 500)
-     *       |    then new.plant.timer[3] == old.plant.timer[3] + dt
-     * @post | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && plant instanceof Skullcab && !plant.isDead() && getMazub().getHitPoints() != 500)
-     *       |    then new.plant.timer[3] == old.plant.timer[3] - plant.DELAY_LOSING_HITPOINTS
-     * @effect | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && (!(plant instanceof Skullcab) || ((Skullcab) plant).timer[3] >= 0) && !plant.isDead() && getMazub().getHitPoints() != 500))
+     *       |    then new.time == old.time + dt
+     * @post | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && plant instanceof Skullcab && time >= 0 && !plant.isDead() && getMazub().getHitPoints() != 500)
+     *       |    then new.time == old.time + dt - plant.DELAY_LOSING_HITPOINTS
+     * @effect | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && (!(plant instanceof Skullcab) || time >= 0) && !plant.isDead() && getMazub().getHitPoints() != 500))
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() + 50)
      * @effect | if (plant.getHitPoints() == 0)
      *         |    then plant.terminate()
@@ -946,14 +1470,35 @@ public class World {
      *         |    then getMazub().setHitPoints(getMazub().getHitPoints() - 20)
      * @effect | if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant) && plant.isDead())
      *         |    then plant.terminate()
-     * @post | if ((plant.isTerminated() || getMazub() == null || !isOverlapping(getMazub(), plant)) && plant instanceof Skullcab)
-     *       |    then plant.timer[3] = 0
+     * @post | if (!plant.isTerminated() && (getMazub() == null || !isOverlapping(getMazub(), plant)) && plant instanceof Skullcab)
+     *       |    then new.time == 0
+     * @effect | wakePlant(plant)
+     * @post | if (getSnapshot() != null)
+     *       |    then the contact of the given plant with Mazub in getSnapshot() is committed at the end of the step
+     *       |    instead, with the time difference of the step
      */
     public void managePlantCollision(Plant plant, double dt) {
-        if (!plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant)) {
-            if (plant instanceof Skullcab) ((Skullcab) plant).timer[3] += dt;
-            if ((!(plant instanceof Skullcab) || ((Skullcab) plant).timer[3] >= 0) && !plant.isDead() && getMazub().getHitPoints() != 500) {
-                if (plant instanceof Skullcab) ((Skullcab) plant).timer[3] -= ((Skullcab) plant).DELAY_LOSING_HITPOINTS;
+        wakePlant(plant);
+        if (snapshot != null) {
+            checkedPlants.add(plant);
+            if (getMazub() != null && snapshot.contains(getMazub()) && snapshot.overlaps(getMazub(), plant))
+                plantContacts.add(plant);
+        } else
+            resolvePlantContact(plant, !plant.isTerminated() && getMazub() != null && isOverlapping(getMazub(), plant), dt);
+    }
+
+    /**
+     * Let Mazub eat the given plant if the given plant touches Mazub, or let the given plant forget that it was
+     *   being eaten otherwise, as described by managePlantCollision.
+     */
+    private void resolvePlantContact(Plant plant, boolean touchesMazub, double dt) {
+        int slot = plant.getDamageSlot();
+        if (touchesMazub) {
+            // A Skullcab without a slot in the damage store has no contact time, so Mazub cannot eat it.
+            if (plant instanceof Skullcab && slot >= 0) damageStore.setContactTime(slot, damageStore.getContactTime(slot) + dt);
+            if ((!(plant instanceof Skullcab) || (slot >= 0 && damageStore.getContactTime(slot) >= 0)) && !plant.isDead() && getMazub().getHitPoints() != 500) {
+                if (plant instanceof Skullcab)
+                    damageStore.setContactTime(slot, damageStore.getContactTime(slot) - ((Skullcab) plant).DELAY_LOSING_HITPOINTS);
                 getMazub().setHitPoints(getMazub().getHitPoints() + 50);
                 plant.setHitPoints(plant.getHitPoints() - 1);
                 if (plant.getHitPoints() == 0)
@@ -963,7 +1508,7 @@ public class World {
                 plant.terminate();
             }
         } else {
-            if (plant instanceof Skullcab) ((Skullcab) plant).timer[3] = 0;
+            if (plant instanceof Skullcab && slot >= 0) damageStore.setContactTime(slot, 0);
         }
     }
 
@@ -976,20 +1521,51 @@ public class World {
      *        The geologicalFeature to look for.
      * @param distanceBorder
      *        The distance between the outer layer border  and the layer to check (for inner and outer layer).
-     * @return | for each pixel in gameObject:
-     *         |    if (getGeologicalFeature(calculateTile(gameObject.getPixelPosition()[0] + i, gameObject.getPixelPosition()[1] + j)) == geologicalFeature.getValue())
-     *         |        then result == true
-     *         | result == false
+     * @return | result == (getGeologicalFeatureMask(gameObject, distanceBorder) & geologicalFeature.getMask()) != 0
      */
     public boolean overlapsWithGeologicalFeature(GameObject gameObject, GeologicalFeature geologicalFeature, int distanceBorder) {
-        int width = gameObject.getCurrentSprite().getWidth() - 2 * distanceBorder, height = gameObject.getCurrentSprite().getHeight() - 2 * distanceBorder;
-        for (int i = distanceBorder; i <= width; i++)
-            for (int j = distanceBorder+1; j <= height; j++) {
-                int calcT = calculateTile(gameObject.getPixelPosition()[0] + i, gameObject.getPixelPosition()[1] + j);
-                if (calcT < getGeologicalFeatures().length && getGeologicalFeature(calcT) == geologicalFeature.getValue())
-                    return true;
-            }
-        return false;
+        return (getGeologicalFeatureMask(gameObject, distanceBorder) & geologicalFeature.getMask()) != 0;
+    }
+
+    /**
+     * Return a bitmask of all the geologicalFeatures the inner layer of the given gameObject overlaps with.
+     *
+     * @param gameObject
+     *        The given gameobject to check.
+     * @param distanceBorder
+     *        The distance between the outer layer border  and the layer to check (for inner and outer layer).
+     * @return | result == getGeologicalFeatureMask(gameObject.getPixelX() + distanceBorder,
+     *         |                gameObject.getPixelY() + distanceBorder + 1,
+     *         |                gameObject.getPixelX() + gameObject.getCurrentSprite().getWidth() - 2 * distanceBorder,
+     *         |                gameObject.getPixelY() + gameObject.getCurrentSprite().getHeight() - 2 * distanceBorder)
+     */
+    public int getGeologicalFeatureMask(GameObject gameObject, int distanceBorder) {
+        int pixelX = gameObject.getPixelX(), pixelY = gameObject.getPixelY();
+        return getGeologicalFeatureMask(pixelX + distanceBorder, pixelY + distanceBorder + 1,
+                pixelX + gameObject.getCurrentSprite().getWidth() - 2 * distanceBorder,
+                pixelY + gameObject.getCurrentSprite().getHeight() - 2 * distanceBorder);
+    }
+
+    /**
+     * Return a bitmask of all the geologicalFeatures the given pixel square overlaps with.
+     *
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
+     * @return | for each pixel (x, y) in the given square:
+     *         |    (result & GeologicalFeature.maskOf(getGeologicalFeature(calculateTile(x, y)))) != 0
+     *         | if (pixelRight < pixelLeft || pixelTop < pixelBottom)
+     *         |    then result == 0
+     */
+    public int getGeologicalFeatureMask(int pixelLeft, int pixelBottom, int pixelRight, int pixelTop) {
+        if (pixelRight < pixelLeft || pixelTop < pixelBottom)
+            return 0;
+        return terrain.getFeatureMask(pixelToTile(pixelLeft), pixelToTile(pixelRight), pixelToTile(pixelBottom), pixelToTile(pixelTop));
     }
 
     /**
@@ -999,12 +1575,33 @@ public class World {
      *        The first GameObject to compare.
      * @param b
      *        The second Gameobject to compare.
-     * @return | result == rectangle_a.intersects(rectangle_b)
+     * @return | result == intersects(a.getPixelX(), a.getPixelY(), a.getCurrentSprite().getWidth() + 1, a.getCurrentSprite().getHeight() + 1,
+     *         |                       b.getPixelX(), b.getPixelY(), b.getCurrentSprite().getWidth() + 1, b.getCurrentSprite().getHeight() + 1)
      */
     public static boolean isOverlapping(GameObject a, GameObject b){
-        Rectangle rectangle_a = new Rectangle(a.getPixelPosition()[0], a.getPixelPosition()[1], a.getCurrentSprite().getWidth()+1, a.getCurrentSprite().getHeight()+1);
-        Rectangle rectangle_b = new Rectangle(b.getPixelPosition()[0], b.getPixelPosition()[1], b.getCurrentSprite().getWidth()+1, b.getCurrentSprite().getHeight()+1);
-        return rectangle_a.intersects(rectangle_b);
+        Sprite spriteA = a.getCurrentSprite(), spriteB = b.getCurrentSprite();
+        return intersects(a.getPixelX(), a.getPixelY(), spriteA.getWidth() + 1, spriteA.getHeight() + 1,
+                b.getPixelX(), b.getPixelY(), spriteB.getWidth() + 1, spriteB.getHeight() + 1);
+    }
+
+    /**
+     * Return if the two given rectangles intersect, the same way java.awt.Rectangle.intersects does:
+     * a rectangle covers the columns x..x+width-1 and the rows y..y+height-1, and an empty rectangle intersects nothing.
+     *
+     * @param xA The left column of the first rectangle.
+     * @param yA The bottom row of the first rectangle.
+     * @param widthA The width of the first rectangle.
+     * @param heightA The height of the first rectangle.
+     * @param xB The left column of the second rectangle.
+     * @param yB The bottom row of the second rectangle.
+     * @param widthB The width of the second rectangle.
+     * @param heightB The height of the second rectangle.
+     * @return | result == new Rectangle(xA, yA, widthA, heightA).intersects(new Rectangle(xB, yB, widthB, heightB))
+     */
+    public static boolean intersects(int xA, int yA, int widthA, int heightA, int xB, int yB, int widthB, int heightB) {
+        if (widthA <= 0 || heightA <= 0 || widthB <= 0 || heightB <= 0)
+            return false;
+        return xA < xB + widthB && xB < xA + widthA && yA < yB + heightB && yB < yA + heightA;
     }
 
     /**
@@ -1014,22 +1611,34 @@ public class World {
      *        The GameObjects leftBottom pixelPosition.
      * @param pixelRightTop
      *        The GameObjects rightTop pixelPosition.
-     * @return | for each pixel in the given square:
-     *         |    for each geologicalFeature of GeologicalFeature.impassableFeat():
-     *         |       if (getWorld().getGeologicalFeature(getWorld().calculateTile(pixelLeftBottom[0] + i, pixelLeftBottom[1] + j)) == geologicalFeature)
-     *         |          then result == true
-     *         | result == false
+     * @return | result == containsImpassableTerrain(pixelLeftBottom[0], pixelLeftBottom[1], pixelRightTop[0], pixelRightTop[1])
      */
     public boolean containsImpassableTerrain(int[] pixelLeftBottom, int[] pixelRightTop) {
-        int squareWidth = pixelRightTop[0] - pixelLeftBottom[0], squareHeight = pixelRightTop[1] - pixelLeftBottom[1];
-        for (int i = 0; i <= squareWidth; i++)
-            for (int j = 0; j <= squareHeight; j++) {
-                int tile = calculateTile(pixelLeftBottom[0] + i, pixelLeftBottom[1] + j);
-                for (GeologicalFeature geologicalFeature : GeologicalFeature.impassableFeat())
-                    if (tile < getGeologicalFeatures().length && getGeologicalFeature(tile) == geologicalFeature.getValue())
-                        return true;
-            }
-        return false;
+        return containsImpassableTerrain(pixelLeftBottom[0], pixelLeftBottom[1], pixelRightTop[0], pixelRightTop[1]);
+    }
+
+    /**
+     * Checks if the given pixel square overlaps a tile with an impassable geologicalFeature.
+     * Only the tiles covered by the square are visited, not every pixel.
+     *
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
+     * @return | for each pixel (x, y) in the given square:
+     *         |    if (GeologicalFeature.impassableFeat() contains the feature of getGeologicalFeature(calculateTile(x, y)))
+     *         |       then result == true
+     *         | result == false
+     */
+    public boolean containsImpassableTerrain(int pixelLeft, int pixelBottom, int pixelRight, int pixelTop) {
+        if (pixelRight < pixelLeft || pixelTop < pixelBottom)
+            return false;
+        return terrain.containsFeature(GeologicalFeature.impassableMask(),
+                pixelToTile(pixelLeft), pixelToTile(pixelRight), pixelToTile(pixelBottom), pixelToTile(pixelTop));
     }
 
 // #####################################################################################################################
@@ -1041,22 +1650,30 @@ public class World {
      *        The gameObject that needs to be checked.
      * @param newPos
      *        The position to check for collisions.
-     * @return | result == containsImpassableTerrain(pixelLeftBottom, pixelRightTop)
-     *         |            || objectCollisionInPixelSquare(gameObject, pixelLeftBottom, pixelRightTop, Slime.class)
+     * @return | result == checkVerticalCollision(gameObject, gameObject.getPositionY() < newPos[1])
      */
     public boolean checkVerticalCollision(GameObject gameObject, double[] newPos) {
-        int[] pixelLeftBottom, pixelRightTop;
-        int width = gameObject.getCurrentSprite().getWidth(), height = gameObject.getCurrentSprite().getHeight();
-        if (gameObject.getActualPosition()[1] < newPos[1]) {
-            pixelLeftBottom = new int[]{gameObject.getPixelPosition()[0] +1, gameObject.getPixelPosition()[1] + height};
-            pixelRightTop = new int[]{gameObject.getPixelPosition()[0] + width -2, gameObject.getPixelPosition()[1] + height};
-        } else {
-            pixelLeftBottom = new int[]{gameObject.getPixelPosition()[0] + 1, gameObject.getPixelPosition()[1]};
-            pixelRightTop = new int[]{gameObject.getPixelPosition()[0] + width -2, gameObject.getPixelPosition()[1]};
-        }
-        return containsImpassableTerrain(pixelLeftBottom, pixelRightTop)
-                || objectCollisionInPixelSquare(gameObject, pixelLeftBottom, pixelRightTop, Slime.class);
+        return checkVerticalCollision(gameObject, gameObject.getPositionY() < newPos[1]);
+    }
 
+    /**
+     * Checks for a collision of this gameObject with its ceiling, the row right above it, or with its floor, its
+     *   bottom row.
+     *
+     * @param gameObject
+     *        The gameObject that needs to be checked.
+     * @param ceiling
+     *        Whether to check the ceiling or the floor of the gameObject.
+     * @return | result == gameObject.getContactState().touches(ceiling ? ContactState.CEILING : ContactState.FLOOR)
+     *         |            || objectCollisionInPixelSquare(gameObject, pixelLeft, pixelRow, pixelRight, pixelRow, Slime.class)
+     *         |    with pixelLeft == gameObject.getPixelX() + 1 && pixelRight == gameObject.getPixelX() + gameObject.getCurrentSprite().getWidth() - 2
+     *         |    && pixelRow == (ceiling ? gameObject.getPixelY() + gameObject.getCurrentSprite().getHeight() : gameObject.getPixelY())
+     */
+    public boolean checkVerticalCollision(GameObject gameObject, boolean ceiling) {
+        int pixelLeft = gameObject.getPixelX() + 1, pixelRight = gameObject.getPixelX() + gameObject.getCurrentSprite().getWidth() - 2;
+        int pixelRow = ceiling ? gameObject.getPixelY() + gameObject.getCurrentSprite().getHeight() : gameObject.getPixelY();
+        return gameObject.getContactState().touches(ceiling ? ContactState.CEILING : ContactState.FLOOR)
+                || objectCollisionInPixelSquare(gameObject, pixelLeft, pixelRow, pixelRight, pixelRow, Slime.class);
     }
 
     /**
@@ -1066,44 +1683,93 @@ public class World {
      *        The gameObject that needs to be checked.
      * @param newPos
      *        The new position to check for collisions.
-     * @return | result == containsImpassableTerrain(pixelLeftBottom, pixelRightTop)
-     *         |            || objectCollisionInPixelSquare(gameObject, pixelLeftBottom, pixelRightTop, Slime.class)
+     * @return | result == checkHorizontalCollision(gameObject, gameObject.getPositionX() < newPos[0])
      */
     public boolean checkHorizontalCollision(GameObject gameObject, double[] newPos) {
-        int[] pixelLeftBottom, pixelRightTop;
-        int width = gameObject.getCurrentSprite().getWidth(), height = gameObject.getCurrentSprite().getHeight();
-        if (gameObject.getActualPosition()[0] < newPos[0]) {
-            pixelLeftBottom = new int[]{gameObject.getPixelPosition()[0] + width, gameObject.getPixelPosition()[1]+1};
-            pixelRightTop = new int[]{gameObject.getPixelPosition()[0] + width, gameObject.getPixelPosition()[1] + height -2};
-        } else {
-            pixelLeftBottom = new int[]{gameObject.getPixelPosition()[0], gameObject.getPixelPosition()[1]+1};
-            pixelRightTop = new int[]{gameObject.getPixelPosition()[0], gameObject.getPixelPosition()[1] + height - 2};
-        }
-        return containsImpassableTerrain(pixelLeftBottom, pixelRightTop)
-                || objectCollisionInPixelSquare(gameObject, pixelLeftBottom, pixelRightTop, Slime.class);
+        return checkHorizontalCollision(gameObject, gameObject.getPositionX() < newPos[0]);
+    }
+
+    /**
+     * Checks for a collision of this gameObject at its right side, the column right next to it, or at its left side,
+     *   its left column.
+     *
+     * @param gameObject
+     *        The gameObject that needs to be checked.
+     * @param right
+     *        Whether to check the right or the left side of the gameObject.
+     * @return | result == gameObject.getContactState().touches(right ? ContactState.RIGHT : ContactState.LEFT)
+     *         |            || objectCollisionInPixelSquare(gameObject, pixelColumn, pixelBottom, pixelColumn, pixelTop, Slime.class)
+     *         |    with pixelBottom == gameObject.getPixelY() + 1 && pixelTop == gameObject.getPixelY() + gameObject.getCurrentSprite().getHeight() - 2
+     *         |    && pixelColumn == (right ? gameObject.getPixelX() + gameObject.getCurrentSprite().getWidth() : gameObject.getPixelX())
+     */
+    public boolean checkHorizontalCollision(GameObject gameObject, boolean right) {
+        int pixelBottom = gameObject.getPixelY() + 1, pixelTop = gameObject.getPixelY() + gameObject.getCurrentSprite().getHeight() - 2;
+        int pixelColumn = right ? gameObject.getPixelX() + gameObject.getCurrentSprite().getWidth() : gameObject.getPixelX();
+        return gameObject.getContactState().touches(right ? ContactState.RIGHT : ContactState.LEFT)
+                || objectCollisionInPixelSquare(gameObject, pixelColumn, pixelBottom, pixelColumn, pixelTop, Slime.class);
     }
 
     /**
      * Return true when he collides with an impassable terrain.
      *
      * @param slime The given slime to check collision for.
-     * @return | result == containsImpassableTerrain(pixelLeftBottom, pixelRightTop)
+     * @return | result == slime.getContactState().touches((slime.getOrientation() == 1) ? ContactState.RIGHT : ContactState.LEFT)
      */
     public boolean horizontalSlimeCollision(Slime slime) {
-        int[] pixelLeftBottom, pixelRightTop;
-        int width = slime.getCurrentSprite().getWidth(), height = slime.getCurrentSprite().getHeight();
-        if (slime.getOrientation() == 1) {
-            pixelLeftBottom = new int[]{slime.getPixelPosition()[0] + width, slime.getPixelPosition()[1]+1};
-            pixelRightTop = new int[]{slime.getPixelPosition()[0] + width, slime.getPixelPosition()[1] + height -2};
-        } else {
-            pixelLeftBottom = new int[]{slime.getPixelPosition()[0], slime.getPixelPosition()[1]+1};
-            pixelRightTop = new int[]{slime.getPixelPosition()[0], slime.getPixelPosition()[1] + height - 2};
+        return slime.getContactState().touches((slime.getOrientation() == 1) ? ContactState.RIGHT : ContactState.LEFT);
+    }
+
+    /**
+     * Return the collision probe of the given sprite in this world, or null if no GameObject with that sprite has been
+     *   added to this world.
+     *
+     * @return | if (result != null)
+     *         |    then result.getWidth() == sprite.getWidth() && result.getHeight() == sprite.getHeight()
+     *         |       && result.getTileSize() == getTileSize()
+     */
+    public CollisionProbe getCollisionProbe(Sprite sprite) {
+        return collisionProbes.get(sprite);
+    }
+
+    /**
+     * Register a collision probe for every sprite of the given GameObject. Sprites of the same size share one probe.
+     *   The probes are made when the GameObject is added, so that slimes advanced in parallel only read them.
+     *
+     * @param gameObject
+     *        The GameObject whose sprites get a probe.
+     * @post | for each sprite in gameObject.getSprites():
+     *       |    new.getCollisionProbe(sprite) != null
+     */
+    private void registerCollisionProbes(GameObject gameObject) {
+        for (Sprite sprite : gameObject.getSprites()) {
+            if (sprite == null || collisionProbes.containsKey(sprite))
+                continue;
+            long size = ((long) sprite.getWidth() << 32) | sprite.getHeight();
+            CollisionProbe probe = probesBySize.get(size);
+            if (probe == null) {
+                probe = new CollisionProbe(sprite.getWidth(), sprite.getHeight(), getTileSize());
+                probesBySize.put(size, probe);
+            }
+            collisionProbes.put(sprite, probe);
         }
-        return containsImpassableTerrain(pixelLeftBottom, pixelRightTop);
     }
 
+    /**
+     * Variable referencing the collision probe of every sprite of the GameObjects added to this world.
+     *   The probes are kept when their GameObjects leave this world: the GameObjects of one kind mostly share their
+     *   sprites, so there are only as many as there are different sprites added, and slimes advanced in parallel
+     *   read them while others are terminated.
+     */
+    private final Map<Sprite, CollisionProbe> collisionProbes = new IdentityHashMap<>();
+
+    /**
+     * Variable referencing the collision probes of this world by the width and the height of their sprites.
+     */
+    private final Map<Long, CollisionProbe> probesBySize = new HashMap<>();
+
     /**
      * Check if there is an object of the given objectType in the square defined by pixelLeftBottom and pixelRightTop.
+     *   Every candidate from the spatial index is compared with the whole square at once, instead of pixel by pixel.
      *
      * @param gameObject
      *        The gameObject that needs to be checked.
@@ -1113,61 +1779,108 @@ public class World {
      *        The top right corner of this mazub.
      * @param objectType
      *        The type of Object that we are searchin for in the square.
-     * @return | for each pixel in the pixelSquare:
-     *         |    if (detectsObjectTypeInObject(new int[] {pixelLeftBottom[0] + i, pixelLeftBottom[1] + j}, objectType))
+     * @return | for each object in getGameObjectSet():
+     *         |    if (object != gameObject && object.getClass() == objectType
+     *         |        && overlapsPixelSquare(object, pixelLeftBottom[0], pixelLeftBottom[1], pixelRightTop[0], pixelRightTop[1]))
      *         |       then result == true
      *         | result == false
      */
     public boolean objectCollisionInPixelSquare(GameObject gameObject, int[] pixelLeftBottom, int[] pixelRightTop, Class objectType) {
-        int squareWidth = pixelRightTop[0] - pixelLeftBottom[0], squareHeight = pixelRightTop[1] - pixelLeftBottom[1];
-        for (int i = 0; i <= squareWidth; i++)
-            for (int j = 0; j <= squareHeight; j++)
-                if (detectsObjectTypeInObject(gameObject, new int[] {pixelLeftBottom[0] + i, pixelLeftBottom[1] + j}, objectType))
-                    return true;
-        return false;
+        return objectCollisionInPixelSquare(gameObject, pixelLeftBottom[0], pixelLeftBottom[1], pixelRightTop[0], pixelRightTop[1], objectType);
     }
 
     /**
-     * Detects if the object contains the given objectType.
+     * Check if there is an object of the given objectType in the given pixel square.
      *
      * @param gameObject
      *        The gameObject that needs to be checked.
-     * @param pixelPosition
-     * 		  The pixelPosition of the object.
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
      * @param objectType
-     * 		  The object type we are checking for in the pixel
-     * @return | for each object in GameObjectSet:
-     *         |    if (pixel[0] >= object.getPixelPosition()[0]  && pixel[0] <= object.getPixelPosition()[0] + object.getCurrentSprite().getWidth() - 1
-     *         |        && pixel[1] >= object.getPixelPosition()[1] && pixel[1] <= object.getPixelPosition()[1] + object.getCurrentSprite().getHeight() - 1
-     *         |        && object != this && object.getClass() == objectType)
-     *         |       then result == true
-     *         | result == false
+     *        The type of Object that we are searchin for in the square.
+     * @return | result == objectCollisionInPixelSquare(gameObject, new int[]{pixelLeft, pixelBottom}, new int[]{pixelRight, pixelTop}, objectType)
+     * @post | if (getSnapshot() != null)
+     *       |    then the other objects are compared in the state of getSnapshot()
+     */
+    @SuppressWarnings("unchecked")
+    public boolean objectCollisionInPixelSquare(GameObject gameObject, int pixelLeft, int pixelBottom, int pixelRight, int pixelTop, Class objectType) {
+        if (objectType == null || pixelRight < pixelLeft || pixelTop < pixelBottom)
+            return false;
+        probeCandidates.clear();
+        collectGameObjects(pixelLeft, pixelBottom, pixelRight, pixelTop, (Class<? extends GameObject>) objectType, probeCandidates);
+        try {
+            for (GameObject object : probeCandidates) {
+                if (object == gameObject || object.getClass() != objectType)
+                    continue;
+                if (snapshot != null && snapshot.contains(object)) {
+                    int left = snapshot.getPixelX(object), bottom = snapshot.getPixelY(object);
+                    if (pixelRight >= left && pixelTop >= bottom && pixelLeft <= left + snapshot.getWidth(object) - 1
+                            && pixelBottom <= bottom + snapshot.getHeight(object) - 1)
+                        return true;
+                } else if (overlapsPixelSquare(object, pixelLeft, pixelBottom, pixelRight, pixelTop))
+                    return true;
+            }
+            return false;
+        } finally {
+            probeCandidates.clear();
+        }
+    }
+
+    /**
+     * Check whether the pixels covered by the current sprite of the given object overlap with the given pixel square.
+     *
+     * @param object
+     *        The object to check.
+     * @param pixelLeft
+     *        The left pixel column of the square.
+     * @param pixelBottom
+     *        The bottom pixel row of the square.
+     * @param pixelRight
+     *        The right pixel column of the square.
+     * @param pixelTop
+     *        The top pixel row of the square.
+     * @return | result == pixelRight >= object.getPixelX() && pixelTop >= object.getPixelY()
+     *         |     && pixelLeft <= object.getPixelRight() && pixelBottom <= object.getPixelTop()
      */
-    private boolean detectsObjectTypeInObject(GameObject gameObject, int[] pixelPosition, Class objectType) {
-        for (GameObject object: getGameObjectSet())
-            if (object != gameObject && object.getClass() == objectType
-                    && pixelPosition[0] >= object.getPixelPosition()[0] && pixelPosition[1] >= object.getPixelPosition()[1]
-                    && pixelPosition[0] <= object.getPixelPosition()[0] + object.getCurrentSprite().getWidth() - 1
-                    && pixelPosition[1] <= object.getPixelPosition()[1] + object.getCurrentSprite().getHeight() - 1)
-                return true;
-        return false;
+    private static boolean overlapsPixelSquare(GameObject object, int pixelLeft, int pixelBottom, int pixelRight, int pixelTop) {
+        return pixelRight >= object.getPixelX() && pixelTop >= object.getPixelY()
+                && pixelLeft <= object.getPixelRight() && pixelBottom <= object.getPixelTop();
     }
 
+    /**
+     * Variable referencing the list objectCollisionInPixelSquare collects its candidates in, so that no list is created per call.
+     */
+    private final List<GameObject> probeCandidates = new ArrayList<>();
+
     /**
      * Detects if there is an object thats not a plant that collides with the given gameObject.
      *
      * @param gameObject
      *        The given gameObject to check.
-     * @return | for each object in getGameObjectSet():
-     *         |     if (!(object instanceof Plant) && !(gameObject instanceof Plant) && rectangle2.intersects(rectangle1))
+     * @return | for each object in getSpatialIndex() near gameObject:
+     *         |     if (!(object instanceof Plant) && !(gameObject instanceof Plant)
+     *         |            && intersects(object.getPixelX(), object.getPixelY(), object.getCurrentSprite().getWidth(), object.getCurrentSprite().getHeight(),
+     *         |                          gameObject.getPixelX(), gameObject.getPixelY(), gameObject.getCurrentSprite().getWidth(), gameObject.getCurrentSprite().getHeight()))
      *         |        then reult == true
      *         | result == false
      */
     public boolean detectsObjectInObject(GameObject gameObject) {
-        Rectangle rectangle1 = new Rectangle(gameObject.getPixelPosition()[0], gameObject.getPixelPosition()[1], gameObject.getCurrentSprite().getWidth(), gameObject.getCurrentSprite().getHeight());
-        for (GameObject object : getGameObjectSet()) {
-            Rectangle rectangle2 = new Rectangle(object.getPixelPosition()[0], object.getPixelPosition()[1], object.getCurrentSprite().getWidth(),object.getCurrentSprite().getHeight());
-            if (!(object instanceof Plant) && !(gameObject instanceof Plant) && rectangle2.intersects(rectangle1))
+        if (gameObject instanceof Plant)
+            return false;
+        int x = gameObject.getPixelX(), y = gameObject.getPixelY();
+        int width = gameObject.getCurrentSprite().getWidth(), height = gameObject.getCurrentSprite().getHeight();
+        List<GameObject> candidates = new ArrayList<>();
+        collectGameObjects(x, y, x + width - 1, y + height - 1, null, candidates);
+        for (GameObject object : candidates) {
+            Sprite sprite = object.getCurrentSprite();
+            if (!(object instanceof Plant) && !(gameObject instanceof Plant)
+                    && intersects(object.getPixelX(), object.getPixelY(), sprite.getWidth(), sprite.getHeight(), x, y, width, height))
                 return true;
         } return false;
     }
@@ -1183,12 +1896,155 @@ public class World {
      *         | result == false
      */
     public boolean containsImpassableTerrain(GameObject gameObject, int dist) {
-        for (GeologicalFeature geoFeauture : GeologicalFeature.impassableFeat()) {
-            if (overlapsWithGeologicalFeature(gameObject, geoFeauture, dist))
-                return true;
-        } return false;
+        int pixelX = gameObject.getPixelX(), pixelY = gameObject.getPixelY();
+        return containsImpassableTerrain(pixelX + dist, pixelY + dist + 1,
+                pixelX + gameObject.getCurrentSprite().getWidth() - 2 * dist,
+                pixelY + gameObject.getCurrentSprite().getHeight() - 2 * dist);
     }
 
+// #####################################################################################################################
+
+    /**
+     * Check whether Mazub skips its collision checks in the parts of a frame in which the swept box of its largest
+     *   sprite cannot reach terrain, a geological feature other than air, another GameObject or a border of this world.
+     */
+    @Basic
+    public boolean isSweepingMazub() {
+        return this.sweepingMazub;
+    }
+
+    /**
+     * Let Mazub sweep its box through this world or check its collisions in every step.
+     *
+     * @param sweepingMazub
+     *        Whether Mazub sweeps its box through this world.
+     * @post | new.isSweepingMazub() == sweepingMazub
+     */
+    public void setSweepingMazub(boolean sweepingMazub) {
+        this.sweepingMazub = sweepingMazub;
+    }
+
+    /**
+     * Variable registering whether Mazub sweeps its box through this world.
+     */
+    private boolean sweepingMazub = true;
+
+    /**
+     * Return the time in seconds, at most the given horizon, for which the given GameObject can move before any pixel
+     *   its collision checks look at can reach terrain, a geological feature other than air, another GameObject or a
+     *   border of this world. The box of the largest sprite of the GameObject, grown by a pixel to each side, is swept
+     *   along each axis separately: an obstacle can only be reached once the box has moved over the gap to it along
+     *   both axes, so its time of impact is the largest of the times needed to close both gaps.
+     *
+     * @param gameObject
+     *        The GameObject to sweep.
+     * @param speedX
+     *        An upper bound in m/s on the horizontal distance the GameObject moves per second.
+     * @param speedY
+     *        An upper bound in m/s on the vertical distance the GameObject moves per second.
+     * @param grounded
+     *        Whether the GameObject rests on the top row of a tile row it keeps standing on. The impassable tiles of
+     *        that row are no obstacles, every other tile of that row is.
+     * @param horizon
+     *        The time in seconds to sweep over.
+     * @return | result >= 0 && result <= horizon
+     * @return | if (grounded && (gameObject.getPixelY() + 1) % getTileSize() != 0)
+     *         |    then result == 0
+     */
+    public double getTimeOfImpact(GameObject gameObject, double speedX, double speedY, boolean grounded, double horizon) {
+        int pixelX = gameObject.getPixelX(), pixelY = gameObject.getPixelY();
+        if (grounded && (pixelY + 1) % getTileSize() != 0)
+            return 0;
+        if (grounded)
+            speedY = 0;
+        int[] size = getLargestSpriteSize(gameObject);
+        int left = pixelX - 1, bottom = pixelY - 1, right = pixelX + size[0] + 1, top = pixelY + size[1] + 1;
+        double pixelSpeedX = speedX * 100, pixelSpeedY = speedY * 100;
+        int reachX = (int) Math.ceil(pixelSpeedX * horizon) + 1, reachY = (int) Math.ceil(pixelSpeedY * horizon) + 1;
+        int sweptLeft = left - reachX, sweptBottom = bottom - reachY, sweptRight = right + reachX, sweptTop = top + reachY;
+        double time = horizon;
+        if (sweptLeft < 0)
+            time = Math.min(time, timeToClose(left + 1, pixelSpeedX));
+        if (sweptBottom < 0)
+            time = Math.min(time, timeToClose(bottom + 1, pixelSpeedY));
+        if (sweptRight >= getWidth())
+            time = Math.min(time, timeToClose(getWidth() - right, pixelSpeedX));
+        if (sweptTop >= getHeight())
+            time = Math.min(time, timeToClose(getHeight() - top, pixelSpeedY));
+        int firstTileX = pixelToTile(Math.max(sweptLeft, 0)), lastTileX = pixelToTile(Math.min(sweptRight, getWidth() - 1));
+        int firstTileY = pixelToTile(Math.max(sweptBottom, 0)), lastTileY = pixelToTile(Math.min(sweptTop, getHeight() - 1));
+        int floorRow = grounded ? pixelToTile(pixelY) : -1;
+        if (grounded || terrain.getFeatureMask(firstTileX, lastTileX, firstTileY, lastTileY) != GeologicalFeature.AIR.getMask()) {
+            int tileSize = getTileSize(), nbTilesX = getNbTiles()[0];
+            for (int tileY = firstTileY; tileY <= lastTileY && time > 0; tileY++) {
+                for (int tileX = firstTileX; tileX <= lastTileX && time > 0; tileX++) {
+                    int feature = terrain.getGeologicalFeature(tileX + tileY * nbTilesX);
+                    boolean isFloor = (GeologicalFeature.maskOf(feature) & GeologicalFeature.impassableMask()) != 0;
+                    if ((tileY == floorRow) ? isFloor : feature == GeologicalFeature.AIR.getValue())
+                        continue;
+                    time = Math.min(time, timeOfImpact(left, bottom, right, top, tileX * tileSize, tileY * tileSize,
+                            tileX * tileSize + tileSize - 1, tileY * tileSize + tileSize - 1, pixelSpeedX, pixelSpeedY));
+                }
+            }
+        }
+        sweepCandidates.clear();
+        collectGameObjects(sweptLeft, sweptBottom, sweptRight, sweptTop, null, sweepCandidates);
+        for (GameObject object : sweepCandidates) {
+            if (object == gameObject || time == 0)
+                continue;
+            int objectX, objectY, objectWidth, objectHeight;
+            if (snapshot != null && snapshot.contains(object)) {
+                objectX = snapshot.getPixelX(object);
+                objectY = snapshot.getPixelY(object);
+                objectWidth = snapshot.getWidth(object);
+                objectHeight = snapshot.getHeight(object);
+            } else {
+                objectX = object.getPixelX();
+                objectY = object.getPixelY();
+                objectWidth = object.getCurrentSprite().getWidth();
+                objectHeight = object.getCurrentSprite().getHeight();
+            }
+            time = Math.min(time, timeOfImpact(left, bottom, right, top, objectX, objectY,
+                    objectX + objectWidth, objectY + objectHeight, pixelSpeedX, pixelSpeedY));
+        }
+        sweepCandidates.clear();
+        return Math.max(time, 0);
+    }
+
+    /**
+     * Return the time in seconds a box moving at most the given speeds in pixels per second needs before it can
+     *   overlap with the given obstacle.
+     *
+     * @return | result == Math.max(timeToClose(Math.max(obstacleLeft - right, left - obstacleRight), pixelSpeedX),
+     *         |                     timeToClose(Math.max(obstacleBottom - top, bottom - obstacleTop), pixelSpeedY))
+     */
+    private static double timeOfImpact(int left, int bottom, int right, int top, int obstacleLeft, int obstacleBottom,
+                                       int obstacleRight, int obstacleTop, double pixelSpeedX, double pixelSpeedY) {
+        return Math.max(timeToClose(Math.max(obstacleLeft - right, left - obstacleRight), pixelSpeedX),
+                timeToClose(Math.max(obstacleBottom - top, bottom - obstacleTop), pixelSpeedY));
+    }
+
+    /**
+     * Return the time in seconds needed to close the given gap in pixels at the given speed in pixels per second.
+     *   A position in meters can reach one pixel further than its distance, so a gap of one pixel is closed at once.
+     *
+     * @return | if (gap <= 1)
+     *         |    then result == 0
+     *         | else if (pixelSpeed == 0)
+     *         |    then result == Double.POSITIVE_INFINITY
+     *         | else result == (gap - 1) / pixelSpeed
+     */
+    private static double timeToClose(int gap, double pixelSpeed) {
+        if (gap <= 1)
+            return 0;
+        return (pixelSpeed == 0) ? Double.POSITIVE_INFINITY : (gap - 1) / pixelSpeed;
+    }
+
+    /**
+     * Variable referencing the list getTimeOfImpact collects its candidates in, so that no list is created per call.
+     */
+    private final List<GameObject> sweepCandidates = new ArrayList<>();
+
 // #####################################################################################################################
 
     /**
@@ -1275,12 +2131,116 @@ public class World {
 
 // #####################################################################################################################
 
+    /**
+     * Return the fixed time step in seconds with which this world advances its objects,
+     *   or 0 if every object picks its own time steps.
+     */
+    @Basic
+    public double getFixedTimeStep() {
+        return this.fixedTimeStep;
+    }
+
+    /**
+     * Return the maximum number of fixed time steps this world takes in one call to advanceTime.
+     */
+    @Basic
+    public int getMaxStepsPerFrame() {
+        return this.maxStepsPerFrame;
+    }
+
+    /**
+     * Check whether this world advances its objects with a fixed time step.
+     *
+     * @return | result == (getFixedTimeStep() > 0)
+     */
+    public boolean hasFixedTimeStep() {
+        return getFixedTimeStep() > 0;
+    }
+
+    /**
+     * Check whether the given time step and maximum number of steps can be used to advance this world.
+     *
+     * @param fixedTimeStep
+     *        The time step to check.
+     * @param maxStepsPerFrame
+     *        The maximum number of steps to check.
+     * @return | result == (!Double.isNaN(fixedTimeStep) && fixedTimeStep >= 0 && fixedTimeStep <= 0.2 && maxStepsPerFrame >= 1)
+     */
+    public static boolean isValidFixedTimeStep(double fixedTimeStep, int maxStepsPerFrame) {
+        return !Double.isNaN(fixedTimeStep) && fixedTimeStep >= 0 && fixedTimeStep <= 0.2 && maxStepsPerFrame >= 1;
+    }
+
+    /**
+     * Let this world advance all its objects with the given fixed time step, taking at most the given number
+     *   of steps per call to advanceTime. A time step of 0 lets every object pick its own time steps again.
+     *
+     * @param fixedTimeStep
+     *        The time step in seconds, or 0.
+     * @param maxStepsPerFrame
+     *        The maximum number of steps per call to advanceTime.
+     * @post | new.getFixedTimeStep() == fixedTimeStep
+     * @post | new.getMaxStepsPerFrame() == maxStepsPerFrame
+     * @post | new.getTimeAccumulator() == 0
+     * @throws IllegalArgumentException
+     *         | ! isValidFixedTimeStep(fixedTimeStep, maxStepsPerFrame)
+     */
+    public void setFixedTimeStep(double fixedTimeStep, int maxStepsPerFrame) throws IllegalArgumentException {
+        if (! isValidFixedTimeStep(fixedTimeStep, maxStepsPerFrame))
+            throw new IllegalArgumentException("Not a valid fixed time step");
+        this.fixedTimeStep = fixedTimeStep;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.timeAccumulator = 0;
+    }
+
+    /**
+     * Return the time in seconds that has been given to advanceTime, but that is not yet simulated
+     *   because it is shorter than one fixed time step.
+     */
+    @Basic
+    public double getTimeAccumulator() {
+        return this.timeAccumulator;
+    }
+
+    /**
+     * Variable registering the fixed time step of this world, or 0 if every object picks its own time steps.
+     */
+    private double fixedTimeStep = 0;
+
+    /**
+     * Variable registering the maximum number of fixed time steps per call to advanceTime.
+     */
+    private int maxStepsPerFrame = DEFAULT_MAX_STEPS_PER_FRAME;
+
+    /**
+     * Variable registering the time that is not yet simulated with a fixed time step.
+     */
+    private double timeAccumulator = 0;
+
+    /**
+     * The default maximum number of fixed time steps per call to advanceTime.
+     */
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 20;
+
+    /**
+     * The relative rounding error allowed when the time accumulator is compared with the fixed time step,
+     *   so that for instance three frames of 0.01 seconds are three steps of 0.01 seconds.
+     */
+    private static final double TIME_STEP_TOLERANCE = 1e-9;
+
     /**
      * Advances the time of this World and all it's objects with the given timeDiference.
+     *   With a fixed time step, the given time is added to the time accumulator and the objects are advanced
+     *   with whole steps, at most getMaxStepsPerFrame() of them. Time that would need more steps than that
+     *   is dropped, so that a slow frame does not make the next frame slower.
      *
      * @param dt The given time difference.
-     * @effect | for each gameObject of getGameObjectSet()
-     *         |    gameObject.advanceTime(dt)
+     * @effect | if (! hasFixedTimeStep())
+     *         |    then advanceGameObjects(dt)
+     * @effect | if (hasFixedTimeStep())
+     *         |    then for each step in 1..min(getMaxStepsPerFrame(), (getTimeAccumulator() + dt) / getFixedTimeStep()):
+     *         |        advanceGameObjects(getFixedTimeStep())
+     * @post | if (hasFixedTimeStep())
+     *       |    then new.getTimeAccumulator() < getFixedTimeStep()
      * @effect | manageVisbleWindowPosition()
      * @throws IllegalArgumentException
      *         | Double.isNaN(dt) || Double.isInfinite(dt) || (dt > 0.2) || (dt < 0)
@@ -1288,13 +2248,732 @@ public class World {
     public void advanceTime(double dt) throws IllegalArgumentException {
         if (Double.isNaN(dt) || Double.isInfinite(dt) || (dt > 0.2) || (dt < 0))
             throw new IllegalArgumentException();
-        if (getMazub() != null)
-            getMazub().advanceTime(dt);
-        for (GameObject object : getGameObjectSet())
-            if (!(object instanceof Mazub))
-                object.advanceTime(dt);
+        if (! hasFixedTimeStep())
+            advanceGameObjects(dt);
+        else {
+            double step = getFixedTimeStep();
+            timeAccumulator += dt;
+            int steps = 0;
+            while (timeAccumulator >= step * (1 - TIME_STEP_TOLERANCE) && steps < getMaxStepsPerFrame()) {
+                advanceGameObjects(step);
+                timeAccumulator -= step;
+                steps++;
+            }
+            if (timeAccumulator >= step * (1 - TIME_STEP_TOLERANCE))
+                timeAccumulator %= step;
+            timeAccumulator = Math.max(timeAccumulator, 0);
+        }
         manageVisbleWindowPosition();
     }
 
+    /**
+     * Advance Mazub and then all other GameObjects of this world with the given time difference.
+     *   Dormant plants are skipped: they only follow the plant time of this world.
+     *
+     * @param dt The given time difference.
+     * @effect | wakePlants(dt)
+     * @post | if (isTwoPhaseUpdate())
+     *       |    then the GameObjects are advanced while getSnapshot() holds their state after wakePlants(dt),
+     *       |    and commitStep(dt) is performed after them
+     * @effect | if (getSlimePool() != null && !isTwoPhaseUpdate())
+     *         |    then advanceSlimesInParallel(dt)
+     * @effect | for each gameObject of getGameObjectSet()
+     *         |    if ((!(gameObject instanceof Plant) || !((Plant) gameObject).isDormant())
+     *         |            && the gameObject was not advanced by advanceSlimesInParallel(dt))
+     *         |       then gameObject.advanceTime(dt)
+     * @post | new.getNbParallelSlimes() == the number of slimes advanced by advanceSlimesInParallel(dt)
+     * @effect | resolveSlimeContacts()
+     * @effect | addPlantFrame((float) dt, hasFixedTimeStep())
+     * @post | new.getPlantStepTime() == getPlantStepTime() + Plant.getSteppedTime(dt, hasFixedTimeStep())
+     * @effect | sleepPlants()
+     */
+    private void advanceGameObjects(double dt) {
+        advancingGameObjects = true;
+        try {
+            wakePlants(dt);
+            if (isTwoPhaseUpdate())
+                snapshot = takeSnapshot();
+            if (getMazub() != null)
+                getMazub().advanceTime(dt);
+            if (getSlimePool() != null && !isTwoPhaseUpdate())
+                advanceSlimesInParallel(dt);
+            forEachGameObject(object -> {
+                if (!(object instanceof Mazub) && !(object instanceof Plant && ((Plant) object).isDormant())
+                        && !parallelSlimes.contains(object))
+                    object.advanceTime(dt);
+            });
+            if (snapshot != null)
+                commitStep(dt);
+        } finally {
+            if (snapshot != null) {
+                releaseSnapshot();
+                clearPendingChanges();
+            }
+            advancingGameObjects = false;
+            nbParallelSlimes = parallelSlimes.size();
+            parallelSlimes.clear();
+        }
+        resolveSlimeContacts();
+        // Plants add the time of a frame as a float to the time they have lived.
+        addPlantFrame((float) dt, hasFixedTimeStep());
+        plantStepTime += Plant.getSteppedTime(dt, hasFixedTimeStep());
+        sleepPlants();
+    }
+
+    /**
+     * Check whether this world is advancing its GameObjects. Contacts between slimes found meanwhile are resolved
+     *   when all GameObjects have been advanced.
+     */
+    @Basic
+    public boolean isAdvancingGameObjects() {
+        return this.advancingGameObjects;
+    }
+
+    /**
+     * Variable registering whether this world is advancing its GameObjects.
+     */
+    private boolean advancingGameObjects;
+
+// #####################################################################################################################
+
+    /**
+     * Check whether this world advances its GameObjects in two phases: during a step every GameObject reads the
+     *   other GameObjects in a snapshot of the state they had at the start of the step, and every change a
+     *   GameObject makes to another GameObject is committed at the end of the step. The outcome of a step then
+     *   does not depend on the order in which the GameObjects are advanced.
+     */
+    @Basic
+    public boolean isTwoPhaseUpdate() {
+        return this.twoPhaseUpdate;
+    }
+
+    /**
+     * Let this world advance its GameObjects in two phases or one after the other. A world in two phases advances
+     *   all its slimes one after the other, whatever its slime pool.
+     *
+     * @param twoPhaseUpdate
+     *        Whether this world advances its GameObjects in two phases.
+     * @post | new.isTwoPhaseUpdate() == twoPhaseUpdate
+     */
+    public void setTwoPhaseUpdate(boolean twoPhaseUpdate) {
+        this.twoPhaseUpdate = twoPhaseUpdate;
+    }
+
+    /**
+     * Variable registering whether this world advances its GameObjects in two phases.
+     */
+    private boolean twoPhaseUpdate;
+
+    /**
+     * Return a snapshot of the current state of the GameObjects of this world.
+     *
+     * @return | for each gameObject in getGameObjectSet():
+     *         |    result.contains(gameObject)
+     * @return | result.getNbGameObjects() == getNbGameObjects()
+     */
+    public WorldSnapshot takeSnapshot() {
+        List<GameObject> objects = new ArrayList<>(liveGameObjects.size());
+        forEachGameObject(objects::add);
+        return new WorldSnapshot(objects);
+    }
+
+    /**
+     * Return the snapshot the GameObjects of this world read each other in during the current two-phase step,
+     *   or null if this world is not in such a step. Meanwhile the spatial index of this world keeps every
+     *   GameObject where it was at the start of the step.
+     */
+    @Basic
+    public WorldSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Variable referencing the snapshot of the current two-phase step.
+     */
+    private WorldSnapshot snapshot;
+
+    /**
+     * Stop reading the snapshot of the current two-phase step, and bring the spatial index up to date with the
+     *   GameObjects that moved or were terminated during the step.
+     *
+     * @post | new.getSnapshot() == null
+     */
+    private void releaseSnapshot() {
+        snapshot = null;
+        for (GameObject gameObject : pendingRemovals)
+            spatialIndex.remove(gameObject);
+        pendingRemovals.clear();
+        forEachGameObject(spatialIndex::update);
+    }
+
+    /**
+     * Commit the changes the GameObjects of this world made to each other during the current two-phase step
+     *   with the given time difference. Every change is committed once, however many times and by whichever
+     *   GameObject it was found, in an order that only depends on the snapshot of the step and on the ids of
+     *   the slimes:
+     *   - first, the hits of water and gas on slimes cost the other slimes of their schools a hit point,
+     *     by the ids of the hit slimes;
+     *   - then Mazub eats or is hurt by the plants it touched in the snapshot, from left to right and from
+     *     bottom to top, with the time difference of the step;
+     *   - last, the slimes that touched Mazub in the snapshot hurt Mazub and themselves, by their ids, until
+     *     Mazub has become invulnerable.
+     *   The contacts between slimes are resolved afterwards by resolveSlimeContacts, as in every step.
+     *
+     * @param dt The time difference of the step.
+     * @pre | getSnapshot() != null
+     * @effect | releaseSnapshot()
+     */
+    private void commitStep(double dt) {
+        WorldSnapshot committed = snapshot;
+        releaseSnapshot();
+        pendingSchoolHits.sort(Comparator.comparingLong(Slime::getId));
+        for (Slime slime : pendingSchoolHits)
+            if (slime.getSchool() != null)
+                slime.getSchool().addHitpointsToSchool(slime, -1);
+        List<Plant> plants = new ArrayList<>(checkedPlants);
+        plants.sort(Comparator.<Plant>comparingInt(committed::getPixelX).thenComparingInt(committed::getPixelY)
+                .thenComparingInt(committed::rowOf));
+        for (Plant plant : plants)
+            resolvePlantContact(plant, !plant.isTerminated() && getMazub() != null && plantContacts.contains(plant), dt);
+        List<Slime> slimes = new ArrayList<>(slimeHits);
+        slimes.sort(Comparator.comparingLong(Slime::getId));
+        for (Slime slime : slimes)
+            if (!slime.isDead() && !slime.isTerminated() && getMazub() != null && !getMazub().isDead()
+                    && !getMazub().isInvulnerable())
+                hitMazubWithSlime(slime);
+        clearPendingChanges();
+    }
+
+    /**
+     * Forget the changes registered during the current two-phase step.
+     */
+    private void clearPendingChanges() {
+        pendingSchoolHits.clear();
+        checkedPlants.clear();
+        plantContacts.clear();
+        slimeHits.clear();
+    }
+
+    /**
+     * Variable referencing the GameObjects terminated during the current two-phase step, which leave the spatial
+     *   index at the end of the step.
+     */
+    private final List<GameObject> pendingRemovals = new ArrayList<>();
+
+    /**
+     * Variable referencing the slimes that lost hit points in water or gas during the current two-phase step,
+     *   once for every hit.
+     */
+    private final List<Slime> pendingSchoolHits = new ArrayList<>();
+
+    /**
+     * Variables referencing the plants that looked for Mazub during the current two-phase step, and the plants
+     *   among them that touched Mazub in the snapshot of the step.
+     */
+    private final Set<Plant> checkedPlants = Collections.newSetFromMap(new IdentityHashMap<>()),
+            plantContacts = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Variable referencing the slimes that touched Mazub in the snapshot of the current two-phase step.
+     */
+    private final Set<Slime> slimeHits = Collections.newSetFromMap(new IdentityHashMap<>());
+
+// #####################################################################################################################
+
+    /**
+     * Return the pool with which this world advances the slimes that cannot meet Mazub or the other slimes
+     *   in parallel, or null if this world advances all its slimes one after the other.
+     */
+    @Basic
+    public ForkJoinPool getSlimePool() {
+        return this.slimePool;
+    }
+
+    /**
+     * Let this world advance its slimes in parallel with the given pool, or one after the other if the given
+     *   pool is null. Both ways give the same result.
+     *
+     * @param slimePool
+     *        The pool to advance the slimes with.
+     * @post | new.getSlimePool() == slimePool
+     */
+    public void setSlimePool(ForkJoinPool slimePool) {
+        this.slimePool = slimePool;
+    }
+
+    /**
+     * Variable referencing the pool with which this world advances its slimes in parallel.
+     */
+    private ForkJoinPool slimePool;
+
+    /**
+     * Return the number of slimes this world advanced in parallel during the last step in which it advanced
+     *   its GameObjects.
+     */
+    @Basic
+    public int getNbParallelSlimes() {
+        return this.nbParallelSlimes;
+    }
+
+    /**
+     * Variable registering the number of slimes advanced in parallel during the last step.
+     */
+    private int nbParallelSlimes;
+
+    /**
+     * Advance, with the slime pool of this world, the slimes of this world that are sure to stay out of reach
+     *   of Mazub and of the slimes of the other partitions during the given time difference.
+     *   Every slime claims the cells of the spatial index its sprite can reach. Slimes that claim the same cell
+     *   or belong to the same school end up in the same partition. A partition is advanced in parallel when
+     *   none of its slimes can touch Mazub, leave the world, touch magma or lose all its hit points, and when
+     *   there are at least two of them; its slimes are advanced one after the other in the order of this world.
+     *   All other slimes are left to the loop over all GameObjects, so that every slime ends up in the same state
+     *   as when all slimes are advanced one after the other.
+     *
+     * @param dt The given time difference.
+     * @post | for each slime advanced:
+     *       |    parallelSlimes.contains(slime)
+     */
+    private void advanceSlimesInParallel(double dt) {
+        List<Slime> slimes = new ArrayList<>();
+        forEachGameObject(object -> {
+            if (object instanceof Slime)
+                slimes.add((Slime) object);
+        });
+        int nbSlimes = slimes.size();
+        if (nbSlimes < 2)
+            return;
+        // Every hit of water or gas takes at least 0.3 seconds of hazard time, and costs every other slime of
+        //   the school one hit point.
+        int[] hits = new int[nbSlimes];
+        Map<School, Integer> schoolHits = new IdentityHashMap<>();
+        for (int i = 0; i < nbSlimes; i++) {
+            Slime slime = slimes.get(i);
+            hits[i] = (int) ((Math.max(damageStore.getHazardTime(slime.getDamageSlot()), 0) + dt) / SLIME_HIT_TIME);
+            if (slime.getSchool() != null)
+                schoolHits.merge(slime.getSchool(), hits[i], Integer::sum);
+        }
+        int[] mazubBox = null;
+        if (getMazub() != null) {
+            int[] size = getLargestSpriteSize(getMazub());
+            mazubBox = new int[]{getMazub().getPixelX(), getMazub().getPixelY(),
+                    getMazub().getPixelX() + size[0], getMazub().getPixelY() + size[1]};
+        }
+        int[] partition = new int[nbSlimes];
+        boolean[] serial = new boolean[nbSlimes];
+        Map<Integer, Integer> cellClaims = new HashMap<>();
+        Map<School, Integer> schoolClaims = new IdentityHashMap<>();
+        for (int i = 0; i < nbSlimes; i++) {
+            Slime slime = slimes.get(i);
+            partition[i] = i;
+            int[] size = getLargestSpriteSize(slime);
+            double speed = Math.abs(slime.getVelocityX())
+                    + Math.max(Math.abs(slime.getAccelerationX()), slime.getDefaultHorizontalAcceleration()) * dt;
+            int travel = (int) Math.ceil(speed * dt * 100) + SLIME_CLAIM_MARGIN;
+            int left = slime.getPixelX() - travel, right = slime.getPixelX() + size[0] + travel;
+            int bottom = slime.getPixelY() - SLIME_CLAIM_MARGIN, top = slime.getPixelY() + size[1] + SLIME_CLAIM_MARGIN;
+            int lostHitPoints = SLIME_HIT_POINTS * hits[i] + ((slime.getSchool() == null) ? 0 : schoolHits.get(slime.getSchool()));
+            serial[i] = slime.isDead() || left < 0 || right >= getWidth() || slime.getHitPoints() <= lostHitPoints
+                    || (mazubBox != null && left <= mazubBox[2] && mazubBox[0] <= right && bottom <= mazubBox[3] && mazubBox[1] <= top)
+                    || (getGeologicalFeatureMask(left, bottom, right, top) & GeologicalFeature.MAGMA.getMask()) != 0;
+            if (slime.getSchool() != null) {
+                Integer other = schoolClaims.putIfAbsent(slime.getSchool(), i);
+                if (other != null)
+                    joinPartitions(partition, i, other);
+            }
+            for (int cellY = spatialIndex.cellY(bottom); cellY <= spatialIndex.cellY(top); cellY++)
+                for (int cellX = spatialIndex.cellX(left); cellX <= spatialIndex.cellX(right); cellX++) {
+                    Integer other = cellClaims.putIfAbsent(cellX + cellY * spatialIndex.getNbCellsX(), i);
+                    if (other != null)
+                        joinPartitions(partition, i, other);
+                }
+        }
+        for (int i = 0; i < nbSlimes; i++)
+            if (serial[i])
+                serial[findPartition(partition, i)] = true;
+        Map<Integer, List<Slime>> partitions = new LinkedHashMap<>();
+        for (int i = 0; i < nbSlimes; i++) {
+            int root = findPartition(partition, i);
+            if (! serial[root])
+                partitions.computeIfAbsent(root, key -> new ArrayList<>()).add(slimes.get(i));
+        }
+        if (partitions.size() < 2)
+            return;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (List<Slime> members : partitions.values()) {
+            parallelSlimes.addAll(members);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (Slime slime : members)
+                    slime.advanceTime(dt);
+            }));
+        }
+        slimePool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    /**
+     * Return the representative of the partition of the given slime in the given forest of partitions.
+     */
+    private static int findPartition(int[] partition, int slime) {
+        while (partition[slime] != slime) {
+            partition[slime] = partition[partition[slime]];
+            slime = partition[slime];
+        }
+        return slime;
+    }
+
+    /**
+     * Join the partitions of the two given slimes in the given forest of partitions.
+     */
+    private static void joinPartitions(int[] partition, int slime, int other) {
+        int root = findPartition(partition, slime), otherRoot = findPartition(partition, other);
+        if (root != otherRoot)
+            partition[Math.max(root, otherRoot)] = Math.min(root, otherRoot);
+    }
+
+    /**
+     * Variable referencing the slimes advanced in parallel during the current step. It is only read while they are
+     *   advanced.
+     */
+    private final Set<Slime> parallelSlimes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The shortest hazard time in seconds between two hits of water or gas on a slime, and the most hit points
+     *   such a hit costs the slime itself.
+     */
+    private static final double SLIME_HIT_TIME = 0.3;
+    private static final int SLIME_HIT_POINTS = 4;
+
+    /**
+     * The number of pixels a slime claims around the pixels its sprite can reach, which covers the extra pixel
+     *   with which slimes are compared and the rounding of positions to pixels.
+     */
+    private static final int SLIME_CLAIM_MARGIN = 2;
+
+// #####################################################################################################################
+
+    /**
+     * Return the sum of the time differences of the steps the plants of this world have been advanced with.
+     *   The events of dormant plants are scheduled in this time.
+     */
+    @Basic
+    public double getPlantStepTime() {
+        return this.plantStepTime;
+    }
+
+    /**
+     * Variable registering the sum of the time differences of the steps the plants of this world have been
+     *   advanced with.
+     */
+    private double plantStepTime = 0;
+
+    /**
+     * Return the number of frames the plants of this world have been advanced with.
+     */
+    @Basic
+    public int getNbPlantFrames() {
+        return this.nbPlantFrames;
+    }
+
+    /**
+     * Return the time difference, as plants add it to the time they have lived, of the given plant frame.
+     *
+     * @param frame
+     *        The number of the frame.
+     * @pre A dormant plant of this world still has to catch up with the given frame.
+     *      | frame < getNbPlantFrames()
+     */
+    float getPlantFrameTime(int frame) {
+        return plantFrameTimes[frame - plantFrameBase];
+    }
+
+    /**
+     * Check whether the given plant frame was advanced with a fixed time step.
+     *
+     * @param frame
+     *        The number of the frame.
+     * @pre A dormant plant of this world still has to catch up with the given frame.
+     *      | frame < getNbPlantFrames()
+     */
+    boolean isFixedPlantFrame(int frame) {
+        return plantFrameFixed[frame - plantFrameBase];
+    }
+
+    /**
+     * Register a dormant plant that has to catch up from the given plant frame on instead of from the given
+     *   previous frame. A negative frame stands for no frame.
+     *
+     * @param previous
+     *        The frame from which the plant had to catch up before.
+     * @param frame
+     *        The frame from which the plant has to catch up now.
+     * @pre | frame <= getNbPlantFrames()
+     */
+    void movePlantSleeper(int previous, int frame) {
+        if (previous >= 0)
+            plantFrameSleepers[previous - plantFrameBase]--;
+        if (frame >= 0)
+            plantFrameSleepers[frame - plantFrameBase]++;
+    }
+
+    /**
+     * Append a frame with the given time difference to the plant frames of this world, and forget the frames
+     *   no dormant plant has to catch up with anymore.
+     *
+     * @param dt
+     *        The time difference of the frame.
+     * @param fixed
+     *        Whether the frame is advanced with a fixed time step.
+     * @post | new.getNbPlantFrames() == getNbPlantFrames() + 1
+     */
+    private void addPlantFrame(float dt, boolean fixed) {
+        while (firstPlantFrame < nbPlantFrames && plantFrameSleepers[firstPlantFrame - plantFrameBase] == 0)
+            firstPlantFrame++;
+        if (nbPlantFrames + 1 - plantFrameBase >= plantFrameTimes.length) {
+            // The frames from firstPlantFrame on are kept, up to and including the sleepers of the next frame.
+            int from = firstPlantFrame - plantFrameBase, to = nbPlantFrames + 1 - plantFrameBase;
+            int capacity = (to - from + 1 > plantFrameTimes.length / 2) ? 2 * plantFrameTimes.length : plantFrameTimes.length;
+            plantFrameTimes = Arrays.copyOf(Arrays.copyOfRange(plantFrameTimes, from, to), capacity);
+            plantFrameFixed = Arrays.copyOf(Arrays.copyOfRange(plantFrameFixed, from, to), capacity);
+            plantFrameSleepers = Arrays.copyOf(Arrays.copyOfRange(plantFrameSleepers, from, to), capacity);
+            plantFrameBase = firstPlantFrame;
+        }
+        plantFrameTimes[nbPlantFrames - plantFrameBase] = dt;
+        plantFrameFixed[nbPlantFrames - plantFrameBase] = fixed;
+        nbPlantFrames++;
+    }
+
+    /**
+     * Variables registering the number of plant frames of this world, the first frame a dormant plant may still
+     *   have to catch up with, and the frame stored at the start of the arrays below.
+     */
+    private int nbPlantFrames = 0, firstPlantFrame = 0, plantFrameBase = 0;
+
+    /**
+     * Variables registering, from plantFrameBase on, the time difference of every plant frame, whether it was
+     *   advanced with a fixed time step, and the number of dormant plants that have to catch up from it on.
+     */
+    private float[] plantFrameTimes = new float[16];
+    private boolean[] plantFrameFixed = new boolean[16];
+    private int[] plantFrameSleepers = new int[16];
+
+    /**
+     * Check whether this world lets plants that are far from Mazub sleep until their next change of direction,
+     *   death or termination.
+     */
+    @Basic
+    public boolean isSchedulingPlants() {
+        return this.schedulingPlants;
+    }
+
+    /**
+     * Let this world schedule its plants or advance all of them every frame.
+     *
+     * @param schedulingPlants
+     *        Whether this world schedules its plants.
+     * @post | new.isSchedulingPlants() == schedulingPlants
+     * @post | if (! schedulingPlants)
+     *       |    then new.getNbDormantPlants() == 0
+     */
+    public void setSchedulingPlants(boolean schedulingPlants) {
+        this.schedulingPlants = schedulingPlants;
+        if (! schedulingPlants) {
+            forEachGameObject(object -> {
+                if (object instanceof Plant)
+                    wakePlant((Plant) object);
+            });
+        }
+    }
+
+    /**
+     * Variable registering whether this world schedules its plants.
+     */
+    private boolean schedulingPlants;
+
+    /**
+     * Return the number of dormant plants in this world.
+     */
+    public int getNbDormantPlants() {
+        return this.nbDormantPlants;
+    }
+
+    /**
+     * Variable registering the number of dormant plants in this world.
+     */
+    private int nbDormantPlants;
+
+    /**
+     * Bring the given plant up to date and let this world advance it every frame again, if it is dormant.
+     *
+     * @param plant
+     *        The plant to wake up.
+     * @effect | plant.catchUp()
+     * @post | ! plant.isDormant()
+     * @post | the lifetime timer of the plant is not pending
+     */
+    void wakePlant(Plant plant) {
+        if (plant.isDormant()) {
+            plant.catchUp();
+            plant.setDormant(false);
+            plantTimers.cancel(plantLifetimeTimers.get(plant));
+            nbDormantPlants--;
+            activePlants.add(plant);
+        }
+    }
+
+    /**
+     * Wake up the dormant plants that change in the frame of the given time difference, and those that
+     *   Mazub might touch in that frame.
+     *
+     * @param dt
+     *        The time difference of the frame.
+     * @effect | getPlantTimerWheel().advanceTo(getPlantStepTime() + dt + PLANT_EVENT_MARGIN)
+     */
+    private void wakePlants(double dt) {
+        plantTimers.advanceTo(plantStepTime + dt + PLANT_EVENT_MARGIN);
+        Mazub mazub = getMazub();
+        if (mazub != null && nbDormantPlants > 0) {
+            int distance = getPlantWakeDistance(dt);
+            int[] size = getLargestSpriteSize(mazub);
+            int pixelX = mazub.getPixelX(), pixelY = mazub.getPixelY();
+            collectGameObjects(pixelX - distance, pixelY - distance, pixelX + size[0] + distance,
+                    pixelY + size[1] + distance, Plant.class, nearbyPlants);
+            for (Plant plant : nearbyPlants)
+                wakePlant(plant);
+            nearbyPlants.clear();
+        }
+    }
+
+    /**
+     * Let every awake plant of this world that will not change, leave this world or meet Mazub before its next
+     *   scheduled event fall asleep until that event.
+     */
+    private void sleepPlants() {
+        if (! isSchedulingPlants())
+            return;
+        for (Iterator<Plant> iterator = activePlants.iterator(); iterator.hasNext(); ) {
+            Plant plant = iterator.next();
+            double timeToNextChange = plant.getTimeToNextChange();
+            if (canSleep(plant, timeToNextChange)) {
+                iterator.remove();
+                if (plant instanceof Skullcab)
+                    damageStore.setContactTime(plant.getDamageSlot(), 0);
+                plant.setDormant(true);
+                nbDormantPlants++;
+                plantTimers.scheduleAt(plantLifetimeTimers.get(plant), plantStepTime + timeToNextChange);
+            }
+        }
+    }
+
+    /**
+     * Check whether the given plant can sleep for the given time.
+     *
+     * @param plant
+     *        The plant to check.
+     * @param time
+     *        The time in seconds until the next change of the plant.
+     * @return | result == time > PLANT_EVENT_MARGIN && !plant.isTerminated()
+     *         |    && plant stays inside this world for the given time, plus a margin
+     *         |    && (getMazub() == null || plant is farther than getPlantWakeDistance(0.2) from Mazub)
+     */
+    private boolean canSleep(Plant plant, double time) {
+        if (time <= PLANT_EVENT_MARGIN || plant.isTerminated())
+            return false;
+        // A dead plant does not move, but it is still terminated when its next step would leave this world.
+        double travel = (plant.isDead() ? 0 : time) + PLANT_TRAVEL_MARGIN;
+        double[] end = new double[]{plant.getPositionX() + plant.getVelocityX() * travel,
+                plant.getPositionY() + plant.getVelocityY() * travel};
+        if (!plant.canHaveAsActualPosition(end))
+            return false;
+        Mazub mazub = getMazub();
+        if (mazub == null)
+            return true;
+        int distance = getPlantWakeDistance(0.2);
+        int[] mazubSize = getLargestSpriteSize(mazub), plantSize = getLargestSpriteSize(plant);
+        int mazubX = mazub.getPixelX(), mazubY = mazub.getPixelY();
+        return !intersects(mazubX - distance, mazubY - distance, mazubSize[0] + 2 * distance, mazubSize[1] + 2 * distance,
+                plant.getPixelX(), plant.getPixelY(), plantSize[0], plantSize[1]);
+    }
+
+    /**
+     * Return the distance in pixels around Mazub within which dormant plants are woken up before a frame
+     *   of the given time difference.
+     *
+     * @param dt
+     *        The time difference of the frame.
+     * @return | result == PLANT_WAKE_DISTANCE + (int) Math.ceil(100 * (Math.abs(getMazub().getVelocityX())
+     *         |                + Math.abs(getMazub().getVelocityY()) + MAZUB_WAKE_SPEED) * dt)
+     */
+    private int getPlantWakeDistance(double dt) {
+        Mazub mazub = getMazub();
+        return PLANT_WAKE_DISTANCE + (int) Math.ceil(100 * (Math.abs(mazub.getVelocityX())
+                + Math.abs(mazub.getVelocityY()) + MAZUB_WAKE_SPEED) * dt);
+    }
+
+    /**
+     * Return the width and height in pixels of the largest sprites of the given GameObject.
+     */
+    private static int[] getLargestSpriteSize(GameObject gameObject) {
+        int width = 0, height = 0;
+        for (Sprite sprite : gameObject.getSprites()) {
+            width = Math.max(width, sprite.getWidth());
+            height = Math.max(height, sprite.getHeight());
+        }
+        return new int[]{width, height};
+    }
+
+    /**
+     * The time in seconds by which a scheduled plant event is woken up early. It covers the rounding errors
+     *   between the timers of a plant and the plant times of its world, and the difference between the time
+     *   a plant has lived and the time of its steps, which differ in the last digits of a float every frame.
+     */
+    private static final double PLANT_EVENT_MARGIN = 1e-4;
+
+    /**
+     * The time in seconds a plant must be able to move on beyond its next event before it may sleep.
+     *   It covers the step in which the plant is woken up.
+     */
+    private static final double PLANT_TRAVEL_MARGIN = 0.04;
+
+    /**
+     * The distance in pixels a dormant plant can be away from its cells in the spatial index plus the distance
+     *   it moves in one frame. A plant is brought up to date at least every time it turns around, so it moves
+     *   at most 0.5 m/s times half a second between two updates, and 0.1 meters in a frame.
+     */
+    private static final int PLANT_WAKE_DISTANCE = 40;
+
+    /**
+     * The speed in meters per second Mazub can gain within one frame, by jumping, running and falling.
+     */
+    private static final double MAZUB_WAKE_SPEED = 12;
+
+    /**
+     * Variable referencing the plants of this world that are awake.
+     */
+    private final Set<Plant> activePlants = new LinkedHashSet<>();
+
+    /**
+     * Variable referencing the plants near Mazub collected by wakePlants.
+     */
+    private final List<Plant> nearbyPlants = new ArrayList<>();
+
+    /**
+     * Return the wheel holding the lifetime timers of the plants of this world. Its clock runs on the plant
+     *   step time, ahead by the frame that is being advanced, and a timer wakes its plant when it expires.
+     */
+    @Basic @Immutable
+    public TimerWheel getPlantTimerWheel() {
+        return this.plantTimers;
+    }
+
+    /**
+     * Variable referencing the wheel holding the lifetime timers of the plants of this world.
+     */
+    private final TimerWheel plantTimers = new TimerWheel(TimerWheel.DEFAULT_TICK_LENGTH);
+
+    /**
+     * Variable referencing the lifetime timer of every plant of this world, pending while the plant is dormant.
+     */
+    private final Map<Plant, TimerWheel.Timer> plantLifetimeTimers = new IdentityHashMap<>();
+
 // #####################################################################################################################
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.*;
+import jumpingalien.util.Sprite;
+import java.util.*;
+
+/**
+ * An immutable copy of the state of the GameObjects of a world at one moment: the pixel square of their current
+ *   sprite, their velocity, their hit points and whether they are dead. A world in two-phase mode takes one at
+ *   the start of every step, so that its GameObjects read each other in the state they had before the step,
+ *   whatever the order in which they are advanced.
+ *
+ * @invar | getNbGameObjects() >= 0
+ */
+public class WorldSnapshot {
+
+    /**
+     * Initialize this new WorldSnapshot with the current state of the given GameObjects.
+     *
+     * @param gameObjects
+     *        The GameObjects to copy.
+     * @post | for each gameObject in gameObjects:
+     *       |    new.contains(gameObject) && new.getPixelX(gameObject) == gameObject.getPixelX()
+     *       |       && new.getPixelY(gameObject) == gameObject.getPixelY()
+     *       |       && new.getWidth(gameObject) == gameObject.getCurrentSprite().getWidth()
+     *       |       && new.getHeight(gameObject) == gameObject.getCurrentSprite().getHeight()
+     *       |       && new.getVelocityX(gameObject) == gameObject.getVelocityX()
+     *       |       && new.getVelocityY(gameObject) == gameObject.getVelocityY()
+     *       |       && new.getHitPoints(gameObject) == gameObject.getHitPoints()
+     *       |       && new.isDead(gameObject) == gameObject.isDead()
+     */
+    WorldSnapshot(Collection<? extends GameObject> gameObjects) {
+        int nbGameObjects = gameObjects.size();
+        rows = new IdentityHashMap<>(2 * nbGameObjects);
+        pixelX = new int[nbGameObjects];
+        pixelY = new int[nbGameObjects];
+        width = new int[nbGameObjects];
+        height = new int[nbGameObjects];
+        hitPoints = new int[nbGameObjects];
+        velocityX = new double[nbGameObjects];
+        velocityY = new double[nbGameObjects];
+        dead = new boolean[nbGameObjects];
+        invulnerable = new boolean[nbGameObjects];
+        int row = 0;
+        for (GameObject gameObject : gameObjects) {
+            Sprite sprite = gameObject.getCurrentSprite();
+            rows.put(gameObject, row);
+            pixelX[row] = gameObject.getPixelX();
+            pixelY[row] = gameObject.getPixelY();
+            width[row] = sprite.getWidth();
+            height[row] = sprite.getHeight();
+            hitPoints[row] = gameObject.getHitPoints();
+            velocityX[row] = gameObject.getVelocityX();
+            velocityY[row] = gameObject.getVelocityY();
+            dead[row] = gameObject.isDead();
+            invulnerable[row] = gameObject instanceof Mazub && ((Mazub) gameObject).isInvulnerable();
+            row++;
+        }
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Return the number of GameObjects in this snapshot.
+     */
+    @Basic @Immutable
+    public int getNbGameObjects() {
+        return pixelX.length;
+    }
+
+    /**
+     * Check whether this snapshot holds the state of the given GameObject.
+     */
+    @Basic @Immutable
+    public boolean contains(GameObject gameObject) {
+        return rows.containsKey(gameObject);
+    }
+
+    /**
+     * Return the row of the given GameObject in the columns of this snapshot, which is its position among the
+     *   GameObjects this snapshot was taken of.
+     *
+     * @throws IllegalArgumentException
+     *         | ! contains(gameObject)
+     */
+    int rowOf(GameObject gameObject) throws IllegalArgumentException {
+        Integer row = rows.get(gameObject);
+        if (row == null)
+            throw new IllegalArgumentException("Not a GameObject of this snapshot");
+        return row;
+    }
+
+    /**
+     * Return the pixel column of the left border of the given GameObject.
+     */
+    @Basic @Immutable
+    public int getPixelX(GameObject gameObject) { return pixelX[rowOf(gameObject)]; }
+
+    /**
+     * Return the pixel row of the bottom border of the given GameObject.
+     */
+    @Basic @Immutable
+    public int getPixelY(GameObject gameObject) { return pixelY[rowOf(gameObject)]; }
+
+    /**
+     * Return the width in pixels of the sprite of the given GameObject.
+     */
+    @Basic @Immutable
+    public int getWidth(GameObject gameObject) { return width[rowOf(gameObject)]; }
+
+    /**
+     * Return the height in pixels of the sprite of the given GameObject.
+     */
+    @Basic @Immutable
+    public int getHeight(GameObject gameObject) { return height[rowOf(gameObject)]; }
+
+    /**
+     * Return the horizontal velocity of the given GameObject in m/s.
+     */
+    @Basic @Immutable
+    public double getVelocityX(GameObject gameObject) { return velocityX[rowOf(gameObject)]; }
+
+    /**
+     * Return the vertical velocity of the given GameObject in m/s.
+     */
+    @Basic @Immutable
+    public double getVelocityY(GameObject gameObject) { return velocityY[rowOf(gameObject)]; }
+
+    /**
+     * Return the hit points of the given GameObject.
+     */
+    @Basic @Immutable
+    public int getHitPoints(GameObject gameObject) { return hitPoints[rowOf(gameObject)]; }
+
+    /**
+     * Check whether the given GameObject is dead.
+     */
+    @Basic @Immutable
+    public boolean isDead(GameObject gameObject) { return dead[rowOf(gameObject)]; }
+
+    /**
+     * Check whether the given GameObject is a Mazub that cannot be hurt by slimes.
+     */
+    @Basic @Immutable
+    public boolean isInvulnerable(GameObject gameObject) { return invulnerable[rowOf(gameObject)]; }
+
+    /**
+     * Check whether the given GameObjects overlap in this snapshot, the way World.isOverlapping compares them.
+     *
+     * @return | result == World.intersects(getPixelX(a), getPixelY(a), getWidth(a) + 1, getHeight(a) + 1,
+     *         |                            getPixelX(b), getPixelY(b), getWidth(b) + 1, getHeight(b) + 1)
+     */
+    public boolean overlaps(GameObject a, GameObject b) {
+        int rowA = rowOf(a), rowB = rowOf(b);
+        return World.intersects(pixelX[rowA], pixelY[rowA], width[rowA] + 1, height[rowA] + 1,
+                pixelX[rowB], pixelY[rowB], width[rowB] + 1, height[rowB] + 1);
+    }
+
+// #####################################################################################################################
+
+    /**
+     * Variable referencing the row of every GameObject of this snapshot.
+     */
+    private final IdentityHashMap<GameObject, Integer> rows;
+
+    /**
+     * Variables referencing the integer columns of this snapshot, indexed by row.
+     */
+    private final int[] pixelX, pixelY, width, height, hitPoints;
+
+    /**
+     * Variables referencing the velocity columns of this snapshot, indexed by row.
+     */
+    private final double[] velocityX, velocityY;
+
+    /**
+     * Variables referencing the boolean columns of this snapshot, indexed by row.
+     */
+    private final boolean[] dead, invulnerable;
+}
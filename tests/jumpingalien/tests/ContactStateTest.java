@@ -0,0 +1,121 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the sides at which GameObjects touch impassable terrain, comparing them with the pixel strips they stand
+ *   for.
+ */
+class ContactStateTest {
+
+	private static final Sprite[] PLANT_SPRITES = new Sprite[] { new Sprite("Plant Left", 23, 17),
+			new Sprite("Plant Right", 23, 17) };
+
+	private static final int NB_TILES = 20, TILE_SIZE = 10;
+
+	private static World createWorld(Random random) {
+		int[] features = new int[NB_TILES * NB_TILES];
+		for (int i = 0; i < features.length; i++)
+			features[i] = random.nextInt(4) == 0 ? GeologicalFeature.SOLID_GROUND.getValue()
+					: random.nextInt(4) == 0 ? GeologicalFeature.ICE.getValue() : GeologicalFeature.AIR.getValue();
+		return new World(TILE_SIZE, new int[] { NB_TILES, NB_TILES }, new int[] { 0, 0 }, new int[] { 100, 100 },
+				features);
+	}
+
+	private static void moveTo(GameObject gameObject, int pixelX, int pixelY) {
+		gameObject.setActualPosition(new double[] { pixelX / 100.0 + 0.00001, pixelY / 100.0 + 0.00001 });
+	}
+
+	private static void assertSameContacts(World world, GameObject gameObject) {
+		int x = gameObject.getPixelX(), y = gameObject.getPixelY();
+		int width = gameObject.getCurrentSprite().getWidth(), height = gameObject.getCurrentSprite().getHeight();
+		ContactState contacts = gameObject.getContactState();
+		String message = "at " + x + ", " + y;
+		assertEquals(world.containsImpassableTerrain(x, y + 1, x, y + height - 2), contacts.isTouchingLeft(), message);
+		assertEquals(world.containsImpassableTerrain(x + width, y + 1, x + width, y + height - 2),
+				contacts.isTouchingRight(), message);
+		assertEquals(world.containsImpassableTerrain(x + 1, y, x + width - 2, y), contacts.isGrounded(), message);
+		assertEquals(world.containsImpassableTerrain(x + 1, y + height, x + width - 2, y + height),
+				contacts.isTouchingCeiling(), message);
+	}
+
+	@Test
+	void touches_MatchesPixelStripsAtEveryPosition() {
+		Random random = new Random(23);
+		World world = createWorld(random);
+		Sneezewort plant = new Sneezewort(new int[] { 50, 50 }, PLANT_SPRITES);
+		world.addGameObject(plant);
+		for (int step = 0; step < 3000; step++) {
+			if (step % 100 == 0)
+				moveTo(plant, random.nextInt(170), random.nextInt(170));
+			else
+				moveTo(plant, Math.max(0, Math.min(170, plant.getPixelX() + random.nextInt(5) - 2)),
+						Math.max(0, Math.min(170, plant.getPixelY() + random.nextInt(5) - 2)));
+			if (step % 250 == 0)
+				world.setGeologicalFeature(random.nextBoolean() ? GeologicalFeature.SOLID_GROUND.getValue() : 0,
+						random.nextInt(NB_TILES * NB_TILES));
+			assertSameContacts(world, plant);
+		}
+	}
+
+	@Test
+	void touches_OnlyRefreshedWhenCrossingTileOrTerrainChanges() {
+		int[] features = new int[NB_TILES * NB_TILES];
+		for (int x = 0; x < NB_TILES; x++)
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+		World world = new World(TILE_SIZE, new int[] { NB_TILES, NB_TILES }, new int[] { 0, 0 },
+				new int[] { 100, 100 }, features);
+		Sneezewort plant = new Sneezewort(new int[] { 52, 9 }, PLANT_SPRITES);
+		world.addGameObject(plant);
+		ContactState contacts = plant.getContactState();
+		assertTrue(contacts.isGrounded());
+		assertFalse(contacts.isTouchingLeft() || contacts.isTouchingRight() || contacts.isTouchingCeiling());
+		int nbRefreshes = contacts.getNbRefreshes();
+		// Moving from column 52 to 53 keeps every strip of the plant in the same tiles.
+		moveTo(plant, 53, 9);
+		assertTrue(contacts.isGrounded());
+		assertEquals(nbRefreshes, contacts.getNbRefreshes());
+		moveTo(plant, 60, 9);
+		assertTrue(contacts.isGrounded());
+		assertEquals(nbRefreshes + 1, contacts.getNbRefreshes());
+		world.setGeologicalFeature(GeologicalFeature.SOLID_GROUND.getValue(), 6 + 2 * NB_TILES);
+		assertTrue(contacts.isTouchingCeiling());
+		assertEquals(nbRefreshes + 2, contacts.getNbRefreshes());
+		world.setGeologicalFeatures(features);
+		assertFalse(contacts.isTouchingCeiling());
+	}
+
+	@Test
+	void getCollisionProbe_SpansMatchPixelToTile() {
+		World world = createWorld(new Random(24));
+		Sprite[] sprites = new Sprite[] { new Sprite("Plant Left", 23, 17), new Sprite("Plant Right", 23, 17) };
+		world.addGameObject(new Sneezewort(new int[] { 50, 50 }, sprites));
+		CollisionProbe probe = world.getCollisionProbe(sprites[0]);
+		assertSame(probe, world.getCollisionProbe(sprites[1]));
+		assertNull(world.getCollisionProbe(new Sprite("Unknown", 23, 17)));
+		for (int pixel = 0; pixel < 3 * TILE_SIZE; pixel++) {
+			int tile = world.pixelToTile(pixel), offset = pixel - tile * TILE_SIZE;
+			assertEquals(world.pixelToTile(pixel + 1), tile + probe.getFirstColumn(offset));
+			assertEquals(world.pixelToTile(pixel + 21), tile + probe.getLastColumn(offset));
+			assertEquals(world.pixelToTile(pixel + 23), tile + probe.getRightColumn(offset));
+			assertEquals(world.pixelToTile(pixel + 15), tile + probe.getLastRow(offset));
+			assertEquals(world.pixelToTile(pixel + 17), tile + probe.getTopRow(offset));
+			if (offset > 0)
+				assertEquals(probe.getColumnSpans(offset) == probe.getColumnSpans(offset - 1),
+						world.pixelToTile(pixel + 21) == world.pixelToTile(pixel + 20)
+								&& world.pixelToTile(pixel + 23) == world.pixelToTile(pixel + 22)
+								&& world.pixelToTile(pixel + 1) == world.pixelToTile(pixel));
+		}
+	}
+
+	@Test
+	void touches_FalseWithoutWorld() {
+		Sneezewort plant = new Sneezewort(new int[] { 0, 0 }, PLANT_SPRITES);
+		assertFalse(plant.getContactState().isGrounded());
+		assertEquals(0, plant.getContactState().getNbRefreshes());
+	}
+}
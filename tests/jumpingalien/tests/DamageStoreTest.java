@@ -0,0 +1,88 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+
+/**
+ * Tests for the damage-over-time state every GameObject keeps in the damage store of its world.
+ */
+class DamageStoreTest {
+
+	private static World createWaterWorld() {
+		int nbTilesX = 100, nbTilesY = 20;
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int x = 0; x < nbTilesX; x++) {
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+			for (int y = 1; y < 4; y++)
+				features[y * nbTilesX + x] = GeologicalFeature.WATER.getValue();
+		}
+		return new World(10, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 }, new int[] { 500, 200 }, features);
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void reset_GrowsAndClearsSlot() {
+		DamageStore store = new DamageStore(2);
+		store.setHazardTime(1, 0.3);
+		store.setContactTime(1, -0.2);
+		store.setRestartsInWater(1, false);
+		store.reset(1);
+		assertEquals(0, store.getHazardTime(1));
+		assertEquals(0, store.getContactTime(1));
+		assertTrue(store.restartsInWater(1));
+		store.reset(7);
+		assertTrue(store.getCapacity() > 7);
+		assertTrue(store.restartsInWater(5));
+	}
+
+	@Test
+	void allocate_ReusesReleasedSlotsCleared() {
+		DamageStore store = new DamageStore(1);
+		int first = store.allocate(), second = store.allocate();
+		assertTrue(first != second);
+		assertEquals(2, store.getNbSlots());
+		store.setHazardTime(first, 0.3);
+		store.setRestartsInWater(first, false);
+		store.release(first);
+		assertFalse(store.isUsedSlot(first));
+		assertEquals(first, store.allocate());
+		assertEquals(0, store.getHazardTime(first));
+		assertTrue(store.restartsInWater(first));
+		assertEquals(2, store.getNbSlots());
+	}
+
+	@Test
+	void terminate_ReleasesDamageSlot() {
+		World world = createWaterWorld();
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 100, 10 }, null, TestFixture.SLIME_SPRITES);
+		world.addGameObject(slime);
+		assertEquals(1, world.getDamageStore().getNbSlots());
+		slime.terminate();
+		assertEquals(0, world.getDamageStore().getNbSlots());
+	}
+
+	@Test
+	void manageSlimeGeoFeaturesCollision_SlimesAccumulateIndependently() {
+		World world = createWaterWorld();
+		Slime first = new Slime(TestFixture.nextSlimeId(), new int[] { 100, 10 }, null, TestFixture.SLIME_SPRITES);
+		Slime second = new Slime(TestFixture.nextSlimeId(), new int[] { 500, 10 }, null, TestFixture.SLIME_SPRITES);
+		world.addGameObject(first);
+		world.addGameObject(second);
+		first.advanceTime(0.3);
+		assertEquals(100, first.getHitPoints());
+		// With one timer for all slimes, the 0.3 seconds of the first slime made the second one lose hit points here.
+		second.advanceTime(0.15);
+		assertEquals(100, second.getHitPoints());
+		second.advanceTime(0.15);
+		second.advanceTime(0.15);
+		assertEquals(96, second.getHitPoints());
+		assertEquals(100, first.getHitPoints());
+		first.advanceTime(0.15);
+		assertEquals(96, first.getHitPoints());
+	}
+}
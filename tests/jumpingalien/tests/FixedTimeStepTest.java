@@ -0,0 +1,77 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for advancing a world with a fixed time step.
+ */
+class FixedTimeStepTest {
+
+	private static final Sprite[] PLANT_SPRITES = new Sprite[] { new Sprite("Plant Left", 40, 30),
+			new Sprite("Plant Right", 40, 30) };
+
+	private static World createWorld(double fixedTimeStep, int maxStepsPerFrame) {
+		World world = new World(10, new int[] { 200, 100 }, new int[] { 0, 0 }, new int[] { 500, 400 },
+				new int[200 * 100]);
+		world.setFixedTimeStep(fixedTimeStep, maxStepsPerFrame);
+		Mazub mazub = new Mazub(new int[] { 100, 800 }, TestFixture.mazubSprites(90, 45));
+		world.addGameObject(mazub);
+		mazub.startMove(1);
+		world.addGameObject(new Sneezewort(new int[] { 500, 300 }, PLANT_SPRITES));
+		world.addGameObject(new Skullcab(new int[] { 900, 300 }, PLANT_SPRITES));
+		return world;
+	}
+
+	private static void assertSamePositions(World expected, World actual) {
+		assertArrayEquals(expected.getMazub().getActualPosition(), actual.getMazub().getActualPosition(), 1e-12);
+		assertArrayEquals(expected.getMazub().getVelocity(), actual.getMazub().getVelocity(), 1e-12);
+	}
+
+	@Test
+	void advanceTime_IndependentOfFrameLength() {
+		World longFrames = createWorld(0.01, World.DEFAULT_MAX_STEPS_PER_FRAME);
+		World shortFrames = createWorld(0.01, World.DEFAULT_MAX_STEPS_PER_FRAME);
+		for (int i = 0; i < 4; i++)
+			longFrames.advanceTime(0.05);
+		for (int i = 0; i < 20; i++)
+			shortFrames.advanceTime(0.01);
+		assertSamePositions(longFrames, shortFrames);
+		assertTrue(longFrames.getMazub().getPositionY() < 8.0);
+		assertTrue(longFrames.getTimeAccumulator() < 0.01);
+	}
+
+	@Test
+	void advanceTime_KeepsRemainderForNextFrame() {
+		World world = createWorld(0.01, World.DEFAULT_MAX_STEPS_PER_FRAME);
+		double[] start = world.getMazub().getActualPosition();
+		world.advanceTime(0.004);
+		assertArrayEquals(start, world.getMazub().getActualPosition());
+		assertEquals(0.004, world.getTimeAccumulator(), 1e-12);
+		world.advanceTime(0.007);
+		assertEquals(0.001, world.getTimeAccumulator(), 1e-9);
+		assertTrue(world.getMazub().getPositionX() > start[0]);
+	}
+
+	@Test
+	void advanceTime_CapsStepsPerFrame() {
+		World capped = createWorld(0.01, 3);
+		World reference = createWorld(0.01, 3);
+		capped.advanceTime(0.1);
+		reference.advanceTime(0.03);
+		assertSamePositions(reference, capped);
+		assertTrue(capped.getTimeAccumulator() < 0.01);
+	}
+
+	@Test
+	void setFixedTimeStep_IllegalCases() {
+		World world = createWorld(0, 1);
+		assertFalse(world.hasFixedTimeStep());
+		assertThrows(IllegalArgumentException.class, () -> world.setFixedTimeStep(-0.01, 5));
+		assertThrows(IllegalArgumentException.class, () -> world.setFixedTimeStep(0.3, 5));
+		assertThrows(IllegalArgumentException.class, () -> world.setFixedTimeStep(Double.NaN, 5));
+		assertThrows(IllegalArgumentException.class, () -> world.setFixedTimeStep(0.01, 0));
+	}
+}
@@ -0,0 +1,47 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.LongHashSet;
+
+/**
+ * Differential tests comparing LongHashSet with a HashSet of Longs.
+ */
+class LongHashSetTest {
+
+	@Test
+	void addAndContains_MatchHashSet() {
+		Random random = new Random(12);
+		LongHashSet set = new LongHashSet(4);
+		Set<Long> reference = new HashSet<>();
+		long[] special = { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32 };
+		for (int i = 0; i < 20_000; i++) {
+			long value = (i % 50 == 0) ? special[random.nextInt(special.length)]
+					: (random.nextBoolean() ? random.nextInt(5000) : random.nextLong());
+			assertEquals(reference.add(value), set.add(value));
+			assertEquals(reference.size(), set.size());
+			long probe = random.nextBoolean() ? random.nextInt(5000) : special[random.nextInt(special.length)];
+			assertEquals(reference.contains(probe), set.contains(probe), "value " + probe);
+		}
+		for (long value : reference)
+			assertTrue(set.contains(value));
+		set.clear();
+		assertEquals(0, set.size());
+		for (long value : special)
+			assertFalse(set.contains(value));
+	}
+
+	@Test
+	void ensureCapacity_KeepsValues() {
+		LongHashSet set = new LongHashSet();
+		for (long value = 0; value < 100; value++)
+			set.add(value * 7);
+		set.ensureCapacity(100_000);
+		for (long value = 0; value < 100; value++) {
+			assertTrue(set.contains(value * 7));
+			assertFalse(set.contains(value * 7 + 1));
+		}
+		assertEquals(100, set.size());
+	}
+}
@@ -0,0 +1,255 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.internal.tmxfile.TMXFileReader;
+import jumpingalien.internal.tmxfile.data.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the steps Mazub takes without collision checks. Every replay plays a shipped level in a world that lets
+ *   Mazub sweep next to the same level in a world that lets Mazub check its collisions in every step.
+ */
+class MazubSweepTest {
+
+	private static final String[] LEVELS = { "level0.tmx", "level1.tmx", "simple_and_small.tmx" };
+
+	private static World loadLevel(String level, boolean sweeping, List<GameObject> objects) throws Exception {
+		jumpingalien.internal.tmxfile.data.Map map = new TMXFileReader("levels/").read(level);
+		Layer terrain = map.getLayer("Terrain");
+		int[] features = new int[map.getNbTilesX() * map.getNbTilesY()];
+		for (int tileY = 0; tileY < map.getNbTilesY(); tileY++)
+			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
+				ImageTile tile = terrain.getTile(tileX, tileY);
+				features[tileX + tileY * map.getNbTilesX()] = (tile == null) ? 0 : tile.getType().getValue();
+			}
+		World world = new World(map.getTileSizeX(), new int[] { map.getNbTilesX(), map.getNbTilesY() },
+				new int[] { map.getTargetTileX(), map.getTargetTileY() },
+				new int[] { Math.min(800, map.getPixelWidth()), Math.min(600, map.getPixelHeight()) }, features);
+		world.setSweepingMazub(sweeping);
+		world.addGameObject(new Mazub(new int[] { map.getInitialPositionX(), map.getInitialPositionY() },
+				TestFixture.gameMazubSprites()));
+		java.util.Map<Integer, School> schools = new HashMap<>();
+		List<MapObject> mapObjects = new ArrayList<>(map.getObjects());
+		mapObjects.sort(Comparator.comparingInt(MapObject::getId));
+		for (MapObject mapObject : mapObjects) {
+			String file = mapObject.getTile().getOSIndependentFilename();
+			int[] pixelPosition = { mapObject.getX(), mapObject.getY() };
+			GameObject object = null;
+			if (file.contains("plant"))
+				object = mapObject.getBooleanAttribute("skullcab").orElse(false)
+						? new Skullcab(pixelPosition, new Sprite[] { new Sprite("Up", 54, 27), new Sprite("Down", 54, 27) })
+						: new Sneezewort(pixelPosition, new Sprite[] { new Sprite("Left", 54, 27), new Sprite("Right", 54, 27) });
+			else if (file.contains("slime")) {
+				School school = schools.computeIfAbsent(mapObject.getIntAttribute("school").orElse(0), i -> new School(world));
+				object = new Slime(TestFixture.nextSlimeId(), pixelPosition, school,
+						new Sprite[] { new Sprite("Right", 50, 28), new Sprite("Left", 50, 28) });
+			}
+			if (object == null)
+				continue;
+			try {
+				world.addGameObject(object);
+				objects.add(object);
+			} catch (IllegalArgumentException exc) {
+				// The game leaves out the objects it cannot add as well.
+				object.terminate();
+			}
+		}
+		world.setActiveGame(true);
+		return world;
+	}
+
+	private static void assertSameState(World expected, List<GameObject> expectedObjects, World actual,
+			List<GameObject> actualObjects, String message) {
+		Mazub expectedMazub = expected.getMazub(), actualMazub = actual.getMazub();
+		if (expectedMazub == null) {
+			assertNull(actualMazub, message);
+		} else {
+			assertArrayEquals(expectedMazub.getActualPosition(), actualMazub.getActualPosition(), 0, message);
+			assertArrayEquals(expectedMazub.getVelocity(), actualMazub.getVelocity(), 0, message);
+			assertArrayEquals(expectedMazub.getAcceleration(), actualMazub.getAcceleration(), 0, message);
+			assertEquals(expectedMazub.getHitPoints(), actualMazub.getHitPoints(), message);
+			assertEquals(expectedMazub.getOrientation(), actualMazub.getOrientation(), message);
+			assertEquals(expectedMazub.isMoving(), actualMazub.isMoving(), message);
+			assertEquals(expectedMazub.isJumping(), actualMazub.isJumping(), message);
+			assertEquals(expectedMazub.isDucking(), actualMazub.isDucking(), message);
+			assertEquals(expectedMazub.isTerminated(), actualMazub.isTerminated(), message);
+			// Outside the tests, the sprite of Mazub depends on its animation timers as well.
+			assertEquals(Arrays.asList(expectedMazub.getSprites()).indexOf(expectedMazub.getCurrentSprite()),
+					Arrays.asList(actualMazub.getSprites()).indexOf(actualMazub.getCurrentSprite()), message);
+		}
+		for (int i = 0; i < expectedObjects.size(); i++) {
+			GameObject expectedObject = expectedObjects.get(i), actualObject = actualObjects.get(i);
+			assertArrayEquals(expectedObject.getActualPosition(), actualObject.getActualPosition(), 0, message + " object " + i);
+			assertEquals(expectedObject.getHitPoints(), actualObject.getHitPoints(), message + " object " + i);
+			assertEquals(expectedObject.isTerminated(), actualObject.isTerminated(), message + " object " + i);
+		}
+		assertEquals(expected.isGameOver(), actual.isGameOver(), message);
+	}
+
+	/**
+	 * Let the given Mazubs start or end moving, jumping or ducking, the same way for both.
+	 */
+	private static void steer(Random random, Mazub... mazubs) {
+		Mazub mazub = mazubs[0];
+		if (mazub == null || mazub.isDead() || mazub.isTerminated())
+			return;
+		int action = random.nextInt(10);
+		int orientation = random.nextBoolean() ? 1 : -1;
+		for (Mazub each : mazubs) {
+			if (action < 3 && !each.isMoving())
+				each.startMove(orientation);
+			else if (action == 3 && each.isMoving())
+				each.endMove();
+			else if (action >= 4 && action < 6 && !each.isJumping())
+				each.startJump();
+			else if (action == 6 && each.isJumping())
+				each.endJump();
+			else if (action == 7 && !each.isDucking())
+				each.startDuck();
+			else if (action == 8 && each.isDucking())
+				each.endDuck();
+		}
+	}
+
+	private static int replay(String level, long seed) throws Exception {
+		List<GameObject> checkedObjects = new ArrayList<>(), sweptObjects = new ArrayList<>();
+		World checked = loadLevel(level, false, checkedObjects);
+		World swept = loadLevel(level, true, sweptObjects);
+		Random random = new Random(seed);
+		int nbFreeSteps = 0;
+		for (int frame = 0; frame < 600 && !checked.isGameOver(); frame++) {
+			if (frame % 8 == 0)
+				steer(random, checked.getMazub(), swept.getMazub());
+			double dt = (frame % 4 == 0) ? 0.2 : 0.001 + 0.199 * random.nextDouble();
+			checked.advanceTime(dt);
+			swept.advanceTime(dt);
+			if (checked.getMazub() != null) {
+				assertEquals(0, checked.getMazub().getNbFreeSteps());
+				nbFreeSteps += swept.getMazub().getNbFreeSteps();
+			}
+			assertSameState(checked, checkedObjects, swept, sweptObjects, level + " frame " + frame);
+		}
+		return nbFreeSteps;
+	}
+
+	private static final int[] SIDES = { ContactState.LEFT, ContactState.RIGHT, ContactState.FLOOR, ContactState.CEILING };
+
+	/**
+	 * Check that every side at which Mazub remembers whether it collides agrees with a fresh check of its world,
+	 *   and return the number of sides at which Mazub touches a slime but no terrain.
+	 */
+	private static int assertFreshContacts(World world, String message) {
+		Mazub mazub = world.getMazub();
+		int nbSlimeContacts = 0;
+		for (int side : SIDES) {
+			boolean fresh = (side == ContactState.LEFT || side == ContactState.RIGHT)
+					? world.checkHorizontalCollision(mazub, side == ContactState.RIGHT)
+					: world.checkVerticalCollision(mazub, side == ContactState.CEILING);
+			assertEquals(fresh, mazub.collidesAt(side), message + " side " + side);
+			if (fresh && !mazub.getContactState().touches(side))
+				nbSlimeContacts++;
+		}
+		return nbSlimeContacts;
+	}
+
+	/**
+	 * Move the given Mazub right next to the left side of one of the given slimes, if it fits there.
+	 */
+	private static boolean moveNextToSlime(Random random, Mazub mazub, List<GameObject> objects) {
+		List<GameObject> slimes = new ArrayList<>();
+		for (GameObject object : objects)
+			if (object instanceof Slime && !object.isTerminated())
+				slimes.add(object);
+		if (slimes.isEmpty())
+			return false;
+		GameObject slime = slimes.get(random.nextInt(slimes.size()));
+		double[] position = { (slime.getPixelX() - mazub.getCurrentSprite().getWidth()) / 100.0,
+				slime.getPixelY() / 100.0 };
+		if (!mazub.canHaveAsActualPosition(position))
+			return false;
+		try {
+			mazub.setActualPosition(position);
+			return true;
+		} catch (IllegalArgumentException exc) {
+			// Mazub would stand in impassable terrain there.
+			return false;
+		}
+	}
+
+	@Test
+	void collidesAt_ReplayOfShippedLevelsMatchesFreshChecks() throws Exception {
+		int nbSlimeContacts = 0, nbSpriteChanges = 0, nbMoves = 0;
+		for (String level : LEVELS)
+			for (long seed = 1; seed <= 4; seed++) {
+				List<GameObject> objects = new ArrayList<>();
+				World world = loadLevel(level, true, objects);
+				Random random = new Random(seed);
+				int spriteHeight = world.getMazub().getCurrentSprite().getHeight();
+				for (int frame = 0; frame < 600 && world.getMazub() != null && !world.isGameOver(); frame++) {
+					Mazub mazub = world.getMazub();
+					String message = level + " seed " + seed + " frame " + frame;
+					// Between two frames, Mazub starts or ends ducking, which changes the height of its sprite,
+					//   or is put where it touches a slime, as the Facade can do.
+					if (frame % 8 == 0)
+						steer(random, mazub);
+					if (frame % 50 == 25 && moveNextToSlime(random, mazub, objects))
+						nbMoves++;
+					nbSlimeContacts += assertFreshContacts(world, message + " before advancing");
+					// Frames this short take one or a few steps each.
+					world.advanceTime(0.001 + 0.029 * random.nextDouble());
+					if (world.getMazub() == null || world.getMazub().isTerminated())
+						break;
+					nbSlimeContacts += assertFreshContacts(world, message);
+					if (mazub.getCurrentSprite().getHeight() != spriteHeight)
+						nbSpriteChanges++;
+					spriteHeight = mazub.getCurrentSprite().getHeight();
+				}
+			}
+		assertTrue(nbSlimeContacts > 0, "slime contacts " + nbSlimeContacts);
+		assertTrue(nbSpriteChanges > 0, "sprite changes " + nbSpriteChanges);
+		assertTrue(nbMoves > 0, "moves " + nbMoves);
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void advanceTime_ReplayOfShippedLevelsMatchesCheckedSteps() throws Exception {
+		for (String level : LEVELS) {
+			int nbFreeSteps = 0;
+			for (long seed = 1; seed <= 4; seed++)
+				nbFreeSteps += replay(level, seed);
+			assertTrue(nbFreeSteps > 0, level);
+		}
+	}
+
+	@Test
+	void advanceTime_FallingMazubSkipsCollisionChecks() {
+		World world = new World(70, new int[] { 20, 40 }, new int[] { 19, 39 }, new int[] { 800, 600 },
+				TestFixture.groundFeatures(20, 40));
+		Mazub mazub = new Mazub(new int[] { 500, 2000 }, TestFixture.gameMazubSprites());
+		world.addGameObject(mazub);
+		world.advanceTime(0.1);
+		assertTrue(mazub.getNbFreeSteps() > 0);
+		for (int frame = 0; frame < 100; frame++)
+			world.advanceTime(0.1);
+		// Mazub ends standing on the ground, the top row of which is row 69.
+		assertEquals(69, mazub.getPixelY());
+		assertEquals(0, mazub.getVelocityY());
+		world.advanceTime(0.1);
+		assertTrue(mazub.getNbFreeSteps() > 0);
+	}
+
+	@Test
+	void setSweepingMazub_OnByDefault() {
+		World world = new World(10, new int[] { 20, 20 }, new int[] { 0, 0 }, new int[] { 100, 100 }, new int[400]);
+		assertTrue(world.isSweepingMazub());
+		world.setSweepingMazub(false);
+		assertFalse(world.isSweepingMazub());
+	}
+}
@@ -0,0 +1,118 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Differential tests comparing the object overlap checks of World with the
+ * implementations they replaced.
+ */
+class ObjectProbeTest {
+
+	private static final Sprite[] SLIME_SPRITES = new Sprite[] { new Sprite("Slime Moving Right", 60, 60),
+			new Sprite("Slime Moving Left", 60, 60) };
+	private static final Sprite[] SNEEZEWORT_SPRITES = new Sprite[] {
+			new Sprite("Sneezewort Moving Left", 40, 30), new Sprite("Sneezewort Moving Right", 40, 30) };
+	private static final Sprite[] SKULLCAB_SPRITES = new Sprite[] { new Sprite("Scullcab Moving Up", 50, 40),
+			new Sprite("Scullcab Moving Down", 50, 40) };
+	private static final Class<?>[] TYPES = { Slime.class, Sneezewort.class, Skullcab.class, Plant.class,
+			GameObject.class };
+
+	/**
+	 * The original implementation, checking every pixel of the square.
+	 */
+	private static boolean referenceCollision(World world, GameObject gameObject, int[] pixelLeftBottom,
+			int[] pixelRightTop, Class<?> objectType) {
+		int squareWidth = pixelRightTop[0] - pixelLeftBottom[0], squareHeight = pixelRightTop[1] - pixelLeftBottom[1];
+		for (int i = 0; i <= squareWidth; i++)
+			for (int j = 0; j <= squareHeight; j++) {
+				int[] pixel = new int[] { pixelLeftBottom[0] + i, pixelLeftBottom[1] + j };
+				for (GameObject object : world.getGameObjectSet())
+					if (object != gameObject && object.getClass() == objectType
+							&& pixel[0] >= object.getPixelPosition()[0] && pixel[1] >= object.getPixelPosition()[1]
+							&& pixel[0] <= object.getPixelPosition()[0] + object.getCurrentSprite().getWidth() - 1
+							&& pixel[1] <= object.getPixelPosition()[1] + object.getCurrentSprite().getHeight() - 1)
+						return true;
+			}
+		return false;
+	}
+
+	private static World randomWorld(Random random) {
+		World world = new World(10, new int[] { 60, 40 }, new int[] { 0, 0 }, new int[] { 0, 0 },
+				new int[60 * 40]);
+		for (int i = 0; i < 60; i++) {
+			int[] pixelPosition = { random.nextInt(world.getWidth()), random.nextInt(world.getHeight()) };
+			GameObject object;
+			switch (random.nextInt(3)) {
+			case 0:
+				object = new Slime(TestFixture.nextSlimeId(), pixelPosition, null, SLIME_SPRITES);
+				break;
+			case 1:
+				object = new Sneezewort(pixelPosition, SNEEZEWORT_SPRITES);
+				break;
+			default:
+				object = new Skullcab(pixelPosition, SKULLCAB_SPRITES);
+			}
+			try {
+				world.addGameObject(object);
+			} catch (IllegalArgumentException exc) {
+				object.terminate();
+			}
+		}
+		return world;
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void objectCollisionInPixelSquare_MatchesPixelScan() {
+		Random random = new Random(1819);
+		for (int w = 0; w < 20; w++) {
+			World world = randomWorld(random);
+			List<GameObject> objects = new ArrayList<>(world.getGameObjectSet());
+			for (int q = 0; q < 400; q++) {
+				int left = random.nextInt(world.getWidth() + 100) - 50;
+				int bottom = random.nextInt(world.getHeight() + 100) - 50;
+				int right, top;
+				// Mostly the one pixel wide strips used by the collision checks, sometimes a block or an empty square.
+				switch (random.nextInt(3)) {
+				case 0:
+					right = left;
+					top = bottom + random.nextInt(70) - 2;
+					break;
+				case 1:
+					right = left + random.nextInt(70) - 2;
+					top = bottom;
+					break;
+				default:
+					right = left + random.nextInt(70) - 2;
+					top = bottom + random.nextInt(70) - 2;
+				}
+				int[] pixelLeftBottom = { left, bottom }, pixelRightTop = { right, top };
+				GameObject self = objects.get(random.nextInt(objects.size()));
+				Class<?> type = TYPES[random.nextInt(TYPES.length)];
+				assertEquals(referenceCollision(world, self, pixelLeftBottom, pixelRightTop, type),
+						world.objectCollisionInPixelSquare(self, pixelLeftBottom, pixelRightTop, type),
+						type.getSimpleName() + " in square " + left + "," + bottom + " - " + right + "," + top);
+			}
+		}
+	}
+
+	@Test
+	void intersects_MatchesAwtRectangle() {
+		Random random = new Random(7);
+		for (int i = 0; i < 100_000; i++) {
+			int[] r = new int[8];
+			for (int j = 0; j < 8; j++)
+				r[j] = random.nextInt(24) - (j % 4 < 2 ? 12 : 2);
+			assertEquals(new java.awt.Rectangle(r[0], r[1], r[2], r[3]).intersects(new java.awt.Rectangle(r[4], r[5], r[6], r[7])),
+					World.intersects(r[0], r[1], r[2], r[3], r[4], r[5], r[6], r[7]), Arrays.toString(r));
+		}
+	}
+}
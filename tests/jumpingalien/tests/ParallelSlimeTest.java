@@ -0,0 +1,145 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the slimes a world advances in parallel. Every replay runs a world that advances its slimes with a pool
+ *   next to the same world that advances them one after the other.
+ */
+class ParallelSlimeTest {
+
+	private static final int NB_TILES_X = 400, NB_TILES_Y = 30, NB_CLUSTERS = 10, CLUSTER_SIZE = 7;
+
+	private static World createWorld(long seed, List<Slime> slimes, List<School> schools) {
+		Random random = new Random(seed);
+		int[] features = TestFixture.groundFeatures(NB_TILES_X, NB_TILES_Y);
+		// Pools of water and gas, and a single pool of magma, in which slimes lose and gain hit points.
+		for (int pool = 0; pool < 12; pool++) {
+			int start = 20 + random.nextInt(NB_TILES_X - 40);
+			int feature = (pool == 0) ? GeologicalFeature.MAGMA.getValue()
+					: (pool % 3 == 0) ? GeologicalFeature.GAS.getValue() : GeologicalFeature.WATER.getValue();
+			for (int x = start; x < start + 6; x++)
+				features[x + NB_TILES_X] = feature;
+		}
+		World world = TestFixture.createWorld(NB_TILES_X, NB_TILES_Y, 500, 300, features);
+		Mazub mazub = new Mazub(new int[] { 500, 10 }, TestFixture.mazubSprites(90, 45));
+		world.addGameObject(mazub);
+		mazub.startMove(1);
+		for (int i = 0; i < NB_CLUSTERS; i++)
+			schools.add(new School(world));
+		// The slimes form clusters of one school each, apart from a few slimes that belong to the school of another
+		//   cluster. The first and the last cluster start right next to a border of the world, so that they leave it.
+		for (int i = 0; i < NB_CLUSTERS * CLUSTER_SIZE; i++) {
+			int cluster = i / CLUSTER_SIZE;
+			int pixelX = 2 + cluster * (NB_TILES_X * 10 - 200) / (NB_CLUSTERS - 1) + (i % CLUSTER_SIZE) * 30
+					+ random.nextInt(8);
+			// No slime may overlap with Mazub when it is added, so the slimes above Mazub float over it.
+			int pixelY = (pixelX > 470 && pixelX < 600) ? 60 : 10;
+			School school = schools.get((random.nextInt(10) == 0) ? random.nextInt(NB_CLUSTERS) : cluster);
+			Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { pixelX, pixelY }, school, TestFixture.SLIME_SPRITES);
+			world.addGameObject(slime);
+			if (random.nextBoolean())
+				slime.switchDirection();
+			slimes.add(slime);
+		}
+		return world;
+	}
+
+	private static void assertSameState(World expectedWorld, List<Slime> expected, List<School> expectedSchools,
+			World actualWorld, List<Slime> actual, List<School> actualSchools, int frame) {
+		for (int i = 0; i < expected.size(); i++) {
+			Slime expectedSlime = expected.get(i), actualSlime = actual.get(i);
+			String message = "slime " + i + " in frame " + frame;
+			assertArrayEquals(expectedSlime.getActualPosition(), actualSlime.getActualPosition(), 0, message);
+			assertArrayEquals(expectedSlime.getVelocity(), actualSlime.getVelocity(), 0, message);
+			assertEquals(expectedSlime.getOrientation(), actualSlime.getOrientation(), message);
+			assertEquals(expectedSlime.getHitPoints(), actualSlime.getHitPoints(), message);
+			assertEquals(expectedSlime.isTerminated(), actualSlime.isTerminated(), message);
+			assertEquals(expectedSchools.indexOf(expectedSlime.getSchool()), actualSchools.indexOf(actualSlime.getSchool()),
+					message);
+		}
+		assertEquals(expectedWorld.getNbGameObjects(), actualWorld.getNbGameObjects());
+		if (expectedWorld.getMazub() != null) {
+			assertArrayEquals(expectedWorld.getMazub().getActualPosition(), actualWorld.getMazub().getActualPosition(), 0);
+			assertEquals(expectedWorld.getMazub().getHitPoints(), actualWorld.getMazub().getHitPoints());
+		} else
+			assertNull(actualWorld.getMazub());
+	}
+
+	private static void replay(long seed, double fixedTimeStep) {
+		List<Slime> serialSlimes = new ArrayList<>(), parallelSlimes = new ArrayList<>();
+		List<School> serialSchools = new ArrayList<>(), parallelSchools = new ArrayList<>();
+		World serial = createWorld(seed, serialSlimes, serialSchools);
+		World parallel = createWorld(seed, parallelSlimes, parallelSchools);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			parallel.setSlimePool(pool);
+			if (fixedTimeStep > 0) {
+				serial.setFixedTimeStep(fixedTimeStep, World.DEFAULT_MAX_STEPS_PER_FRAME);
+				parallel.setFixedTimeStep(fixedTimeStep, World.DEFAULT_MAX_STEPS_PER_FRAME);
+			}
+			Random frames = new Random(seed);
+			int nbParallelSlimes = 0;
+			for (int frame = 0; frame < 300; frame++) {
+				double dt = (frame % 3 == 0) ? 0.15 : 0.001 + 0.199 * frames.nextDouble();
+				// Mazub runs back and forth through the slimes.
+				if (frame % 50 == 49 && serial.getMazub() != null) {
+					int orientation = -serial.getMazub().getOrientation();
+					for (World world : new World[] { serial, parallel }) {
+						world.getMazub().endMove();
+						world.getMazub().startMove(orientation);
+					}
+				}
+				serial.advanceTime(dt);
+				parallel.advanceTime(dt);
+				nbParallelSlimes += parallel.getNbParallelSlimes();
+				assertEquals(0, serial.getNbParallelSlimes());
+				assertSameState(serial, serialSlimes, serialSchools, parallel, parallelSlimes, parallelSchools, frame);
+			}
+			assertTrue(nbParallelSlimes > 0);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void advanceTime_ReplayMatchesSerialSlimes() {
+		replay(3, 0);
+		replay(4, 0);
+	}
+
+	@Test
+	void advanceTime_ReplayWithFixedTimeStepMatchesSerialSlimes() {
+		replay(5, 0.01);
+	}
+
+	@Test
+	void setSlimePool_SerialByDefault() {
+		World world = createWorld(6, new ArrayList<>(), new ArrayList<>());
+		assertNull(world.getSlimePool());
+		world.advanceTime(0.1);
+		assertEquals(0, world.getNbParallelSlimes());
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			world.setSlimePool(pool);
+			assertSame(pool, world.getSlimePool());
+			world.advanceTime(0.1);
+			assertTrue(world.getNbParallelSlimes() > 0);
+			world.setSlimePool(null);
+			world.advanceTime(0.1);
+			assertEquals(0, world.getNbParallelSlimes());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
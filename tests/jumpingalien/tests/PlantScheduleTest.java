@@ -0,0 +1,130 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the plants a world lets sleep until their next change of direction, death or termination.
+ *   Every replay runs a world with scheduled plants next to the same world that advances all plants every frame.
+ */
+class PlantScheduleTest {
+
+	private static final Sprite[] PLANT_SPRITES = new Sprite[] { new Sprite("Plant Left", 20, 20),
+			new Sprite("Plant Right", 20, 20) };
+
+	private static final int NB_TILES_X = 300, NB_TILES_Y = 30;
+
+	private static World createWorld(long seed, boolean withMazub, List<Plant> plants) {
+		int[] features = new int[NB_TILES_X * NB_TILES_Y];
+		for (int x = 0; x < NB_TILES_X; x++)
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+		World world = new World(10, new int[] { NB_TILES_X, NB_TILES_Y }, new int[] { 0, 0 }, new int[] { 500, 300 },
+				features);
+		if (withMazub) {
+			Mazub mazub = new Mazub(new int[] { 50, 10 }, TestFixture.mazubSprites(90, 45));
+			world.addGameObject(mazub);
+			mazub.startMove(1);
+		}
+		Random random = new Random(seed);
+		for (int i = 0; i < 60; i++) {
+			// Some plants start right next to a border of the world, so that they leave it.
+			int pixelX = (i % 10 == 0) ? random.nextInt(15) : 10 + random.nextInt(NB_TILES_X * 10 - 20);
+			int pixelY = (i % 10 == 1) ? NB_TILES_Y * 10 - 1 - random.nextInt(15) : 10 + random.nextInt(60);
+			Plant plant = (i % 2 == 0) ? new Sneezewort(new int[] { pixelX, pixelY }, PLANT_SPRITES)
+					: new Skullcab(new int[] { pixelX, pixelY }, PLANT_SPRITES);
+			world.addGameObject(plant);
+			plants.add(plant);
+		}
+		return world;
+	}
+
+	private static void assertSameState(World expectedWorld, List<Plant> expected, World actualWorld,
+			List<Plant> actual, int frame) {
+		for (int i = 0; i < expected.size(); i++) {
+			Plant expectedPlant = expected.get(i), actualPlant = actual.get(i);
+			String message = "plant " + i + " in frame " + frame;
+			assertArrayEquals(expectedPlant.getActualPosition(), actualPlant.getActualPosition(), 0, message);
+			assertEquals(expectedPlant.getOrientation(), actualPlant.getOrientation(), message);
+			assertEquals(expectedPlant.getHitPoints(), actualPlant.getHitPoints(), message);
+			assertEquals(expectedPlant.isDead(), actualPlant.isDead(), message);
+			assertEquals(expectedPlant.isTerminated(), actualPlant.isTerminated(), message);
+		}
+		assertEquals(expectedWorld.getNbGameObjects(), actualWorld.getNbGameObjects());
+		if (expectedWorld.getMazub() != null) {
+			assertArrayEquals(expectedWorld.getMazub().getActualPosition(), actualWorld.getMazub().getActualPosition(), 0);
+			assertEquals(expectedWorld.getMazub().getHitPoints(), actualWorld.getMazub().getHitPoints());
+		} else
+			assertNull(actualWorld.getMazub());
+	}
+
+	private static void replay(long seed, boolean withMazub, double fixedTimeStep) {
+		List<Plant> steppedPlants = new ArrayList<>(), scheduledPlants = new ArrayList<>();
+		World stepped = createWorld(seed, withMazub, steppedPlants);
+		World scheduled = createWorld(seed, withMazub, scheduledPlants);
+		scheduled.setSchedulingPlants(true);
+		if (fixedTimeStep > 0) {
+			stepped.setFixedTimeStep(fixedTimeStep, World.DEFAULT_MAX_STEPS_PER_FRAME);
+			scheduled.setFixedTimeStep(fixedTimeStep, World.DEFAULT_MAX_STEPS_PER_FRAME);
+		}
+		Random frames = new Random(seed);
+		int maxDormant = 0;
+		for (int frame = 0; frame < 300; frame++) {
+			double dt = (frame % 3 == 0) ? 0.15 : 0.001 + 0.199 * frames.nextDouble();
+			// Mazub runs back and forth through the plants.
+			if (withMazub && frame % 40 == 39 && stepped.getMazub() != null) {
+				int orientation = -stepped.getMazub().getOrientation();
+				for (World world : new World[] { stepped, scheduled }) {
+					world.getMazub().endMove();
+					world.getMazub().startMove(orientation);
+				}
+			}
+			stepped.advanceTime(dt);
+			scheduled.advanceTime(dt);
+			maxDormant = Math.max(maxDormant, scheduled.getNbDormantPlants());
+			assertEquals(0, stepped.getNbDormantPlants());
+			assertSameState(stepped, steppedPlants, scheduled, scheduledPlants, frame);
+		}
+		assertTrue(maxDormant > steppedPlants.size() / 2);
+	}
+
+	@Test
+	void advanceTime_ReplayMatchesSteppedPlants() {
+		replay(7, false, 0);
+		replay(8, false, 0);
+	}
+
+	@Test
+	void advanceTime_ReplayWithMazubMatchesSteppedPlants() {
+		replay(21, true, 0);
+		replay(22, true, 0);
+	}
+
+	@Test
+	void advanceTime_ReplayWithFixedTimeStepMatchesSteppedPlants() {
+		replay(33, true, 0.01);
+	}
+
+	@Test
+	void setSchedulingPlants_WakesAllPlants() {
+		List<Plant> plants = new ArrayList<>();
+		World world = createWorld(5, false, plants);
+		assertFalse(world.isSchedulingPlants());
+		world.setSchedulingPlants(true);
+		world.advanceTime(0.1);
+		assertTrue(world.getNbDormantPlants() > 0);
+		Plant plant = plants.stream().filter(Plant::isDormant).findFirst().get();
+		double[] start = plant.getActualPosition();
+		world.advanceTime(0.1);
+		assertTrue(plant.isDormant());
+		assertEquals(start[0] + plant.getVelocityX() * (float) 0.1, plant.getActualPosition()[0], 1e-9);
+		assertEquals(start[1] + plant.getVelocityY() * (float) 0.1, plant.getActualPosition()[1], 1e-9);
+		world.setSchedulingPlants(false);
+		assertEquals(0, world.getNbDormantPlants());
+		assertFalse(plant.isDormant());
+		world.advanceTime(0.1);
+		assertEquals(0, world.getNbDormantPlants());
+	}
+}
@@ -0,0 +1,115 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+
+/**
+ * Differential tests comparing the hit points of Slimes, whose Schools apply
+ * school-wide hit points lazily, with a reference that updates every Slime of
+ * a School right away.
+ */
+class SchoolLedgerTest {
+
+	private final Map<Slime, Integer> expected = new HashMap<>();
+	private final Map<Slime, School> expectedSchool = new HashMap<>();
+
+	private void setExpected(Slime slime, int hitPoints) {
+		expected.put(slime, Math.max(hitPoints, 0));
+	}
+
+	private List<Slime> membersOf(School school) {
+		List<Slime> members = new ArrayList<>();
+		for (Map.Entry<Slime, School> entry : expectedSchool.entrySet())
+			if (entry.getValue() == school)
+				members.add(entry.getKey());
+		return members;
+	}
+
+	private void hit(Slime slime, int hitPoints) {
+		for (Slime mate : membersOf(expectedSchool.get(slime)))
+			if (mate != slime)
+				setExpected(mate, expected.get(mate) + hitPoints);
+		slime.getSchool().addHitpointsToSchool(slime, hitPoints);
+	}
+
+	private void switchSchool(Slime slime, School newSchool) {
+		for (Slime mate : membersOf(expectedSchool.get(slime))) {
+			setExpected(mate, expected.get(mate) + 1);
+			setExpected(slime, expected.get(slime) - 1);
+		}
+		expectedSchool.put(slime, newSchool);
+		List<Slime> newMembers = membersOf(newSchool);
+		// Handle the switching slime itself last.
+		newMembers.remove(slime);
+		newMembers.add(slime);
+		for (Slime mate : newMembers) {
+			setExpected(mate, expected.get(mate) - 1);
+			setExpected(slime, expected.get(slime) + 1);
+		}
+		slime.switchSchool(newSchool);
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void hitPoints_MatchEagerUpdates() {
+		Random random = new Random(1313);
+		School[] schools = { new School(null), new School(null), new School(null) };
+		List<Slime> slimes = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			School school = schools[i % schools.length];
+			Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 10 * i, 10 }, school, TestFixture.SLIME_SPRITES);
+			slime.setHitPoints(random.nextInt(8));
+			slimes.add(slime);
+			expectedSchool.put(slime, school);
+			expected.put(slime, slime.getHitPoints());
+		}
+		for (int step = 0; step < 5000; step++) {
+			Slime slime = slimes.get(random.nextInt(slimes.size()));
+			switch (random.nextInt(6)) {
+			case 0:
+			case 1:
+				hit(slime, -1);
+				break;
+			case 2:
+				hit(slime, random.nextInt(5) - 2);
+				break;
+			case 3:
+				int hitPoints = random.nextInt(10);
+				slime.setHitPoints(hitPoints);
+				setExpected(slime, hitPoints);
+				break;
+			case 4:
+				School newSchool = schools[random.nextInt(schools.length)];
+				if (newSchool != slime.getSchool())
+					switchSchool(slime, newSchool);
+				break;
+			default:
+				// Only check some slimes, so that others collect many pending entries.
+				break;
+			}
+			Slime checked = slimes.get(random.nextInt(slimes.size()));
+			if (step % 7 == 0)
+				assertEquals((int) expected.get(checked), checked.getHitPoints(), "step " + step);
+		}
+		for (Slime slime : slimes)
+			assertEquals((int) expected.get(slime), slime.getHitPoints());
+	}
+
+	@Test
+	void switchSchool_LonelySlimeAtZeroHitPointsEndsWithOne() {
+		School oldSchool = new School(null), newSchool = new School(null);
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 0, 10 }, oldSchool, TestFixture.SLIME_SPRITES);
+		for (int i = 1; i <= 3; i++)
+			new Slime(TestFixture.nextSlimeId(), new int[] { 30 * i, 10 }, oldSchool, TestFixture.SLIME_SPRITES);
+		slime.setHitPoints(2);
+		slime.switchSchool(newSchool);
+		// The original switch took the hit point of the slime from itself at 0 and gave it back.
+		assertEquals(1, slime.getHitPoints());
+	}
+}
@@ -0,0 +1,67 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+
+/**
+ * Tests for the resolution of contacts between slimes of different schools.
+ */
+class SlimeContactTest {
+
+	private static World createWorld() {
+		return TestFixture.createWorld(100, 20, 500, 200, TestFixture.groundFeatures(100, 20));
+	}
+
+	private static Slime addSlime(World world, int pixelX, School school) {
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { pixelX, 10 }, school, TestFixture.SLIME_SPRITES);
+		world.addGameObject(slime);
+		return slime;
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void advanceTime_SlimeJoinsLargerSchoolAtEndOfTick() {
+		World world = createWorld();
+		School small = new School(world), large = new School(world);
+		Slime loner = addSlime(world, 100, small);
+		Slime touched = addSlime(world, 120, large);
+		addSlime(world, 600, large);
+		addSlime(world, 800, large);
+		world.advanceTime(0.01);
+		assertSame(large, loner.getSchool());
+		assertSame(large, touched.getSchool());
+		assertEquals(0, small.getNbSlimes());
+		assertEquals(4, large.getNbSlimes());
+		assertEquals(0, world.getNbSlimeContacts());
+		assertFalse(world.isAdvancingGameObjects());
+	}
+
+	@Test
+	void advanceTime_SchoolsOfSameSizeStay() {
+		World world = createWorld();
+		School first = new School(world), second = new School(world);
+		Slime slime = addSlime(world, 100, first);
+		Slime other = addSlime(world, 120, second);
+		world.advanceTime(0.01);
+		assertSame(first, slime.getSchool());
+		assertSame(second, other.getSchool());
+		assertEquals(0, world.getNbSlimeContacts());
+	}
+
+	@Test
+	void advanceTimeOfSlime_ResolvesContactRightAway() {
+		World world = createWorld();
+		School small = new School(world), large = new School(world);
+		Slime loner = addSlime(world, 100, small);
+		addSlime(world, 120, large);
+		addSlime(world, 600, large);
+		loner.advanceTime(0.01);
+		assertSame(large, loner.getSchool());
+		assertEquals(0, world.getNbSlimeContacts());
+	}
+}
@@ -0,0 +1,79 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+
+/**
+ * Tests for the Slimes kept by every world and school.
+ */
+class SlimeRegistryTest {
+
+	private static World createWorld() {
+		return TestFixture.createWorld(100, 50, 500, 400, new int[100 * 50]);
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void addGameObject_SlimesScopedToWorld() {
+		World first = createWorld(), second = createWorld();
+		School firstSchool = new School(first), secondSchool = new School(second);
+		Slime firstSlime = new Slime(TestFixture.nextSlimeId(), new int[] { 100, 100 }, firstSchool,
+				TestFixture.SLIME_SPRITES);
+		Slime secondSlime = new Slime(TestFixture.nextSlimeId(), new int[] { 300, 100 }, secondSchool,
+				TestFixture.SLIME_SPRITES);
+		first.addGameObject(firstSlime);
+		second.addGameObject(secondSlime);
+		assertTrue(first.hasAsGameObject(firstSlime));
+		assertFalse(first.hasAsGameObject(secondSlime));
+		assertTrue(firstSchool.hasAsSlime(firstSlime));
+		assertFalse(firstSchool.hasAsSlime(secondSlime));
+		first.terminate();
+		assertTrue(second.hasAsGameObject(secondSlime));
+		assertEquals(1, second.getNbGameObjects());
+	}
+
+	@Test
+	void setSchool_FollowedBySchoolAndRemoval() {
+		World world = createWorld();
+		School oldSchool = new School(world), newSchool = new School(world);
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 100, 100 }, oldSchool, TestFixture.SLIME_SPRITES);
+		Slime mate = new Slime(TestFixture.nextSlimeId(), new int[] { 300, 100 }, newSchool, TestFixture.SLIME_SPRITES);
+		world.addGameObject(slime);
+		world.addGameObject(mate);
+		oldSchool.removeSlime(slime);
+		slime.setSchool(newSchool);
+		newSchool.addSlime(slime);
+		assertEquals(0, oldSchool.getNbSlimes());
+		assertEquals(2, newSchool.getNbSlimes());
+		assertSame(newSchool, slime.getSchool());
+		world.removeGameObject(slime);
+		assertFalse(world.hasAsGameObject(slime));
+		assertTrue(slime.isTerminated());
+		assertThrows(IllegalArgumentException.class,
+				() -> new Slime(slime.getId(), new int[] { 10, 10 }, null, TestFixture.SLIME_SPRITES));
+	}
+
+	@Test
+	void schoolSlimes_ReadOnlyLiveView() {
+		School school = new School(null);
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 100, 100 }, school, TestFixture.SLIME_SPRITES);
+		java.util.Set<Slime> slimes = school.getSlimes();
+		assertSame(slimes, school.getSlimes());
+		assertThrows(UnsupportedOperationException.class, () -> slimes.add(null));
+		Slime other = new Slime(TestFixture.nextSlimeId(), new int[] { 300, 100 }, school, TestFixture.SLIME_SPRITES);
+		assertEquals(2, slimes.size());
+		int[] visited = { 0 };
+		school.forEachSlime(member -> {
+			assertTrue(member == slime || member == other);
+			visited[0]++;
+		});
+		assertEquals(2, visited[0]);
+		school.removeSlime(slime);
+		assertFalse(slimes.contains(slime));
+	}
+}
@@ -0,0 +1,85 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests comparing the answers of the spatial index of a world with a scan
+ * over all the objects of that world.
+ */
+class SpatialIndexTest {
+
+	private static final Sprite[] SNEEZEWORT_SPRITES = new Sprite[] {
+			new Sprite("Sneezewort Moving Left", 40, 30), new Sprite("Sneezewort Moving Right", 40, 30) };
+
+	private static boolean overlaps(GameObject object, int left, int bottom, int right, int top) {
+		int[] pixelPosition = object.getPixelPosition();
+		Sprite sprite = object.getCurrentSprite();
+		return pixelPosition[0] <= right && pixelPosition[0] + sprite.getWidth() - 1 >= left
+				&& pixelPosition[1] <= top && pixelPosition[1] + sprite.getHeight() - 1 >= bottom;
+	}
+
+	private static void assertCollectsOverlapping(World world, Random random, int queries) {
+		for (int q = 0; q < queries; q++) {
+			int left = random.nextInt(world.getWidth() + 200) - 100;
+			int bottom = random.nextInt(world.getHeight() + 200) - 100;
+			int right = left + random.nextInt(150), top = bottom + random.nextInt(150);
+			List<GameObject> collected = new ArrayList<>();
+			world.collectGameObjects(left, bottom, right, top, null, collected);
+			assertEquals(new HashSet<>(collected).size(), collected.size(), "duplicates");
+			for (GameObject object : world.getGameObjectSet())
+				if (overlaps(object, left, bottom, right, top))
+					assertTrue(collected.contains(object),
+							"missing object in square " + left + "," + bottom + " - " + right + "," + top);
+			for (GameObject object : collected)
+				assertFalse(object.isTerminated());
+		}
+	}
+
+	@Test
+	void collectGameObjects_ContainsAllOverlappingObjects() {
+		Random random = new Random(2019);
+		World world = new World(20, new int[] { 60, 30 }, new int[] { 0, 0 }, new int[] { 0, 0 },
+				new int[60 * 30]);
+		List<Sneezewort> plants = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Sneezewort plant = new Sneezewort(new int[] { random.nextInt(world.getWidth()),
+					random.nextInt(world.getHeight()) }, SNEEZEWORT_SPRITES);
+			world.addGameObject(plant);
+			plants.add(plant);
+		}
+		assertCollectsOverlapping(world, random, 300);
+		for (int round = 0; round < 20; round++) {
+			for (Sneezewort plant : plants)
+				if (!plant.isTerminated())
+					plant.setActualPosition(new double[] { random.nextInt(world.getWidth()) / 100.0,
+							random.nextInt(world.getHeight()) / 100.0 });
+			for (int i = 0; i < 3; i++)
+				plants.get(random.nextInt(plants.size())).terminate();
+			assertCollectsOverlapping(world, random, 100);
+		}
+	}
+
+	@Test
+	void collectGameObjectsNear_FiltersOnClass() {
+		World world = new World(10, new int[] { 50, 50 }, new int[] { 0, 0 }, new int[] { 0, 0 },
+				new int[50 * 50]);
+		Sneezewort sneezewort = new Sneezewort(new int[] { 100, 100 }, SNEEZEWORT_SPRITES);
+		Skullcab skullcab = new Skullcab(new int[] { 110, 110 }, SNEEZEWORT_SPRITES);
+		world.addGameObject(sneezewort);
+		world.addGameObject(skullcab);
+		List<Skullcab> skullcabs = new ArrayList<>();
+		world.collectGameObjectsNear(120, 120, 5, Skullcab.class, skullcabs);
+		assertEquals(Collections.singletonList(skullcab), skullcabs);
+		List<Plant> plants = new ArrayList<>();
+		world.collectGameObjectsNear(120, 120, 5, Plant.class, plants);
+		assertEquals(2, plants.size());
+		world.removeGameObject(sneezewort);
+		plants.clear();
+		world.collectGameObjectsNear(120, 120, 5, Plant.class, plants);
+		assertEquals(Collections.singletonList(skullcab), plants);
+	}
+}
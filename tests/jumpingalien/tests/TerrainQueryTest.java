@@ -0,0 +1,191 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+
+/**
+ * Differential tests comparing the terrain queries of World with the pixel by
+ * pixel implementation they replaced.
+ */
+class TerrainQueryTest {
+
+	private static final int RANDOM_WORLDS = 40;
+	private static final int QUERIES_PER_WORLD = 500;
+
+	/**
+	 * A copy of the terrain of a world in the per-pixel layout, together with
+	 * the queries as they were originally implemented.
+	 */
+	private static class ReferenceTerrain {
+
+		final int tileSize, nbTilesX;
+		final int[] geologicalFeatures;
+
+		ReferenceTerrain(int tileSize, int nbTilesX, int nbTilesY, int[] features) {
+			this.tileSize = tileSize;
+			this.nbTilesX = nbTilesX;
+			this.geologicalFeatures = new int[tileSize * nbTilesX * tileSize * nbTilesY];
+			for (int i = 0; i < features.length; i++)
+				if (features[i] >= 0 && features[i] <= 5)
+					geologicalFeatures[i] = features[i];
+		}
+
+		int calculateTile(int pixelX, int pixelY) {
+			return (int) (Math.floor(pixelX / tileSize) + (Math.floor(pixelY / tileSize)) * nbTilesX);
+		}
+
+		boolean containsImpassableTerrain(int[] pixelLeftBottom, int[] pixelRightTop) {
+			int squareWidth = pixelRightTop[0] - pixelLeftBottom[0], squareHeight = pixelRightTop[1] - pixelLeftBottom[1];
+			for (int i = 0; i <= squareWidth; i++)
+				for (int j = 0; j <= squareHeight; j++) {
+					int tile = calculateTile(pixelLeftBottom[0] + i, pixelLeftBottom[1] + j);
+					for (GeologicalFeature geologicalFeature : GeologicalFeature.impassableFeat())
+						if (tile < geologicalFeatures.length && geologicalFeatures[tile] == geologicalFeature.getValue())
+							return true;
+				}
+			return false;
+		}
+
+		boolean overlapsWithGeologicalFeature(int left, int bottom, int right, int top, GeologicalFeature geologicalFeature) {
+			for (int x = left; x <= right; x++)
+				for (int y = bottom; y <= top; y++) {
+					int calcT = calculateTile(x, y);
+					if (calcT < geologicalFeatures.length && geologicalFeatures[calcT] == geologicalFeature.getValue())
+						return true;
+				}
+			return false;
+		}
+
+		void assertSameFeatures(World world, int left, int bottom, int right, int top) {
+			int mask = world.getGeologicalFeatureMask(left, bottom, right, top);
+			for (GeologicalFeature feature : GeologicalFeature.values())
+				if (feature != GeologicalFeature.AIR)
+					assertEquals(overlapsWithGeologicalFeature(left, bottom, right, top, feature),
+							(mask & feature.getMask()) != 0,
+							feature + " in square " + left + "," + bottom + " - " + right + "," + top);
+		}
+	}
+
+	private static int[] randomFeatures(Random random, int nbTiles) {
+		int[] features = new int[nbTiles];
+		// Sparse terrain, so that both answers occur often.
+		for (int i = 0; i < nbTiles; i++)
+			features[i] = random.nextInt(4) == 0 ? random.nextInt(6) : GeologicalFeature.AIR.getValue();
+		return features;
+	}
+
+	@Test
+	void containsImpassableTerrain_MatchesPixelScan() {
+		Random random = new Random(20181218);
+		for (int w = 0; w < RANDOM_WORLDS; w++) {
+			int tileSize = 1 + random.nextInt(12);
+			int nbTilesX = 1 + random.nextInt(20), nbTilesY = 1 + random.nextInt(20);
+			int[] features = randomFeatures(random, nbTilesX * nbTilesY);
+			World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+					new int[] { 0, 0 }, features);
+			ReferenceTerrain reference = new ReferenceTerrain(tileSize, nbTilesX, nbTilesY, features);
+			int width = tileSize * nbTilesX, height = tileSize * nbTilesY;
+			for (int q = 0; q < QUERIES_PER_WORLD; q++) {
+				// Include squares partly outside the world and degenerate squares.
+				int left = random.nextInt(width + 2 * tileSize) - tileSize + 1;
+				int bottom = random.nextInt(height + 2 * tileSize) - tileSize + 1;
+				int right = left + random.nextInt(3 * tileSize + 2) - 1;
+				int top = bottom + random.nextInt(3 * tileSize + 2) - 1;
+				int[] pixelLeftBottom = { left, bottom }, pixelRightTop = { right, top };
+				assertEquals(reference.containsImpassableTerrain(pixelLeftBottom, pixelRightTop),
+						world.containsImpassableTerrain(pixelLeftBottom, pixelRightTop),
+						"square " + left + "," + bottom + " - " + right + "," + top);
+			}
+		}
+	}
+
+	@Test
+	void containsImpassableTerrain_AfterSettingFeatures() {
+		Random random = new Random(42);
+		int tileSize = 7, nbTilesX = 15, nbTilesY = 11;
+		int[] features = randomFeatures(random, nbTilesX * nbTilesY);
+		World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+				new int[] { 0, 0 }, features);
+		for (int step = 0; step < 200; step++) {
+			int pixelX = random.nextInt(tileSize * nbTilesX), pixelY = random.nextInt(tileSize * nbTilesY);
+			int feature = random.nextInt(6);
+			world.setGeologicalFeature(feature, world.calculateTile(pixelX, pixelY));
+			features[world.calculateTile(pixelX, pixelY)] = feature;
+			ReferenceTerrain reference = new ReferenceTerrain(tileSize, nbTilesX, nbTilesY, features);
+			for (int q = 0; q < 50; q++) {
+				int left = random.nextInt(tileSize * nbTilesX), bottom = random.nextInt(tileSize * nbTilesY);
+				int[] pixelLeftBottom = { left, bottom };
+				int[] pixelRightTop = { left + random.nextInt(2 * tileSize), bottom + random.nextInt(2 * tileSize) };
+				assertEquals(reference.containsImpassableTerrain(pixelLeftBottom, pixelRightTop),
+						world.containsImpassableTerrain(pixelLeftBottom, pixelRightTop));
+			}
+		}
+	}
+
+	@Test
+	void getGeologicalFeatureMask_MatchesPixelScan() {
+		Random random = new Random(1819);
+		for (int w = 0; w < RANDOM_WORLDS; w++) {
+			int tileSize = 1 + random.nextInt(12);
+			int nbTilesX = 1 + random.nextInt(20), nbTilesY = 1 + random.nextInt(20);
+			int[] features = randomFeatures(random, nbTilesX * nbTilesY);
+			World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+					new int[] { 0, 0 }, features);
+			ReferenceTerrain reference = new ReferenceTerrain(tileSize, nbTilesX, nbTilesY, features);
+			int width = tileSize * nbTilesX, height = tileSize * nbTilesY;
+			for (int q = 0; q < QUERIES_PER_WORLD; q++) {
+				int left = random.nextInt(width + 2 * tileSize) - tileSize + 1;
+				int bottom = random.nextInt(height + 2 * tileSize) - tileSize + 1;
+				int right = left + random.nextInt(4 * tileSize + 2) - 1;
+				int top = bottom + random.nextInt(4 * tileSize + 2) - 1;
+				reference.assertSameFeatures(world, left, bottom, right, top);
+			}
+		}
+	}
+
+	@Test
+	void getGeologicalFeatureMask_UpdatedBySetGeologicalFeature() {
+		Random random = new Random(7);
+		int tileSize = 5, nbTilesX = 13, nbTilesY = 9;
+		int[] features = randomFeatures(random, nbTilesX * nbTilesY);
+		World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+				new int[] { 0, 0 }, features);
+		for (int step = 0; step < 300; step++) {
+			int tile = random.nextInt(nbTilesX * nbTilesY);
+			int feature = random.nextInt(6);
+			world.setGeologicalFeature(feature, tile);
+			features[tile] = feature;
+			ReferenceTerrain reference = new ReferenceTerrain(tileSize, nbTilesX, nbTilesY, features);
+			for (int q = 0; q < 30; q++) {
+				int left = random.nextInt(tileSize * nbTilesX), bottom = random.nextInt(tileSize * nbTilesY);
+				reference.assertSameFeatures(world, left, bottom, left + random.nextInt(4 * tileSize),
+						bottom + random.nextInt(4 * tileSize));
+			}
+		}
+	}
+
+	@Test
+	void getGeologicalFeatureMask_AfterPaintingManyTiles() {
+		Random random = new Random(11);
+		int tileSize = 5, nbTilesX = 20, nbTilesY = 10;
+		int[] features = new int[nbTilesX * nbTilesY];
+		World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+				new int[] { 0, 0 }, features);
+		// Every round paints a batch of tiles before the next queries, and the last round paints all of them AIR.
+		for (int round = 0; round < 6; round++) {
+			for (int tile = 0; tile < features.length; tile++) {
+				int feature = (round == 5) ? 0 : (round % 2 == 0) ? random.nextInt(6) : features[tile] % 3;
+				world.setGeologicalFeature(feature, tile);
+				features[tile] = feature;
+			}
+			ReferenceTerrain reference = new ReferenceTerrain(tileSize, nbTilesX, nbTilesY, features);
+			for (int q = 0; q < 100; q++) {
+				int left = random.nextInt(tileSize * nbTilesX), bottom = random.nextInt(tileSize * nbTilesY);
+				reference.assertSameFeatures(world, left, bottom, left + random.nextInt(8 * tileSize),
+						bottom + random.nextInt(8 * tileSize));
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package jumpingalien.tests;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Sprites, worlds and slime ids shared by the tests that build their own worlds.
+ */
+final class TestFixture {
+
+	private TestFixture() {
+	}
+
+	static final Sprite[] SLIME_SPRITES = new Sprite[] { new Sprite("Slime Right", 20, 20),
+			new Sprite("Slime Left", 20, 20) };
+
+	/**
+	 * Return the sprites of a Mazub whose sprites all have the given size.
+	 */
+	static Sprite[] mazubSprites(int width, int height) {
+		Sprite[] sprites = new Sprite[30];
+		for (int i = 0; i < sprites.length; i++)
+			sprites[i] = new Sprite("Mazub " + i, width, height);
+		return sprites;
+	}
+
+	/**
+	 * Return the sprites of a Mazub with the sizes of the sprites of the game, in which Mazub is lower while ducking.
+	 */
+	static Sprite[] gameMazubSprites() {
+		Sprite[] sprites = new Sprite[30];
+		for (int i = 0; i < sprites.length; i++)
+			sprites[i] = (i == 1 || i == 6 || i == 7) ? new Sprite("Mazub " + i, 70, 70) : new Sprite("Mazub " + i, 70, 97);
+		return sprites;
+	}
+
+	/**
+	 * Return the features of a world with the given number of tiles, of which only the bottom row is solid ground.
+	 */
+	static int[] groundFeatures(int nbTilesX, int nbTilesY) {
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int x = 0; x < nbTilesX; x++)
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+		return features;
+	}
+
+	/**
+	 * Return a new world with tiles of 10 pixels, its target tile in the bottom left corner and the given features.
+	 */
+	static World createWorld(int nbTilesX, int nbTilesY, int windowWidth, int windowHeight, int[] features) {
+		return new World(10, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+				new int[] { windowWidth, windowHeight }, features);
+	}
+
+	private static long nextSlimeId;
+
+	/**
+	 * Return an id no slime has yet. The ids are handed out in increasing order, so that slimes made in the same
+	 *   order in two worlds compare the same in both.
+	 */
+	static long nextSlimeId() {
+		return nextSlimeId++;
+	}
+
+	/**
+	 * Forget the ids of all slimes, so that every test starts handing them out from 0.
+	 */
+	static void resetSlimeIds() {
+		new Facade().cleanAllSlimeIds();
+		nextSlimeId = 0;
+	}
+}
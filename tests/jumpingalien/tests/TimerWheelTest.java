@@ -0,0 +1,90 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the hierarchical timer wheels of Mazub and of the plants of a world.
+ */
+class TimerWheelTest {
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void advance_ExpiresTimersExactlyAtTheirDeadline() {
+		Random random = new Random(3);
+		TimerWheel wheel = new TimerWheel(TimerWheel.DEFAULT_TICK_LENGTH);
+		double[] deadlines = new double[2000], expiredAt = new double[deadlines.length];
+		for (int i = 0; i < deadlines.length; i++) {
+			// Some timers lie beyond the lowest and the second level of the wheel.
+			double delay = (i % 10 == 0) ? 100 * random.nextDouble() : 2 * random.nextDouble();
+			int index = i;
+			deadlines[i] = wheel.schedule(TimerWheel.Type.SPRITE_ANIMATION, delay, () -> expiredAt[index] = wheel.getTime())
+					.getDeadline();
+			expiredAt[i] = -1;
+		}
+		while (wheel.getNbPendingTimers() > 0) {
+			double previous = wheel.getTime();
+			wheel.advance(0.2 * random.nextDouble());
+			for (int i = 0; i < deadlines.length; i++)
+				if (deadlines[i] <= wheel.getTime())
+					assertTrue(expiredAt[i] > previous || deadlines[i] <= previous, "timer " + i);
+				else
+					assertTrue(expiredAt[i] == -1, "timer " + i);
+		}
+		for (int i = 0; i < deadlines.length; i++)
+			assertTrue(expiredAt[i] >= deadlines[i] && expiredAt[i] - deadlines[i] < 0.2, "timer " + i);
+	}
+
+	@Test
+	void schedule_CancelAndRescheduleFromCallback() {
+		TimerWheel wheel = new TimerWheel(0.01);
+		List<String> expired = new ArrayList<>();
+		// Both timers are due in the same tick, but the repeating one expires first and cancels the other.
+		TimerWheel.Timer cancelled = wheel.schedule(TimerWheel.Type.INVULNERABILITY, 0.503, () -> expired.add("cancelled"));
+		TimerWheel.Timer[] repeating = new TimerWheel.Timer[1];
+		repeating[0] = wheel.schedule(TimerWheel.Type.SPRITE_ANIMATION, 0.501, () -> {
+			expired.add("repeating");
+			wheel.cancel(cancelled);
+			if (expired.size() < 3)
+				wheel.schedule(repeating[0], 0);
+		});
+		wheel.advance(0.505);
+		assertEquals(Arrays.asList("repeating", "repeating", "repeating"), expired);
+		assertFalse(cancelled.isPending());
+		assertFalse(repeating[0].isPending());
+		assertEquals(0, wheel.getNbPendingTimers());
+	}
+
+	@Test
+	void makeInvulnerable_EndsAfterInvulnerabilityTime() {
+		Sprite[] sprites = TestFixture.mazubSprites(90, 45);
+		int[] features = new int[50 * 20];
+		for (int x = 0; x < 50; x++)
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+		World world = new World(10, new int[] { 50, 20 }, new int[] { 0, 0 }, new int[] { 500, 200 }, features);
+		Mazub mazub = new Mazub(new int[] { 100, 10 }, sprites);
+		world.addGameObject(mazub);
+		Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { 300, 10 }, null,
+				TestFixture.SLIME_SPRITES);
+		world.addGameObject(slime);
+		slime.setActualPosition(new double[] { 1.4, 0.1 });
+		world.manageSlimeCollision(slime);
+		assertTrue(mazub.isInvulnerable());
+		int hitPoints = slime.getHitPoints();
+		world.manageSlimeCollision(slime);
+		assertEquals(hitPoints, slime.getHitPoints());
+		slime.setActualPosition(new double[] { 3, 0.1 });
+		for (int i = 0; i < 5; i++)
+			mazub.advanceTime(Mazub.INVULNERABILITY_TIME / 6);
+		assertTrue(mazub.isInvulnerable());
+		mazub.advanceTime(Mazub.INVULNERABILITY_TIME / 6 + 0.001);
+		assertFalse(mazub.isInvulnerable());
+	}
+}
@@ -0,0 +1,155 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the worlds that advance their GameObjects in two phases. Every replay runs a world next to the same
+ *   world with its GameObjects added in the opposite order.
+ */
+class TwoPhaseUpdateTest {
+
+	private static final Sprite[] PLANT_SPRITES = new Sprite[] { new Sprite("Plant Left", 20, 20),
+			new Sprite("Plant Right", 20, 20) };
+
+	private static final int NB_TILES_X = 300, NB_TILES_Y = 30;
+
+	private static World createWorld(long seed, boolean reversed, List<Slime> slimes, List<Plant> plants) {
+		Random random = new Random(seed);
+		int[] features = TestFixture.groundFeatures(NB_TILES_X, NB_TILES_Y);
+		for (int pool = 0; pool < 8; pool++) {
+			int start = 20 + random.nextInt(NB_TILES_X - 40);
+			int feature = (pool % 3 == 0) ? GeologicalFeature.GAS.getValue() : GeologicalFeature.WATER.getValue();
+			for (int x = start; x < start + 5; x++)
+				features[x + NB_TILES_X] = feature;
+		}
+		World world = TestFixture.createWorld(NB_TILES_X, NB_TILES_Y, 500, 300, features);
+		world.setTwoPhaseUpdate(true);
+		Mazub mazub = new Mazub(new int[] { 400, 10 }, TestFixture.mazubSprites(90, 45));
+		world.addGameObject(mazub);
+		mazub.startMove(1);
+		List<School> schools = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+			schools.add(new School(world));
+		for (int i = 0; i < 50; i++) {
+			int pixelX = 10 + 58 * i + random.nextInt(30);
+			// No slime may overlap with Mazub when it is added, so the slimes above Mazub float over it.
+			int pixelY = (pixelX > 370 && pixelX < 500) ? 60 : 10;
+			Slime slime = new Slime(TestFixture.nextSlimeId(), new int[] { pixelX, pixelY }, schools.get(random.nextInt(4)),
+					TestFixture.SLIME_SPRITES);
+			if (random.nextBoolean())
+				slime.switchDirection();
+			slimes.add(slime);
+		}
+		for (int i = 0; i < 30; i++) {
+			int pixelX = 300 + random.nextInt(1200), pixelY = 10 + random.nextInt(40);
+			plants.add((i % 2 == 0) ? new Sneezewort(new int[] { pixelX, pixelY }, PLANT_SPRITES)
+					: new Skullcab(new int[] { pixelX, pixelY }, PLANT_SPRITES));
+		}
+		List<GameObject> objects = new ArrayList<>(slimes);
+		objects.addAll(plants);
+		if (reversed)
+			Collections.reverse(objects);
+		for (GameObject object : objects)
+			world.addGameObject(object);
+		return world;
+	}
+
+	private static void assertSameState(World expectedWorld, List<Slime> expectedSlimes, List<Plant> expectedPlants,
+			World actualWorld, List<Slime> actualSlimes, List<Plant> actualPlants, int frame) {
+		for (int i = 0; i < expectedSlimes.size(); i++) {
+			Slime expected = expectedSlimes.get(i), actual = actualSlimes.get(i);
+			String message = "slime " + i + " in frame " + frame;
+			assertArrayEquals(expected.getActualPosition(), actual.getActualPosition(), 0, message);
+			assertEquals(expected.getOrientation(), actual.getOrientation(), message);
+			assertEquals(expected.getHitPoints(), actual.getHitPoints(), message);
+			assertEquals(expected.isTerminated(), actual.isTerminated(), message);
+			assertEquals(expected.getSchool() == null ? 0 : expected.getSchool().getNbSlimes(),
+					actual.getSchool() == null ? 0 : actual.getSchool().getNbSlimes(), message);
+		}
+		for (int i = 0; i < expectedPlants.size(); i++) {
+			Plant expected = expectedPlants.get(i), actual = actualPlants.get(i);
+			String message = "plant " + i + " in frame " + frame;
+			assertArrayEquals(expected.getActualPosition(), actual.getActualPosition(), 0, message);
+			assertEquals(expected.getHitPoints(), actual.getHitPoints(), message);
+			assertEquals(expected.isTerminated(), actual.isTerminated(), message);
+		}
+		assertEquals(expectedWorld.getNbGameObjects(), actualWorld.getNbGameObjects());
+		if (expectedWorld.getMazub() != null) {
+			assertArrayEquals(expectedWorld.getMazub().getActualPosition(), actualWorld.getMazub().getActualPosition(), 0);
+			assertEquals(expectedWorld.getMazub().getHitPoints(), actualWorld.getMazub().getHitPoints(),
+					"Mazub in frame " + frame);
+		} else
+			assertNull(actualWorld.getMazub());
+	}
+
+	private static void replay(long seed) {
+		List<Slime> forwardSlimes = new ArrayList<>(), reversedSlimes = new ArrayList<>();
+		List<Plant> forwardPlants = new ArrayList<>(), reversedPlants = new ArrayList<>();
+		World forward = createWorld(seed, false, forwardSlimes, forwardPlants);
+		World reversed = createWorld(seed, true, reversedSlimes, reversedPlants);
+		Random frames = new Random(seed);
+		int initialHitPoints = forward.getMazub().getHitPoints();
+		boolean mazubChanged = false;
+		for (int frame = 0; frame < 300; frame++) {
+			double dt = (frame % 3 == 0) ? 0.15 : 0.001 + 0.199 * frames.nextDouble();
+			// Mazub runs back and forth through the slimes and the plants.
+			if (frame % 40 == 39 && forward.getMazub() != null) {
+				int orientation = -forward.getMazub().getOrientation();
+				for (World world : new World[] { forward, reversed }) {
+					world.getMazub().endMove();
+					world.getMazub().startMove(orientation);
+				}
+			}
+			forward.advanceTime(dt);
+			reversed.advanceTime(dt);
+			assertNull(forward.getSnapshot());
+			assertSameState(forward, forwardSlimes, forwardPlants, reversed, reversedSlimes, reversedPlants, frame);
+			mazubChanged |= forward.getMazub() != null && forward.getMazub().getHitPoints() != initialHitPoints;
+		}
+		assertTrue(mazubChanged);
+	}
+
+	@BeforeEach
+	void resetSlimeIds() {
+		TestFixture.resetSlimeIds();
+	}
+
+	@Test
+	void advanceTime_ReplayDoesNotDependOnOrderOfGameObjects() {
+		replay(11);
+		replay(12);
+		replay(13);
+	}
+
+	@Test
+	void takeSnapshot_KeepsStateOfStart() {
+		World world = createWorld(14, false, new ArrayList<>(), new ArrayList<>());
+		Mazub mazub = world.getMazub();
+		WorldSnapshot snapshot = world.takeSnapshot();
+		int pixelX = mazub.getPixelX(), hitPoints = mazub.getHitPoints();
+		assertEquals(world.getNbGameObjects(), snapshot.getNbGameObjects());
+		for (int frame = 0; frame < 10; frame++)
+			world.advanceTime(0.1);
+		assertTrue(mazub.getPixelX() > pixelX);
+		assertEquals(pixelX, snapshot.getPixelX(mazub));
+		assertEquals(hitPoints, snapshot.getHitPoints(mazub));
+		assertEquals(mazub.getCurrentSprite().getWidth(), snapshot.getWidth(mazub));
+		assertTrue(snapshot.overlaps(mazub, mazub));
+		assertThrows(IllegalArgumentException.class,
+				() -> snapshot.getPixelX(new Sneezewort(new int[] { 0, 0 }, PLANT_SPRITES)));
+	}
+
+	@Test
+	void setTwoPhaseUpdate_OffByDefault() {
+		World world = new World(10, new int[] { 20, 20 }, new int[] { 0, 0 }, new int[] { 100, 100 }, new int[400]);
+		assertFalse(world.isTwoPhaseUpdate());
+		world.setTwoPhaseUpdate(true);
+		assertTrue(world.isTwoPhaseUpdate());
+		world.advanceTime(0.1);
+		assertNull(world.getSnapshot());
+	}
+}
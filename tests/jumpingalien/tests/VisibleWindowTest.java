@@ -0,0 +1,105 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import org.junit.jupiter.api.*;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the visible window of a world, comparing it with the window of the implementation it replaced.
+ */
+class VisibleWindowTest {
+
+	private static World createWorld(Random random) {
+		int nbTilesX = 120, nbTilesY = 40;
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int x = 0; x < nbTilesX; x++) {
+			int ground = 1 + ((x / 6) % 4 == 0 ? random.nextInt(3) : 0);
+			for (int y = 0; y < ground; y++)
+				features[x + y * nbTilesX] = GeologicalFeature.SOLID_GROUND.getValue();
+		}
+		return new World(70, new int[] { nbTilesX, nbTilesY }, new int[] { nbTilesX - 1, nbTilesY - 1 },
+				new int[] { 800, 600 }, features);
+	}
+
+	/**
+	 * The original implementation, which moves the given window in place.
+	 */
+	private static void referenceWindow(World world, int[] window) {
+		Mazub mazub = world.getMazub();
+		if (mazub == null) {
+			window[0] = 0;
+			window[1] = 0;
+			return;
+		}
+		int[] dimension = world.getVisibleWindowDimension();
+		int[] pixel = mazub.getPixelPosition();
+		if (dimension[0] > 400 + mazub.getCurrentSprite().getWidth()
+				|| dimension[1] < 400 + mazub.getCurrentSprite().getHeight()) {
+			if (window[0] + dimension[0] - pixel[0] <= 200)
+				window[0] = (pixel[0] + 200 <= world.getWidth()) ? pixel[0] + (200 - dimension[0])
+						: world.getWidth() - dimension[0];
+			else if (pixel[0] <= window[0] + 200)
+				window[0] = (pixel[0] > 200) ? pixel[0] - 200 : 0;
+			if (window[1] + dimension[1] - pixel[1] <= 200)
+				window[1] = (200 + pixel[1] <= world.getHeight()) ? pixel[1] + (200 - dimension[1])
+						: world.getHeight() - dimension[1];
+			else if (pixel[1] <= window[1] + 200)
+				window[1] = (pixel[1] > 200) ? pixel[1] - 200 : 0;
+		}
+	}
+
+	@Test
+	void manageVisbleWindowPosition_ReplayMatchesOriginalWindow() {
+		for (long seed = 1; seed <= 3; seed++) {
+			Random random = new Random(seed);
+			World world = createWorld(random);
+			Mazub mazub = new Mazub(new int[] { 3000, 300 }, TestFixture.gameMazubSprites());
+			world.addGameObject(mazub);
+			int[] window = new int[] { 0, 0 };
+			int nbMoves = 0;
+			for (int frame = 0; frame < 2000 && !world.isGameOver(); frame++) {
+				if (frame % 10 == 0) {
+					int action = random.nextInt(4);
+					if (action == 0 && !mazub.isMoving()) {
+						mazub.startMove(random.nextBoolean() ? 1 : -1);
+						referenceWindow(world, window);
+					} else if (action == 1 && mazub.isMoving())
+						mazub.endMove();
+					else if (action == 2 && !mazub.isJumping()) {
+						mazub.startJump();
+						referenceWindow(world, window);
+					} else if (action == 3 && mazub.isJumping())
+						mazub.endJump();
+				}
+				VisibleWindow before = world.getVisibleWindow();
+				world.advanceTime(0.001 + 0.199 * random.nextDouble());
+				referenceWindow(world, window);
+				assertArrayEquals(window, world.getVisbleWindowPosition(), "frame " + frame);
+				VisibleWindow after = world.getVisibleWindow();
+				assertEquals(window[0], after.getPixelX());
+				assertEquals(window[1], after.getPixelY());
+				if (!after.equals(before))
+					nbMoves++;
+				else
+					assertSame(before, after);
+			}
+			assertTrue(nbMoves > 0);
+		}
+	}
+
+	@Test
+	void setVisbleWindowPosition_KeepsNoArrays() {
+		World world = createWorld(new Random(4));
+		int[] position = new int[] { 100, 50 };
+		world.setVisbleWindowPosition(position);
+		position[0] = 7;
+		assertArrayEquals(new int[] { 100, 50 }, world.getVisbleWindowPosition());
+		world.getVisbleWindowPosition()[1] = 9;
+		assertArrayEquals(new int[] { 100, 50 }, world.getVisbleWindowPosition());
+		assertEquals(new VisibleWindow(100, 50, 800, 600), world.getVisibleWindow());
+		assertThrows(IllegalArgumentException.class, () -> world.setVisbleWindowPosition(new int[] { -1, 0 }));
+		assertArrayEquals(new int[] { 100, 50 }, world.getVisbleWindowPosition());
+	}
+}
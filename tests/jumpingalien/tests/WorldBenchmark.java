@@ -0,0 +1,485 @@
+package jumpingalien.tests;
+
+import jumpingalien.internal.game.JumpingAlienGame;
+import jumpingalien.internal.tmxfile.TMXFileReader;
+import jumpingalien.internal.tmxfile.data.ImageTile;
+import jumpingalien.internal.tmxfile.data.Layer;
+import jumpingalien.internal.tmxfile.data.Map;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Small stand-alone benchmarks for the world model. These are not part of the
+ * test suite; run them with the name of a benchmark as argument, or without
+ * arguments to run them all.
+ */
+public class WorldBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		String which = args.length > 0 ? args[0] : "all";
+		if (which.equals("all") || which.equals("terrainMemory"))
+			terrainMemory();
+		if (which.equals("all") || which.equals("spatialIndex"))
+			spatialIndex();
+		if (which.equals("all") || which.equals("tickAllocation"))
+			tickAllocation();
+		if (which.equals("all") || which.equals("overlapKernel"))
+			overlapKernel();
+		if (which.equals("all") || which.equals("slimeLoad"))
+			slimeLoad();
+		if (which.equals("all") || which.equals("schoolMembership"))
+			schoolMembership();
+		if (which.equals("all") || which.equals("timerWheel"))
+			timerWheel();
+		if (which.equals("all") || which.equals("parallelSlimes"))
+			parallelSlimes();
+		if (which.equals("all") || which.equals("mazubSweep"))
+			mazubSweep();
+	}
+
+	/*********************************
+	 * Memory used by the terrain map *
+	 *********************************/
+
+	/**
+	 * Compare the memory needed by the tile grid of a world with the per-pixel
+	 * int[] that was used before, for level1.tmx and for a synthetic world of
+	 * 2000x500 tiles.
+	 */
+	static void terrainMemory() {
+		Map map = new TMXFileReader("levels/").read("level1.tmx");
+		int tileSize = map.getTileSizeY();
+		reportTerrainMemory("level1.tmx", tileSize, map.getNbTilesX(), map.getNbTilesY(),
+				getTileTypes(map));
+		reportTerrainMemory("synthetic 2000x500", 70, 2000, 500, syntheticTileTypes(2000, 500));
+	}
+
+	private static void reportTerrainMemory(String name, int tileSize, int nbTilesX, int nbTilesY,
+			int[] types) {
+		long pixelLayout = 16 + 4L * (tileSize * (long) nbTilesX) * (tileSize * (long) nbTilesY);
+		long before = usedHeap();
+		World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 },
+				new int[] { 0, 0 }, types);
+		long after = usedHeap();
+		System.out.printf("%-20s tiles=%dx%d  per-pixel int[]: %,d bytes  tile grid: %,d bytes (heap delta %,d)%n",
+				name, nbTilesX, nbTilesY, pixelLayout, world.getTerrain().getStorageSize(),
+				after - before);
+	}
+
+	/**
+	 * Return the geological features of the terrain layer of the given map, the
+	 * same way {@link JumpingAlienGame} does.
+	 */
+	private static int[] getTileTypes(Map map) {
+		Layer terrainLayer = map.getLayer("Terrain");
+		int[] types = new int[map.getNbTilesX() * map.getNbTilesY()];
+		int index = 0;
+		for (int tileY = 0; tileY < map.getNbTilesY(); tileY++)
+			for (int tileX = 0; tileX < map.getNbTilesX(); tileX++) {
+				ImageTile tile = terrainLayer.getTile(tileX, tileY);
+				types[index++] = (tile != null) ? tile.getType().getValue()
+						: ImageTile.TileType.AIR.getValue();
+			}
+		return types;
+	}
+
+	/**
+	 * Return a flat terrain with a solid floor, a few ledges and some pools.
+	 */
+	static int[] syntheticTileTypes(int nbTilesX, int nbTilesY) {
+		int[] types = new int[nbTilesX * nbTilesY];
+		for (int tileX = 0; tileX < nbTilesX; tileX++) {
+			types[tileX] = GeologicalFeature.SOLID_GROUND.getValue();
+			if (tileX % 17 == 0)
+				types[5 * nbTilesX + tileX] = GeologicalFeature.ICE.getValue();
+			if (tileX % 23 < 3)
+				types[nbTilesX + tileX] = GeologicalFeature.WATER.getValue();
+			if (tileX % 101 == 50)
+				types[nbTilesX + tileX] = GeologicalFeature.MAGMA.getValue();
+		}
+		return types;
+	}
+
+	/*****************************************
+	 * Overlap queries through the grid index *
+	 *****************************************/
+
+	/**
+	 * Find, for every one of 10,000 plants spread over a 2000x500-tile world,
+	 * the plants it overlaps with: once by scanning all the plants, the way
+	 * the collision helpers of World did, and once through a SpatialIndex.
+	 */
+	static void spatialIndex() {
+		int nbObjects = 10_000, width = 2000 * 70, height = 500 * 70;
+		Sprite[] sprites = { new Sprite("Left", 40, 30), new Sprite("Right", 40, 30) };
+		Random random = new Random(1);
+		List<GameObject> objects = new ArrayList<>();
+		SpatialIndex index = new SpatialIndex(width, height, 140);
+		for (int i = 0; i < nbObjects; i++) {
+			Sneezewort plant = new Sneezewort(new int[] { random.nextInt(width), random.nextInt(height) }, sprites);
+			objects.add(plant);
+			index.add(plant);
+		}
+		for (int run = 0; run < 3; run++) {
+			long start = System.nanoTime();
+			long scanned = 0;
+			for (GameObject a : objects)
+				for (GameObject b : objects)
+					if (a != b && World.isOverlapping(a, b))
+						scanned++;
+			long scanTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			long indexed = 0;
+			List<GameObject> candidates = new ArrayList<>();
+			for (GameObject a : objects) {
+				int[] pixelPosition = a.getPixelPosition();
+				candidates.clear();
+				index.collect(pixelPosition[0], pixelPosition[1], pixelPosition[0] + a.getCurrentSprite().getWidth(),
+						pixelPosition[1] + a.getCurrentSprite().getHeight(), null, candidates);
+				for (GameObject b : candidates)
+					if (a != b && World.isOverlapping(a, b))
+						indexed++;
+			}
+			long indexTime = System.nanoTime() - start;
+			System.out.printf("%,d objects  full scan: %,d overlaps in %,d ms  grid index: %,d overlaps in %,d ms%n",
+					nbObjects, scanned, scanTime / 1_000_000, indexed, indexTime / 1_000_000);
+		}
+	}
+
+	/************************************
+	 * Allocation per World.advanceTime *
+	 ************************************/
+
+	/**
+	 * Report the number of bytes allocated by one call of World.advanceTime
+	 * on a world with a moving Mazub and the maximum number of other objects.
+	 */
+	static void tickAllocation() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		for (int run = 0; run < 3; run++) {
+			World world = createTickWorld(1_000_000L * (run + 1));
+			for (int i = 0; i < 100; i++)
+				world.advanceTime(0.016);
+			int ticks = 1000;
+			long before = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			for (int i = 0; i < ticks; i++)
+				world.advanceTime(0.016);
+			long time = System.nanoTime() - start;
+			long allocated = threads.getThreadAllocatedBytes(thread) - before;
+			System.out.printf("%d objects  %,d bytes allocated per advanceTime  %,d us per advanceTime%n",
+					world.getNbGameObjects(), allocated / ticks, time / 1000 / ticks);
+		}
+	}
+
+	/********************************
+	 * Object against object overlap *
+	 ********************************/
+
+	/**
+	 * Compare the allocations and the time of 10,000,000 overlap tests with
+	 * World.isOverlapping and with the java.awt.Rectangle based test it
+	 * replaced.
+	 */
+	static void overlapKernel() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		Sprite[] sprites = { new Sprite("Left", 40, 30), new Sprite("Right", 40, 30) };
+		Random random = new Random(3);
+		GameObject[] objects = new GameObject[1000];
+		for (int i = 0; i < objects.length; i++)
+			objects[i] = new Sneezewort(new int[] { random.nextInt(3000), random.nextInt(600) }, sprites);
+		int tests = 10_000_000;
+		for (int run = 0; run < 3; run++) {
+			long before = threads.getThreadAllocatedBytes(thread), start = System.nanoTime();
+			int overlaps = 0;
+			for (int i = 0; i < tests; i++) {
+				GameObject a = objects[i % objects.length], b = objects[(i / objects.length) % objects.length];
+				java.awt.Rectangle rectangleA = new java.awt.Rectangle(a.getPixelPosition()[0], a.getPixelPosition()[1],
+						a.getCurrentSprite().getWidth() + 1, a.getCurrentSprite().getHeight() + 1);
+				java.awt.Rectangle rectangleB = new java.awt.Rectangle(b.getPixelPosition()[0], b.getPixelPosition()[1],
+						b.getCurrentSprite().getWidth() + 1, b.getCurrentSprite().getHeight() + 1);
+				if (rectangleA.intersects(rectangleB))
+					overlaps++;
+			}
+			long rectangleTime = System.nanoTime() - start, rectangleBytes = threads.getThreadAllocatedBytes(thread) - before;
+			before = threads.getThreadAllocatedBytes(thread);
+			start = System.nanoTime();
+			int kernelOverlaps = 0;
+			for (int i = 0; i < tests; i++)
+				if (World.isOverlapping(objects[i % objects.length], objects[(i / objects.length) % objects.length]))
+					kernelOverlaps++;
+			long kernelTime = System.nanoTime() - start, kernelBytes = threads.getThreadAllocatedBytes(thread) - before;
+			System.out.printf("Rectangle: %d overlaps, %,d bytes, %,d ms  kernel: %d overlaps, %,d bytes, %,d ms%n",
+					overlaps, rectangleBytes, rectangleTime / 1_000_000, kernelOverlaps, kernelBytes, kernelTime / 1_000_000);
+		}
+	}
+
+	/**
+	 * Return a world of 400x40 tiles with a solid floor, a Mazub walking to
+	 * the right, 60 slimes in 6 schools and 39 sneezeworts. The ids of the
+	 * slimes start at the given id.
+	 */
+	static World createTickWorld(long firstSlimeId) {
+		int tileSize = 70, nbTilesX = 400, nbTilesY = 40;
+		World world = new World(tileSize, new int[] { nbTilesX, nbTilesY }, new int[] { nbTilesX - 1, 1 },
+				new int[] { 1000, 600 }, syntheticTileTypes(nbTilesX, nbTilesY));
+		Sprite[] mazubSprites = new Sprite[30];
+		for (int i = 0; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Mazub " + i, 90, 45);
+		Sprite[] slimeSprites = { new Sprite("Slime Right", 60, 60), new Sprite("Slime Left", 60, 60) };
+		Sprite[] plantSprites = { new Sprite("Plant Left", 40, 30), new Sprite("Plant Right", 40, 30) };
+		Mazub mazub = new Mazub(new int[] { tileSize + 1, tileSize }, mazubSprites);
+		world.addGameObject(mazub);
+		School[] schools = new School[6];
+		for (int i = 0; i < schools.length; i++)
+			schools[i] = new School(world);
+		for (int i = 0; i < 60; i++) {
+			int pixelX = 400 + i * 440 + (i % 3) * 17;
+			world.addGameObject(new Slime(firstSlimeId + i, new int[] { pixelX, tileSize * 3 }, schools[i % 6],
+					slimeSprites));
+		}
+		for (int i = 0; i < 39; i++)
+			world.addGameObject(new Sneezewort(new int[] { 300 + i * 700, tileSize * 4 }, plantSprites));
+		mazub.startMove(1);
+		return world;
+	}
+
+	/**
+	 * Create 50,000 Slimes with distinct ids, as a loader of a large level would,
+	 * and compare with checking every id against the values of a HashMap, as
+	 * Slime.isValidId used to do.
+	 */
+	static void slimeLoad() {
+		Sprite[] sprites = { new Sprite("Slime Right", 60, 60), new Sprite("Slime Left", 60, 60) };
+		int nbSlimes = 50_000;
+		for (int run = 0; run < 3; run++) {
+			long firstId = 100_000_000L * (run + 1);
+			long start = System.nanoTime();
+			for (int i = 0; i < nbSlimes; i++)
+				new Slime(firstId + i, new int[] { i % 1000, 100 }, null, sprites);
+			System.out.printf("%,d slimes created in %,d ms%n", nbSlimes, (System.nanoTime() - start) / 1_000_000);
+		}
+		long start = System.nanoTime();
+		java.util.HashMap<Object, Long> allIds = new java.util.HashMap<>();
+		for (long id = 0; id < nbSlimes; id++) {
+			if (allIds.containsValue(id))
+				throw new IllegalStateException();
+			allIds.put(new Object(), id);
+		}
+		System.out.printf("%,d id checks by scanning the values of a map: %,d ms%n", nbSlimes,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Visit the members of a School of 10,000 Slimes 1,000 times through a copy of
+	 * the members, as School.getSlimes used to return, through the read-only view
+	 * and through School.forEachSlime.
+	 */
+	static void schoolMembership() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		Sprite[] sprites = { new Sprite("Slime Right", 60, 60), new Sprite("Slime Left", 60, 60) };
+		School school = new School(null);
+		for (int i = 0; i < 10_000; i++)
+			new Slime(200_000_000L + i, new int[] { i % 1000, 100 }, school, sprites);
+		int visits = 1000;
+		for (int run = 0; run < 3; run++) {
+			long[] sums = new long[3], bytes = new long[3], times = new long[3];
+			for (int way = 0; way < 3; way++) {
+				long before = threads.getThreadAllocatedBytes(thread), start = System.nanoTime();
+				long[] sum = { 0 };
+				for (int visit = 0; visit < visits; visit++)
+					if (way == 0)
+						for (Slime slime : new java.util.HashSet<>(school.getSlimes()))
+							sum[0] += slime.getHitPoints();
+					else if (way == 1)
+						for (Slime slime : school.getSlimes())
+							sum[0] += slime.getHitPoints();
+					else
+						school.forEachSlime(slime -> sum[0] += slime.getHitPoints());
+				times[way] = System.nanoTime() - start;
+				bytes[way] = threads.getThreadAllocatedBytes(thread) - before;
+				sums[way] = sum[0];
+			}
+			System.out.printf("copy: %d, %,d bytes, %,d ms  view: %d, %,d bytes, %,d ms  forEachSlime: %d, %,d bytes, %,d ms%n",
+					sums[0], bytes[0], times[0] / 1_000_000, sums[1], bytes[1], times[1] / 1_000_000, sums[2], bytes[2],
+					times[2] / 1_000_000);
+		}
+	}
+
+	/**
+	 * Advance the timers of 10,000 entities for 600 frames of 4 steps, as Mazub
+	 * did: a fresh double[] of accumulated times per entity per step plus a
+	 * countdown that is decremented, against one TimerWheel that holds a
+	 * repeating sprite timer and an invulnerability timer per entity and only
+	 * touches the timers that expire.
+	 */
+	static void timerWheel() {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		int nbEntities = 10_000, frames = 600, steps = 4;
+		double td = 1.0 / 60 / steps;
+		for (int run = 0; run < 3; run++) {
+			long before = threads.getThreadAllocatedBytes(thread), start = System.nanoTime();
+			double[][] timers = new double[nbEntities][4];
+			double[] freeze = new double[nbEntities];
+			long arrayExpiries = 0;
+			for (int frame = 0; frame < frames; frame++)
+				for (int step = 0; step < steps; step++)
+					for (int entity = 0; entity < nbEntities; entity++) {
+						double[] timer = timers[entity];
+						if (timer[1] >= 0.075) {
+							timer[1] = 0;
+							arrayExpiries++;
+						}
+						if (freeze[entity] <= 0 && (entity + frame) % 97 == 0)
+							freeze[entity] = 0.6;
+						timers[entity] = new double[] { timer[0] + td, timer[1] + td, timer[2], timer[3] };
+						freeze[entity] -= td;
+					}
+			long arrayTime = System.nanoTime() - start, arrayBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+			before = threads.getThreadAllocatedBytes(thread);
+			start = System.nanoTime();
+			TimerWheel wheel = new TimerWheel(TimerWheel.DEFAULT_TICK_LENGTH);
+			long[] wheelExpiries = { 0 };
+			TimerWheel.Timer[] invulnerability = new TimerWheel.Timer[nbEntities];
+			for (int entity = 0; entity < nbEntities; entity++) {
+				TimerWheel.Timer[] running = new TimerWheel.Timer[1];
+				running[0] = wheel.createTimer(TimerWheel.Type.SPRITE_ANIMATION, () -> {
+					wheelExpiries[0]++;
+					wheel.schedule(running[0], 0.075);
+				});
+				wheel.schedule(running[0], 0.075);
+				invulnerability[entity] = wheel.createTimer(TimerWheel.Type.INVULNERABILITY, null);
+			}
+			long setupBytes = threads.getThreadAllocatedBytes(thread) - before;
+			for (int frame = 0; frame < frames; frame++)
+				for (int step = 0; step < steps; step++) {
+					for (int entity = (97 - frame % 97) % 97; entity < nbEntities; entity += 97)
+						if (!invulnerability[entity].isPending())
+							wheel.schedule(invulnerability[entity], 0.6);
+					wheel.advance(td);
+				}
+			long wheelTime = System.nanoTime() - start, wheelBytes = threads.getThreadAllocatedBytes(thread) - before;
+			System.out.printf("arrays: %,d sprite expiries, %,d bytes, %,d ms  wheel: %,d sprite expiries, %,d bytes (%,d to create the timers), %,d ms%n",
+					arrayExpiries, arrayBytes, arrayTime / 1_000_000, wheelExpiries[0], wheelBytes, setupBytes,
+					wheelTime / 1_000_000);
+		}
+	}
+
+	/**
+	 * Advance a world with 10 pens of 9 Slimes, one School per pen, for 500 frames
+	 * of 0.02 seconds, with the slimes advanced one after the other and with pools
+	 * of 1, 2, 4 and 8 threads. A world holds at most 100 GameObjects and 10
+	 * Schools, so this is the largest world the slime phase can be split up in.
+	 */
+	static void parallelSlimes() {
+		Sprite[] sprites = { new Sprite("Slime Right", 20, 20), new Sprite("Slime Left", 20, 20) };
+		int nbTilesX = 660, nbTilesY = 20, frames = 500;
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int x = 0; x < nbTilesX; x++)
+			features[x] = GeologicalFeature.SOLID_GROUND.getValue();
+		// The walls of the pens are more than a cell of the spatial index apart.
+		for (int pen = 0; pen < 10; pen++)
+			for (int y = 1; y < 6; y++) {
+				features[10 + 64 * pen + y * nbTilesX] = GeologicalFeature.SOLID_GROUND.getValue();
+				features[10 + 64 * pen + 50 + y * nbTilesX] = GeologicalFeature.SOLID_GROUND.getValue();
+			}
+		int[] nbThreads = { 0, 1, 2, 4, 8 };
+		long nextId = 300_000_000L;
+		for (int run = 0; run < 3; run++) {
+			StringBuilder line = new StringBuilder();
+			for (int threads : nbThreads) {
+				World world = new World(10, new int[] { nbTilesX, nbTilesY }, new int[] { 0, 0 }, new int[] { 500, 200 },
+						features);
+				for (int pen = 0; pen < 10; pen++) {
+					School school = new School(world);
+					for (int i = 0; i < 9; i++) {
+						Slime slime = new Slime(nextId++, new int[] { 150 + 640 * pen + 40 * i, 10 }, school, sprites);
+						world.addGameObject(slime);
+					}
+				}
+				java.util.concurrent.ForkJoinPool pool = (threads == 0) ? null
+						: new java.util.concurrent.ForkJoinPool(threads);
+				world.setSlimePool(pool);
+				long nbParallel = 0, start = System.nanoTime();
+				for (int frame = 0; frame < frames; frame++) {
+					world.advanceTime(0.02);
+					nbParallel += world.getNbParallelSlimes();
+				}
+				long time = System.nanoTime() - start;
+				if (pool != null)
+					pool.shutdown();
+				line.append(String.format("%s: %.3f ms/frame (%.0f parallel)  ", (threads == 0) ? "serial" : threads + " threads",
+						time / 1e6 / frames, (double) nbParallel / frames));
+			}
+			System.out.println(line.toString().trim());
+		}
+		System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Let Mazub run back and forth and jump over the terrain of level1.tmx and
+	 * over a synthetic 2000x30-tile terrain for 3000 frames of 1/60 seconds,
+	 * once checking its collisions in every step and once sweeping its box
+	 * through the parts of a frame in which it cannot reach anything.
+	 */
+	static void mazubSweep() {
+		Map map = new TMXFileReader("levels/").read("level1.tmx");
+		Sprite[] sprites = new Sprite[30];
+		for (int i = 0; i < sprites.length; i++)
+			sprites[i] = new Sprite("Mazub " + i, 70, (i == 1 || i == 6 || i == 7) ? 70 : 97);
+		int frames = 3000;
+		for (int run = 0; run < 3; run++) {
+			StringBuilder line = new StringBuilder();
+			for (boolean level : new boolean[] { true, false }) {
+				for (boolean sweeping : new boolean[] { false, true }) {
+					World world = level
+							? new World(map.getTileSizeY(), new int[] { map.getNbTilesX(), map.getNbTilesY() },
+									new int[] { 0, 0 }, new int[] { 800, 600 }, getTileTypes(map))
+							: new World(70, new int[] { 2000, 30 }, new int[] { 0, 0 }, new int[] { 800, 600 },
+									syntheticTileTypes(2000, 30));
+					world.setSweepingMazub(sweeping);
+					Mazub mazub = level ? new Mazub(new int[] { map.getInitialPositionX(), map.getInitialPositionY() }, sprites)
+							: new Mazub(new int[] { 300, 69 }, sprites);
+					world.addGameObject(mazub);
+					Random random = new Random(run);
+					long nbFreeSteps = 0, start = System.nanoTime();
+					int frame = 0;
+					for (; frame < frames && !world.isGameOver() && !mazub.isDead(); frame++) {
+						if (frame % 90 == 0) {
+							if (mazub.isMoving())
+								mazub.endMove();
+							mazub.startMove(random.nextBoolean() ? 1 : -1);
+						}
+						if (frame % 45 == 20 && !mazub.isJumping())
+							mazub.startJump();
+						world.advanceTime(1.0 / 60);
+						nbFreeSteps += mazub.getNbFreeSteps();
+					}
+					long time = System.nanoTime() - start;
+					line.append(String.format("%s %s: %.4f ms/frame (%d frames, %d free steps)  ", level ? "level1" : "synthetic",
+							sweeping ? "swept" : "checked", time / 1e6 / Math.max(frame, 1), frame, nbFreeSteps));
+				}
+			}
+			System.out.println(line.toString().trim());
+		}
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}